@@ -0,0 +1,210 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.benchmarks;
+
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.DateTimeConverter;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.DateTimeProcessor;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.OutputDateTimeFormatter;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.UserInputParser;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ZonedDateTimeStringParser;
+
+/**
+ * The `DateTimePipelineBenchmark` class measures each stage of the datetime pipeline in isolation and end-to-end.
+ * <p>
+ * Each benchmark cycles through an input corpus selected by the {@code corpus} parameter,
+ * so a single run reports throughput and average latency per stage and per kind of input.
+ * Run with the gc profiler (the default {@code jmh.args} of the jmh profile) to report the allocation rate.
+ *
+ * Usage Example:
+ * {@code
+ * mvn -P jmh test-compile exec:exec
+ * mvn -P jmh test-compile exec:exec -Djmh.args="DateTimePipelineBenchmark.endToEnd -p corpus=CUSTOM -prof gc"
+ * }
+ *
+ * @author chobot
+ * @version 1.0
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DateTimePipelineBenchmark {
+
+	/**
+	 * The date-time w/ time-zone strings of the corpus, one per line of each kind.
+	 */
+	private static final String[] ISO_DATE_TIMES = {
+		"2011-12-03T10:15:30Z",
+		"2011-12-03T10:15:30+01:00",
+		"2011-12-03T10:15:30+01:00[Europe/Paris]",
+	};
+
+	private static final String[] CUSTOM_DATE_TIMES = {
+		"Tue, 3 Jun 2008 11:05:30 GMT",
+		"2023-11-28 15:30:00 +03:00",
+		"2023-11-28 15:30:00 +0300",
+		"Tue, Nov 28, 2023 3:30 PM UTC",
+		"November 28, 2023 3:30 PM UTC",
+		"2023.11.28 AD at 15:30:00 UTC",
+		"Nov 28, 2023 3:30 PM EST",
+		"2010-02-04T14:39:28 PST",
+	};
+
+	private static final String[] INVALID_DATE_TIMES = {
+		"02-04-2010 10:30 PST",
+		"2023-11-28 15:30 PST",
+		"Nov 28 2023 3:30 PM EST",
+		"tomorrow at noon",
+	};
+
+	private static final String[] KNOWN_ZONES = { "EST", "PST", "CET", "IST", "AEST", "America/New_York", "+05:30" };
+
+	private static final String[] UNKNOWN_ZONES = { "FAIL", "PEEPEE", "MARS/OLYMPUS_MONS" };
+
+	/**
+	 * The corpus of user inputs for the parsing and end-to-end benchmarks.
+	 */
+	@State(Scope.Thread)
+	public static class InputState {
+
+		@Param({ "ISO", "CUSTOM", "INVALID", "UNKNOWN_ZONE" })
+		public String corpus;
+
+		private String[] dateTimeStrings;
+		private String[] userInputs;
+		private int index;
+
+		@Setup
+		public void setUp() {
+			String[] targetZones = "UNKNOWN_ZONE".equals(corpus) ? UNKNOWN_ZONES : KNOWN_ZONES;
+			dateTimeStrings = switch (corpus) {
+				case "ISO" -> ISO_DATE_TIMES;
+				case "INVALID" -> INVALID_DATE_TIMES;
+				default -> CUSTOM_DATE_TIMES;
+			};
+
+			userInputs = new String[dateTimeStrings.length];
+			for (int i = 0; i < dateTimeStrings.length; i++) {
+				userInputs[i] = dateTimeStrings[i] + " to " + targetZones[i % targetZones.length];
+			}
+		}
+
+		private int next() {
+			index = (index + 1) % userInputs.length;
+			return index;
+		}
+	}
+
+	/**
+	 * Pre-parsed date-times and target time-zones for the conversion and formatting benchmarks.
+	 */
+	@State(Scope.Thread)
+	public static class ConversionState {
+
+		@Param({ "KNOWN_ZONE", "UNKNOWN_ZONE" })
+		public String zones;
+
+		private ZonedDateTime[] zonedDateTimes;
+		private String[] targetZones;
+		private int index;
+
+		@Setup
+		public void setUp() {
+			zonedDateTimes = new ZonedDateTime[CUSTOM_DATE_TIMES.length];
+			for (int i = 0; i < CUSTOM_DATE_TIMES.length; i++) {
+				zonedDateTimes[i] = ZonedDateTimeStringParser.parse(CUSTOM_DATE_TIMES[i]);
+			}
+			targetZones = "UNKNOWN_ZONE".equals(zones) ? UNKNOWN_ZONES : KNOWN_ZONES;
+		}
+
+		private int next() {
+			index = (index + 1) % zonedDateTimes.length;
+			return index;
+		}
+	}
+
+	@Benchmark
+	public Object userInputParserParse(InputState state) {
+		try {
+			return UserInputParser.parse(state.userInputs[state.next()]);
+		}
+		catch (IllegalArgumentException e) {
+			return e;
+		}
+	}
+
+	@Benchmark
+	public Object zonedDateTimeStringParserParse(InputState state) {
+		try {
+			return ZonedDateTimeStringParser.parse(state.dateTimeStrings[state.next()]);
+		}
+		catch (RuntimeException e) {
+			return e;
+		}
+	}
+
+	@Benchmark
+	public Object dateTimeConverterConvert(ConversionState state) {
+		int index = state.next();
+		try {
+			return DateTimeConverter.convert(state.zonedDateTimes[index], state.targetZones[index % state.targetZones.length]);
+		}
+		catch (RuntimeException e) {
+			return e;
+		}
+	}
+
+	/**
+	 * The conversion the pipeline runs, to the local date-time at the offset of the {@code ZoneTransitionIndex}.
+	 */
+	@Benchmark
+	public Object dateTimeConverterConvertToLocalDateTime(ConversionState state) {
+		int index = state.next();
+		return DateTimeConverter.tryConvertToLocalDateTime(state.zonedDateTimes[index], state.targetZones[index % state.targetZones.length]);
+	}
+
+	@Benchmark
+	public String outputDateTimeFormatterFormat(ConversionState state) {
+		int index = state.next();
+		return OutputDateTimeFormatter.formatZonedDateTimeToOutputString(state.zonedDateTimes[index], CUSTOM_DATE_TIMES[index], "EST");
+	}
+
+	/**
+	 * The full pipeline without the conversion cache of {@code DateTimeProcessor}.
+	 */
+	@Benchmark
+	public String endToEndUncached(InputState state) {
+		String input = state.userInputs[state.next()];
+		try {
+			Pair<ZonedDateTime, String> parsedInput = UserInputParser.parse(input);
+			ZonedDateTime targetZonedDateTime = DateTimeConverter.convert(parsedInput.getLeft(), parsedInput.getRight());
+			return OutputDateTimeFormatter.formatZonedDateTimeToOutputString(targetZonedDateTime, input, parsedInput.getRight());
+		}
+		catch (RuntimeException e) {
+			return e.getMessage();
+		}
+	}
+
+	/**
+	 * The full pipeline as the /convert command runs it, including the conversion cache.
+	 */
+	@Benchmark
+	public String endToEnd(InputState state) {
+		return DateTimeProcessor.processDateTimeInput(state.userInputs[state.next()]);
+	}
+}
@@ -0,0 +1,83 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.benchmarks;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.DateTimeScanner;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.DateTimeScanner.Match;
+
+/**
+ * The `DateTimeScannerBenchmark` class measures the {@code DateTimeScanner} over messages of growing length:
+ * without any time-zone, with time-zones but no time before them, and with a date-time every paragraph.
+ * The time per message should grow linearly with its length in all three cases.
+ *
+ * Usage Example:
+ * {@code
+ * mvn -P jmh test-compile exec:exec -Djmh.args="DateTimeScannerBenchmark -prof gc"
+ * }
+ *
+ * @author chobot
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class DateTimeScannerBenchmark {
+
+	private static final String PLAIN = "The deploy is done, let me know if anything looks off in the dashboards. ";
+
+	private static final String ZONES_WITHOUT_TIME = "The PST team hands over to the CET team, see the UTC dashboards. ";
+
+	private static final String DATE_TIMES = "Standup moves to Nov 28, 2023 3:30 PM EST, or tomorrow at 9am CET for the EU folks. ";
+
+	/**
+	 * The number of paragraphs of the message.
+	 */
+	@Param({ "1", "10", "100" })
+	public int paragraphs;
+
+	private final Clock clock = Clock.systemUTC();
+
+	private String plain;
+	private String zonesWithoutTime;
+	private String dateTimes;
+
+	@Setup
+	public void setUp() {
+		plain = PLAIN.repeat(paragraphs);
+		zonesWithoutTime = ZONES_WITHOUT_TIME.repeat(paragraphs);
+		// one date-time every paragraph of plain text, under the maximum number of matches
+		dateTimes = (PLAIN.repeat(9) + DATE_TIMES).repeat(Math.max(1, paragraphs / 10));
+	}
+
+	@Benchmark
+	public List<Match> plain() {
+		return DateTimeScanner.scan(plain, clock);
+	}
+
+	@Benchmark
+	public List<Match> zonesWithoutTime() {
+		return DateTimeScanner.scan(zonesWithoutTime, clock);
+	}
+
+	@Benchmark
+	public List<Match> dateTimes() {
+		return DateTimeScanner.scan(dateTimes, clock);
+	}
+}
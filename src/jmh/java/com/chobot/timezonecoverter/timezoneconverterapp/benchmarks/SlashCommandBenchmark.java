@@ -0,0 +1,115 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.chobot.timezonecoverter.timezoneconverterapp.commands.SlashCommandReader;
+import com.chobot.timezonecoverter.timezoneconverterapp.commands.SlashCommandReader.SlashCommand;
+import com.slack.api.app_backend.SlackSignature;
+import com.slack.api.bolt.AppConfig;
+import com.slack.api.bolt.request.Request;
+import com.slack.api.bolt.request.RequestHeaders;
+import com.slack.api.bolt.request.builtin.SlashCommandRequest;
+import com.slack.api.bolt.util.SlackRequestParser;
+
+/**
+ * The `SlashCommandBenchmark` class compares how a signed /convert request is verified and parsed by the Bolt servlet
+ * path and by the {@code SlashCommandReader} fast path, up to the fields the command handler uses.
+ * <p>
+ * The Bolt path reads the body into a String as {@code SlackAppServlet} does, parses it with the
+ * {@code SlackRequestParser} and verifies it as the {@code RequestVerification} middleware does.
+ * Run with the gc profiler (the default {@code jmh.args} of the jmh profile) to compare the bytes allocated per request.
+ *
+ * Usage Example:
+ * {@code
+ * mvn -P jmh test-compile exec:exec -Djmh.args="SlashCommandBenchmark -prof gc"
+ * }
+ *
+ * @author chobot
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SlashCommandBenchmark {
+
+	private static final String SECRET = "8f742231b10e8888abcd99yyyzzz85a5";
+
+	/**
+	 * A /convert request as Slack sends it.
+	 */
+	private static final String BODY = "token=gIkuvaNzQIHg97ATvDxqgjtO&team_id=T0001&team_domain=example"
+			+ "&enterprise_id=&enterprise_name=&channel_id=C2147483705&channel_name=test&user_id=U2147483697&user_name=Steve"
+			+ "&command=%2Fconvert&text=Nov+28%2C+2023+3%3A30+PM+EST+to+PST%2C+CET%2C+JST&api_app_id=A123456"
+			+ "&is_enterprise_install=false&response_url=https%3A%2F%2Fhooks.slack.com%2Fcommands%2F1234%2F5678"
+			+ "&trigger_id=13345224609.738474920.8088930838d88f008e0";
+
+	private byte[] body;
+	private String timestamp;
+	private String signature;
+	private Map<String, List<String>> headers;
+	private SlackRequestParser boltParser;
+	private SlackSignature.Verifier boltVerifier;
+	private SlashCommandReader reader;
+
+	@Setup
+	public void setUp() {
+		body = BODY.getBytes(StandardCharsets.UTF_8);
+		// signed once per trial, well within the five minutes both paths accept
+		timestamp = String.valueOf(System.currentTimeMillis() / 1000);
+		signature = new SlackSignature.Generator(SECRET).generate(timestamp, BODY);
+		headers = Map.of(
+			"content-type", List.of("application/x-www-form-urlencoded"),
+			"x-slack-request-timestamp", List.of(timestamp),
+			"x-slack-signature", List.of(signature));
+
+		boltParser = new SlackRequestParser(AppConfig.builder().signingSecret(SECRET).build());
+		boltVerifier = new SlackSignature.Verifier(new SlackSignature.Generator(SECRET));
+		reader = new SlashCommandReader(SECRET);
+	}
+
+	@Benchmark
+	public String bolt() throws IOException {
+		String requestBody;
+		try (BufferedReader bodyReader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8))) {
+			requestBody = bodyReader.lines().collect(Collectors.joining("\n"));
+		}
+
+		Request<?> request = boltParser.parse(SlackRequestParser.HttpRequest.builder()
+				.requestUri("/slack/events")
+				.requestBody(requestBody)
+				.headers(new RequestHeaders(headers))
+				.build());
+		if (!boltVerifier.isValid(timestamp, request.getRequestBodyAsString(), signature)) {
+			throw new IllegalStateException("Invalid signature");
+		}
+		return ((SlashCommandRequest) request).getPayload().getText();
+	}
+
+	@Benchmark
+	public String fastPath() throws IOException {
+		SlashCommand command = reader.read(new ByteArrayInputStream(body), timestamp, signature);
+		return command.text();
+	}
+}
@@ -0,0 +1,129 @@
+package com.chobot.timezonecoverter.timezoneconverterapp;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import com.chobot.timezonecoverter.timezoneconverterapp.controllers.SlackEventsController;
+import com.chobot.timezonecoverter.timezoneconverterapp.controllers.SlackOAuthInstallerController;
+import com.chobot.timezonecoverter.timezoneconverterapp.controllers.SlackOAuthRedirectController;
+import com.chobot.timezonecoverter.timezoneconverterapp.controllers.SlashCommandController;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.BatchDateTimeProcessor;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.CalendarConverter;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ConversionCache;
+import com.slack.api.app_backend.events.payload.UrlVerificationPayload;
+import com.slack.api.app_backend.interactive_components.payload.MessageShortcutPayload;
+import com.slack.api.app_backend.interactive_components.response.ActionResponse;
+import com.slack.api.app_backend.slash_commands.payload.SlashCommandPayload;
+import com.slack.api.app_backend.slash_commands.response.SlashCommandResponse;
+import com.slack.api.bolt.model.builtin.DefaultBot;
+import com.slack.api.bolt.model.builtin.DefaultInstaller;
+import com.slack.api.methods.response.auth.AuthTestResponse;
+import com.slack.api.methods.response.oauth.OAuthV2AccessResponse;
+
+/**
+ * The `NativeRuntimeHints` class registers the reachability metadata a GraalVM native image needs beyond what
+ * Spring AOT infers from the application context.
+ * <p>
+ * <ul>
+ * <li>the Bolt servlets and the slash command servlet, which are instantiated from their {@code @WebServlet} annotation</li>
+ * <li>the Slack payloads, responses and installation models, which Bolt (de)serializes with Gson through their fields,
+ * along with every Slack type reachable from their fields</li>
+ * <li>the datetime records serialized by Jackson</li>
+ * <li>the static OAuth completion and cancellation pages</li>
+ * </ul>
+ * The {@code java.time} zone database is embedded in the image by GraalVM itself, and the native profile initializes
+ * the {@code ZoneIdResolver} at build time, so the rules of every zone are already in the image heap at startup.
+ *
+ * @author chobot
+ * @version 1.0
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+	/**
+	 * The types Bolt reads and writes with Gson.
+	 */
+	private static final List<Class<?>> GSON_TYPES = List.of(
+		SlashCommandPayload.class,
+		SlashCommandResponse.class,
+		MessageShortcutPayload.class,
+		ActionResponse.class,
+		UrlVerificationPayload.class,
+		AuthTestResponse.class,
+		OAuthV2AccessResponse.class,
+		DefaultBot.class,
+		DefaultInstaller.class
+	);
+
+	/**
+	 * The only package whose field types are followed when registering the Gson types.
+	 */
+	private static final String SLACK_PACKAGE = "com.slack.api.";
+
+	@Override
+	public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+		for (Class<?> servlet : List.of(SlackEventsController.class, SlackOAuthInstallerController.class, SlackOAuthRedirectController.class,
+				SlashCommandController.class)) {
+			hints.reflection().registerType(servlet, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+		}
+
+		Set<Class<?>> registered = new HashSet<>();
+		for (Class<?> type : GSON_TYPES) {
+			registerGsonType(hints, type, registered);
+		}
+
+		new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+				BatchDateTimeProcessor.Result.class, CalendarConverter.Result.class, ConversionCache.Stats.class);
+
+		hints.resources().registerPattern("static/*");
+	}
+
+	/**
+	 * Registers a Slack type for field access and construction, then the Slack types of its fields and its nested types.
+	 *
+	 * @param hints the hints to register with
+	 * @param type the type to register
+	 * @param registered the types registered so far
+	 */
+	private static void registerGsonType(RuntimeHints hints, Class<?> type, Set<Class<?>> registered) {
+		if (!type.getName().startsWith(SLACK_PACKAGE) || !registered.add(type)) {
+			return;
+		}
+		hints.reflection().registerType(type, MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+
+		for (Field field : type.getDeclaredFields()) {
+			if (!Modifier.isStatic(field.getModifiers())) {
+				registerGsonTypes(hints, field.getGenericType(), registered);
+			}
+		}
+		for (Class<?> nested : type.getDeclaredClasses()) {
+			registerGsonType(hints, nested, registered);
+		}
+		if (type.getSuperclass() != null) {
+			registerGsonType(hints, type.getSuperclass(), registered);
+		}
+	}
+
+	/**
+	 * Registers the Slack types of a field type, including the element types of collections and maps.
+	 */
+	private static void registerGsonTypes(RuntimeHints hints, Type type, Set<Class<?>> registered) {
+		if (type instanceof Class<?> clazz) {
+			registerGsonType(hints, clazz.isArray() ? clazz.getComponentType() : clazz, registered);
+		}
+		else if (type instanceof ParameterizedType parameterized) {
+			for (Type argument : parameterized.getActualTypeArguments()) {
+				registerGsonTypes(hints, argument, registered);
+			}
+		}
+	}
+}
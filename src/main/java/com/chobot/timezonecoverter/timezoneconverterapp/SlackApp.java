@@ -1,22 +1,42 @@
 package com.chobot.timezonecoverter.timezoneconverterapp;
 
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import com.chobot.timezonecoverter.timezoneconverterapp.datetime.DateTimeProcessor;
+import com.chobot.timezonecoverter.timezoneconverterapp.commands.ConvertCommandExecutor;
+import com.chobot.timezonecoverter.timezoneconverterapp.commands.ConvertCommandHandler;
+import com.chobot.timezonecoverter.timezoneconverterapp.commands.ConvertShortcutHandler;
+import com.chobot.timezonecoverter.timezoneconverterapp.commands.RequestCoalescer;
+import com.chobot.timezonecoverter.timezoneconverterapp.commands.TeamRateLimiter;
+import com.chobot.timezonecoverter.timezoneconverterapp.commands.UserZoneProfiles;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.BatchDateTimeProcessor;
 import com.slack.api.bolt.App;
 import com.slack.api.bolt.AppConfig;
+import com.slack.api.bolt.service.InstallationService;
+import com.slack.api.bolt.service.OAuthStateService;
 
 @Configuration
 public class SlackApp {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(SlackApp.class);
+
+    /**
+     * The signing secret is a property, set by the SLACK_SIGNING_SECRET environment variable, so that tests
+     * can sign their own requests.
+     */
     @Bean
-    public AppConfig loadOAuthConfig() {
+    public AppConfig loadOAuthConfig(@Value("${SLACK_SIGNING_SECRET:#{null}}") String signingSecret) {
         return AppConfig.builder()
                 .singleTeamBotToken(null)
                 .clientId(System.getenv("SLACK_CLIENT_ID"))
                 .clientSecret(System.getenv("SLACK_CLIENT_SECRET"))
-                .signingSecret(System.getenv("SLACK_SIGNING_SECRET"))
+                .signingSecret(signingSecret)
                 .scope("commands,metadata.message:read,chat:write")
                 .redirectUri(System.getenv("SLACK_REDIRECT_URI"))
                 .oauthInstallPath("/slack/install")
@@ -26,21 +46,85 @@ public class SlackApp {
                 .build();
     }
     
+    @Bean
+    public ConvertCommandExecutor convertCommandExecutor(
+            @Value("${SLACK_CONVERT_THREADS:0}") int threads,
+            @Value("${SLACK_CONVERT_QUEUE_CAPACITY:1000}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors() * 2;
+        return new ConvertCommandExecutor(poolSize, queueCapacity);
+    }
+    
+    @Bean
+    public TeamRateLimiter teamRateLimiter(
+            @Value("${SLACK_CONVERT_RATE_LIMIT:20}") double permitsPerSecond,
+            @Value("${SLACK_CONVERT_BURST:40}") int burst) {
+        return new TeamRateLimiter(permitsPerSecond, burst);
+    }
+    
+    @Bean
+    public RequestCoalescer requestCoalescer() {
+        return new RequestCoalescer();
+    }
+    
+    @Bean
+    public UserZoneProfiles userZoneProfiles(
+            @Value("${SLACK_USER_ZONES_FILE:}") String snapshotFile,
+            @Value("${SLACK_USER_ZONES_SNAPSHOT_SECONDS:60}") long snapshotSeconds) {
+        if (snapshotFile.isBlank()) {
+            return new UserZoneProfiles();
+        }
+        return new UserZoneProfiles(Path.of(snapshotFile), Duration.ofSeconds(snapshotSeconds));
+    }
+    
+    /**
+     * When async is enabled, /convert acks right away and posts the conversion through the response_url
+     * once it has run on the {@code ConvertCommandExecutor}.
+     */
+    @Bean
+    public ConvertCommandHandler convertCommandHandler(ConvertCommandExecutor convertCommandExecutor,
+            TeamRateLimiter teamRateLimiter, RequestCoalescer requestCoalescer, UserZoneProfiles userZoneProfiles,
+            @Value("${SLACK_CONVERT_ASYNC:false}") boolean asyncConvert) {
+        return new ConvertCommandHandler(convertCommandExecutor, teamRateLimiter, requestCoalescer, userZoneProfiles, asyncConvert);
+    }
+    
+    @Bean
+    public ConvertShortcutHandler convertShortcutHandler(ConvertCommandExecutor convertCommandExecutor,
+            TeamRateLimiter teamRateLimiter, UserZoneProfiles userZoneProfiles) {
+        return new ConvertShortcutHandler(convertCommandExecutor, teamRateLimiter, userZoneProfiles);
+    }
+    
+    @Bean
+    public BatchDateTimeProcessor batchDateTimeProcessor(@Value("${BATCH_CONVERT_PARALLELISM:0}") int parallelism) {
+        return new BatchDateTimeProcessor(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+    
 	@Bean
-	public App initSlackApp(AppConfig config) {
+	public App initSlackApp(AppConfig config, ConvertCommandHandler convertCommandHandler, ConvertShortcutHandler convertShortcutHandler,
+			InstallationService installationService, OAuthStateService oauthStateService) {
 		App app = new App(config);
         if (config.getClientId() != null) {
             app.asOAuthApp(true);
+            app.service(installationService);
+            app.service(oauthStateService);
         }
         
 		app.command("/hello", (req, ctx) -> {
-			System.out.println("Request received...");
+			LOGGER.debug("Request received...");
 			return ctx.ack("What's up?");
 		});
 		
 		app.command("/convert", (req, ctx) -> {
-			System.out.println("running convert command.");
-			return ctx.ack(DateTimeProcessor.processDateTimeInput(req.getPayload().getText()));
+			LOGGER.debug("running convert command.");
+			String reply = convertCommandHandler.handle(req.getPayload().getTeamId(), req.getPayload().getUserId(),
+					req.getPayload().getText(), ctx::respond);
+			return reply == null ? ctx.ack() : ctx.ack(reply);
+		});
+		
+		app.messageShortcut(ConvertShortcutHandler.CALLBACK_ID, (req, ctx) -> {
+			LOGGER.debug("running convert message shortcut.");
+			convertShortcutHandler.handle(ctx.getTeamId(), ctx.getRequestUserId(), req.getPayload().getMessage().getText(),
+					ctx::respond);
+			return ctx.ack();
 		});
 		
 		return app;
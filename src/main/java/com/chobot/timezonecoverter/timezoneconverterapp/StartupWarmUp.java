@@ -0,0 +1,47 @@
+package com.chobot.timezonecoverter.timezoneconverterapp;
+
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.PipelineWarmUp;
+import com.slack.api.bolt.App;
+
+/**
+ * The `StartupWarmUp` class initializes what the first /convert command would otherwise initialize,
+ * once every singleton has been created and before the web server accepts requests.
+ * <p>
+ * It starts the Bolt {@code App}, which otherwise builds its middleware on the first request,
+ * and runs the {@code PipelineWarmUp}. It can be disabled with STARTUP_WARMUP=false.
+ *
+ * @author chobot
+ * @version 1.0
+ */
+@Component
+@ConditionalOnProperty(name = "STARTUP_WARMUP", havingValue = "true", matchIfMissing = true)
+public class StartupWarmUp implements SmartInitializingSingleton {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(StartupWarmUp.class);
+
+	private final App app;
+
+	public StartupWarmUp(App app) {
+		this.app = app;
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		long start = System.nanoTime();
+		app.start();
+		long appMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		PipelineWarmUp.Report report = PipelineWarmUp.warmUp();
+		LOGGER.info("Warmed up in {} ms: Bolt app in {} ms, {} zones, {} formatters and {} conversions in {} ms.",
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), appMillis,
+				report.zones(), report.formatters(), report.conversions(), TimeUnit.NANOSECONDS.toMillis(report.elapsedNanos()));
+	}
+}
@@ -3,9 +3,11 @@ package com.chobot.timezonecoverter.timezoneconverterapp;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.web.servlet.ServletComponentScan;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
 @ServletComponentScan
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class TimezoneConverterAppApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,135 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.commands;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * The `ConvertCommandExecutor` class runs /convert conversions off the servlet request thread.
+ * <p>
+ * The executor is a fixed-size pool with a bounded queue, so a burst of commands cannot grow without limit.
+ * A task that does not fit is rejected instead of queued, and the caller decides how to handle it.
+ * The queue depth, the number of busy threads and the number of rejected tasks are exposed for monitoring,
+ * and bound as {@code timezone.convert.executor.*} meters when the executor is a Spring bean.
+ *
+ * @author chobot
+ * @version 1.0
+ */
+public class ConvertCommandExecutor implements AutoCloseable, MeterBinder {
+	
+	/**
+	 * How long {@link #close()} waits for queued conversions to finish.
+	 */
+	private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+	
+	private final ThreadPoolExecutor executor;
+	private final LongAdder rejectedTasks = new LongAdder();
+	
+	/**
+	 * Creates the executor.
+	 *
+	 * @param threads the number of conversion threads, greater than zero
+	 * @param queueCapacity the number of conversions that may wait for a thread, greater than zero
+	 */
+	public ConvertCommandExecutor(int threads, int queueCapacity) {
+		this.executor = new ThreadPoolExecutor(
+			threads, threads, 
+			0L, TimeUnit.MILLISECONDS, 
+			new ArrayBlockingQueue<>(queueCapacity), 
+			new ConvertThreadFactory(), 
+			new ThreadPoolExecutor.AbortPolicy()
+		);
+	}
+	
+	/**
+	 * Submits a conversion to run on one of the conversion threads.
+	 *
+	 * @param task the conversion to run, not null
+	 * @return true if the task was accepted, false if the queue is full or the executor is shut down
+	 */
+	public boolean submit(Runnable task) {
+		try {
+			executor.execute(task);
+			return true;
+		}
+		catch (RejectedExecutionException e) {
+			rejectedTasks.increment();
+			return false;
+		}
+	}
+	
+	/**
+	 * @return the number of conversions waiting for a thread
+	 */
+	public int getQueueDepth() {
+		return executor.getQueue().size();
+	}
+	
+	/**
+	 * @return the approximate number of threads running a conversion
+	 */
+	public int getActiveThreads() {
+		return executor.getActiveCount();
+	}
+	
+	/**
+	 * @return the number of conversions rejected since the executor was created
+	 */
+	public long getRejectedTasks() {
+		return rejectedTasks.sum();
+	}
+	
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Gauge.builder("timezone.convert.executor.queue.depth", this, ConvertCommandExecutor::getQueueDepth)
+				.description("Conversions waiting for a thread")
+				.register(registry);
+		Gauge.builder("timezone.convert.executor.active", this, ConvertCommandExecutor::getActiveThreads)
+				.description("Threads running a conversion")
+				.register(registry);
+		FunctionCounter.builder("timezone.convert.executor.rejected", this, ConvertCommandExecutor::getRejectedTasks)
+				.description("Conversions rejected because the queue was full")
+				.register(registry);
+	}
+	
+	/**
+	 * Stops accepting conversions and waits a bounded time for the queued ones to finish.
+	 */
+	@Override
+	public void close() {
+		executor.shutdown();
+		try {
+			if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+				executor.shutdownNow();
+			}
+		}
+		catch (InterruptedException e) {
+			executor.shutdownNow();
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * Names the conversion threads so they can be told apart in thread dumps.
+	 */
+	private static class ConvertThreadFactory implements ThreadFactory {
+		
+		private final AtomicInteger threadNumber = new AtomicInteger();
+		
+		@Override
+		public Thread newThread(Runnable task) {
+			Thread thread = new Thread(task, "convert-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
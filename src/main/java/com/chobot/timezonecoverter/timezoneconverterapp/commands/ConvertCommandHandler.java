@@ -0,0 +1,107 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.commands;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.ZoneId;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.DateTimeProcessor;
+
+/**
+ * The `ConvertCommandHandler` class runs the /convert command, whichever servlet received it:
+ * <ol>
+ * <li>the command is rejected when the workspace is over its rate</li>
+ * <li>the "set-zone" subcommand is handled by the {@code SetZoneCommand}</li>
+ * <li>the conversion runs with the default time-zone of the user, shared with the identical commands in flight</li>
+ * </ol>
+ * When asynchronous, the conversion runs on the {@code ConvertCommandExecutor} and its result is posted through
+ * the {@code Responder}, unless the executor is full, in which case the conversion runs inline.
+ *
+ * @author chobot
+ * @version 1.0
+ */
+public class ConvertCommandHandler {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ConvertCommandHandler.class);
+
+	/**
+	 * The reply to a /convert command from a workspace that is over its rate.
+	 */
+	static final String RATE_LIMITED_MESSAGE = "Too many conversions from this workspace, please try again in a moment.";
+
+	/**
+	 * Posts a reply through the response_url of the command.
+	 */
+	@FunctionalInterface
+	public interface Responder {
+		void respond(String text) throws IOException;
+	}
+
+	private final ConvertCommandExecutor executor;
+	private final TeamRateLimiter rateLimiter;
+	private final RequestCoalescer coalescer;
+	private final UserZoneProfiles profiles;
+	private final boolean async;
+
+	/**
+	 * Creates the handler.
+	 *
+	 * @param executor runs the asynchronous conversions, not null
+	 * @param rateLimiter limits the commands of each workspace, not null
+	 * @param coalescer shares the conversions of identical commands in flight, not null
+	 * @param profiles the default time-zones of the users, not null
+	 * @param async whether the conversions run on the executor and are posted through the response_url
+	 */
+	public ConvertCommandHandler(ConvertCommandExecutor executor, TeamRateLimiter rateLimiter,
+			RequestCoalescer coalescer, UserZoneProfiles profiles, boolean async) {
+		this.executor = executor;
+		this.rateLimiter = rateLimiter;
+		this.coalescer = coalescer;
+		this.profiles = profiles;
+		this.async = async;
+	}
+
+	/**
+	 * Handles a /convert command.
+	 *
+	 * @param teamId the workspace of the command
+	 * @param userId the user of the command
+	 * @param input the text of the command
+	 * @param responder posts the result of an asynchronous conversion, not null
+	 * @return the reply to acknowledge the command with, or null if the reply will be posted through the responder
+	 */
+	public String handle(String teamId, String userId, String input, Responder responder) {
+		if (!rateLimiter.tryAcquire(String.valueOf(teamId))) {
+			return RATE_LIMITED_MESSAGE;
+		}
+		if (SetZoneCommand.matches(input)) {
+			return SetZoneCommand.handle(profiles, teamId, userId, input);
+		}
+
+		// identical commands from the same workspace and default time-zone in flight at the same time share one conversion
+		ZoneId defaultZone = profiles.get(teamId, userId);
+		String key = teamId + ":" + defaultZone + ":" + input;
+		Supplier<String> conversion = () -> coalescer.compute(key,
+				() -> DateTimeProcessor.processDateTimeInput(input, Clock.systemUTC(), defaultZone));
+
+		if (async && executor.submit(() -> respond(responder, conversion.get()))) {
+			return null;
+		}
+		return conversion.get();
+	}
+
+	/**
+	 * Posts the text through the responder, logging rather than throwing a failure to post it.
+	 */
+	static void respond(Responder responder, String text) {
+		try {
+			responder.respond(text);
+		}
+		catch (IOException e) {
+			LOGGER.warn("Failed to respond to convert command.", e);
+		}
+	}
+}
@@ -0,0 +1,124 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.commands;
+
+import java.time.Clock;
+import java.time.ZoneId;
+import java.util.List;
+
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ConversionResult;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ConversionResult.Failure;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ConversionResult.Success;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.DateTimeConverter;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.DateTimeScanner;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.DateTimeScanner.Match;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.OutputDateTimeFormatter;
+
+/**
+ * The `ConvertShortcutHandler` class runs the "Convert times" message shortcut: every date-time with a time-zone
+ * found in the message by the {@code DateTimeScanner} is converted to the default time-zone of the user
+ * who invoked the shortcut, one per line.
+ * <p>
+ * The shortcut is rate limited along with the /convert command of the workspace. As Slack expects the shortcut
+ * to be acknowledged within 3 seconds, the reply runs on the {@code ConvertCommandExecutor} and is posted through
+ * the {@code Responder}, unless the executor is full, in which case it runs inline.
+ *
+ * Usage Example:
+ * {@code
+ * handler.handle("T0001", "U2147483697", "Standup moved to 9:30 AM PST tomorrow", ctx::respond);
+ * return ctx.ack();
+ * }
+ *
+ * @author chobot
+ * @version 1.0
+ */
+public class ConvertShortcutHandler {
+
+	/**
+	 * The callback ID of the message shortcut, as configured in the Slack app.
+	 */
+	public static final String CALLBACK_ID = "convert_message_times";
+
+	static final String NO_DEFAULT_ZONE_MESSAGE = "Set your default time-zone with \"/convert set-zone PST\" "
+			+ "to convert the date-times of a message to it.";
+
+	static final String NO_DATE_TIME_MESSAGE = "No date-time with a time-zone was found in this message, "
+			+ "i.e. \"Nov 28, 2023 3:30 PM EST\" or \"tomorrow 9am CET\".";
+
+	private final ConvertCommandExecutor executor;
+	private final TeamRateLimiter rateLimiter;
+	private final UserZoneProfiles profiles;
+	private final Clock clock;
+
+	/**
+	 * Creates the handler.
+	 *
+	 * @param executor runs the replies, not null
+	 * @param rateLimiter limits the commands of each workspace, not null
+	 * @param profiles the default time-zones of the users, not null
+	 */
+	public ConvertShortcutHandler(ConvertCommandExecutor executor, TeamRateLimiter rateLimiter, UserZoneProfiles profiles) {
+		this(executor, rateLimiter, profiles, Clock.systemUTC());
+	}
+
+	/**
+	 * Creates the handler, resolving relative date-times against the given clock.
+	 */
+	ConvertShortcutHandler(ConvertCommandExecutor executor, TeamRateLimiter rateLimiter, UserZoneProfiles profiles, Clock clock) {
+		this.executor = executor;
+		this.rateLimiter = rateLimiter;
+		this.profiles = profiles;
+		this.clock = clock;
+	}
+
+	/**
+	 * Handles the message shortcut on the executor, posting the reply through the responder.
+	 * A failure to post the reply is logged.
+	 *
+	 * @param teamId the workspace of the shortcut
+	 * @param userId the user who invoked the shortcut
+	 * @param messageText the text of the message, or null
+	 * @param responder posts the reply, not null
+	 */
+	public void handle(String teamId, String userId, String messageText, ConvertCommandHandler.Responder responder) {
+		Runnable reply = () -> ConvertCommandHandler.respond(responder, handle(teamId, userId, messageText));
+		if (!executor.submit(reply)) {
+			reply.run();
+		}
+	}
+
+	/**
+	 * Handles the message shortcut on the calling thread.
+	 *
+	 * @param teamId the workspace of the shortcut
+	 * @param userId the user who invoked the shortcut
+	 * @param messageText the text of the message, or null
+	 * @return the reply to the user, not null
+	 */
+	public String handle(String teamId, String userId, String messageText) {
+		if (!rateLimiter.tryAcquire(String.valueOf(teamId))) {
+			return ConvertCommandHandler.RATE_LIMITED_MESSAGE;
+		}
+		ZoneId zone = profiles.get(teamId, userId);
+		if (zone == null) {
+			return NO_DEFAULT_ZONE_MESSAGE;
+		}
+
+		List<Match> matches = DateTimeScanner.scan(messageText == null ? "" : messageText, clock);
+		if (matches.isEmpty()) {
+			return NO_DATE_TIME_MESSAGE;
+		}
+
+		StringBuilder reply = new StringBuilder("In ").append(zone.getId()).append(':');
+		for (Match match : matches) {
+			reply.append("\n• ").append(match.text()).append(" is ");
+			ConversionResult<String> converted = DateTimeConverter.tryConvertToLocalDateTime(match.zonedDateTime(), zone.getId())
+					.map(localDateTime -> OutputDateTimeFormatter.formatConvertedDateTime(localDateTime, zone.getId()));
+			if (converted instanceof Success<String> success) {
+				reply.append('*').append(success.value()).append('*');
+			}
+			else {
+				reply.append(((Failure<String>) converted).message());
+			}
+		}
+		return reply.toString();
+	}
+}
@@ -0,0 +1,73 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.commands;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * The `RequestCoalescer` class shares one computation between identical requests that are in flight at the same time.
+ * <p>
+ * The first request for a key runs the computation; the requests for the same key that arrive before it finishes
+ * wait for its result instead of running it again. Nothing is kept once the computation finishes, so this is not a cache:
+ * it only collapses duplicates such as the retries Slack sends when a command is slow to be acknowledged.
+ * The number of coalesced requests is bound as the {@code timezone.convert.coalesced} meter.
+ *
+ * @author chobot
+ * @version 1.0
+ */
+public class RequestCoalescer implements MeterBinder {
+	
+	private final ConcurrentMap<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+	private final LongAdder coalescedRequests = new LongAdder();
+	
+	/**
+	 * Returns the result of the computation for the key, sharing it with the identical requests in flight.
+	 *
+	 * @param key identifies identical requests, not null
+	 * @param computation computes the result, not null
+	 * @return the result of the computation
+	 * @throws java.util.concurrent.CompletionException
+	 *         If the computation of an identical request failed, with its failure as the cause.
+	 */
+	public String compute(String key, Supplier<String> computation) {
+		CompletableFuture<String> result = new CompletableFuture<>();
+		CompletableFuture<String> running = inFlight.putIfAbsent(key, result);
+		if (running != null) {
+			coalescedRequests.increment();
+			return running.join();
+		}
+		
+		try {
+			result.complete(computation.get());
+		}
+		catch (Throwable e) {
+			// an Error too, or the requests waiting for the result would wait forever
+			result.completeExceptionally(e);
+			throw e;
+		}
+		finally {
+			inFlight.remove(key, result);
+		}
+		return result.join();
+	}
+	
+	/**
+	 * @return the number of requests that shared the computation of an identical request
+	 */
+	public long getCoalescedRequests() {
+		return coalescedRequests.sum();
+	}
+	
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder("timezone.convert.coalesced", this, RequestCoalescer::getCoalescedRequests)
+				.description("Conversions that shared the result of an identical conversion in flight")
+				.register(registry);
+	}
+}
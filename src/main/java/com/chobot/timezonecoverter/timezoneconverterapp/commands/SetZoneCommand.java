@@ -0,0 +1,89 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.commands;
+
+import java.time.ZoneId;
+import java.util.Locale;
+
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ConversionResult.Success;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ZoneIdResolver;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ZoneIdResolver.ResolvedZone;
+
+/**
+ * The `SetZoneCommand` class handles the "/convert set-zone" subcommand, which sets the default time-zone
+ * of the user in the {@code UserZoneProfiles}:
+ * <ul>
+ * <li>"/convert set-zone PST" sets the default time-zone</li>
+ * <li>"/convert set-zone" tells the current default time-zone</li>
+ * <li>"/convert set-zone none" removes the default time-zone</li>
+ * </ul>
+ *
+ * @author chobot
+ * @version 1.0
+ */
+public class SetZoneCommand {
+
+	private static final String SUBCOMMAND = "set-zone";
+
+	private static final String NONE = "NONE";
+
+	private static final String EXAMPLE = "Nov 30, 2023 2:45 PM to EST";
+
+	/**
+	 * Checks whether the input of the /convert command is the set-zone subcommand.
+	 *
+	 * @param input the text of the /convert command
+	 * @return true if the input starts with the "set-zone" word, ignoring case
+	 */
+	public static boolean matches(String input) {
+		if (input == null) {
+			return false;
+		}
+		String trimmed = input.stripLeading();
+		return trimmed.regionMatches(true, 0, SUBCOMMAND, 0, SUBCOMMAND.length())
+				&& (trimmed.length() == SUBCOMMAND.length() || Character.isWhitespace(trimmed.charAt(SUBCOMMAND.length())));
+	}
+
+	/**
+	 * Handles the set-zone subcommand.
+	 *
+	 * @param profiles the user time-zone profiles, not null
+	 * @param teamId the team of the user
+	 * @param userId the user
+	 * @param input the text of the /convert command, which {@link #matches(String)}
+	 * @return the reply to the user, not null
+	 */
+	public static String handle(UserZoneProfiles profiles, String teamId, String userId, String input) {
+		String zone = input.strip().substring(SUBCOMMAND.length()).trim().toUpperCase(Locale.ROOT);
+
+		if (zone.isEmpty()) {
+			return handleShowZone(profiles.get(teamId, userId));
+		}
+		if (zone.equals(NONE)) {
+			profiles.remove(teamId, userId);
+			return "Your default time-zone is removed, so the date-time must have a time-zone again.";
+		}
+
+		if (ZoneIdResolver.tryResolve(zone) instanceof Success<ResolvedZone> resolved) {
+			profiles.set(teamId, userId, resolved.value().zoneId());
+			return "Your default time-zone is now " + describe(zone, resolved.value().zoneId())
+					+ ", so the date-time can be given without one, i.e. \"" + EXAMPLE + "\".";
+		}
+		return "Time-zone " + zone + " could not be found, i.e. try \"/convert " + SUBCOMMAND + " PST\".";
+	}
+
+	/**
+	 * Tells the current default time-zone of the user.
+	 *
+	 * @param zoneId the default time-zone, or null
+	 * @return the reply to the user
+	 */
+	private static String handleShowZone(ZoneId zoneId) {
+		if (zoneId == null) {
+			return "You have no default time-zone. Set one with \"/convert " + SUBCOMMAND + " PST\".";
+		}
+		return "Your default time-zone is " + zoneId.getId() + ". Remove it with \"/convert " + SUBCOMMAND + " " + NONE.toLowerCase(Locale.ROOT) + "\".";
+	}
+
+	private static String describe(String zone, ZoneId zoneId) {
+		return zone.equalsIgnoreCase(zoneId.getId()) ? zoneId.getId() : zone + " (" + zoneId.getId() + ")";
+	}
+}
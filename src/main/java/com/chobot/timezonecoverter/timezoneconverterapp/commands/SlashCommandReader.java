@@ -0,0 +1,332 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.commands;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * The `SlashCommandReader` class verifies and parses the form-encoded body of a slash command straight from its bytes.
+ * <p>
+ * Bolt reads the whole body into a String, verifies its signature, then decodes every field of the form into
+ * a {@code SlashCommandPayload}. This reader instead:
+ * <ol>
+ * <li>feeds the HMAC-SHA256 of the Slack signature with each chunk of the body as it is read from the stream</li>
+ * <li>compares the digest with the X-Slack-Signature header in constant time, and checks the request timestamp is fresh</li>
+ * <li>scans the bytes for the few fields a command needs, and decodes only their values into Strings</li>
+ * </ol>
+ * Each thread keeps its own {@code Mac}, already keyed with the signing secret, and its own body buffer,
+ * so reading a command allocates little more than the decoded field values.
+ *
+ * Usage Example:
+ * {@code
+ * SlashCommandReader reader = new SlashCommandReader(signingSecret);
+ * SlashCommand command = reader.read(request.getInputStream(), timestamp, signature);
+ * }
+ *
+ * @author chobot
+ * @version 1.0
+ */
+public class SlashCommandReader {
+
+	/**
+	 * The fields of a slash command this application uses.
+	 *
+	 * @param command the slash command, i.e. "/convert"
+	 * @param teamId the workspace of the command
+	 * @param enterpriseId the Enterprise Grid organization of the command, or null
+	 * @param userId the user of the command
+	 * @param text the text after the slash command, empty if there is none
+	 * @param responseUrl the URL to post delayed replies to
+	 * @param sslCheck whether the request is only a certificate check from Slack
+	 */
+	public record SlashCommand(String command, String teamId, String enterpriseId, String userId,
+			String text, String responseUrl, boolean sslCheck) {}
+
+	/**
+	 * Why a request was not read as a slash command.
+	 */
+	public enum Rejection {
+		/** The signature or the timestamp header is missing, malformed or does not match the body. */
+		INVALID_SIGNATURE,
+		/** The timestamp is too far from now, so the request may be a replay. */
+		STALE_TIMESTAMP,
+		/** The body is larger than the maximum length. */
+		TOO_LARGE
+	}
+
+	/**
+	 * Thrown when a request is rejected before it is parsed.
+	 */
+	public static class RejectedRequestException extends IOException {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Rejection rejection;
+
+		public RejectedRequestException(Rejection rejection) {
+			super("Rejected slash command request: " + rejection);
+			this.rejection = rejection;
+		}
+
+		public Rejection getRejection() {
+			return rejection;
+		}
+	}
+
+	/**
+	 * The largest body read by default. Slash command text is limited to a few thousand characters.
+	 */
+	public static final int DEFAULT_MAX_LENGTH = 64 * 1024;
+
+	/**
+	 * How far the request timestamp may be from now, as Slack and Bolt recommend.
+	 */
+	private static final Duration MAX_CLOCK_SKEW = Duration.ofMinutes(5);
+
+	private static final String ALGORITHM = "HmacSHA256";
+	private static final String SIGNATURE_VERSION = "v0";
+	private static final int DIGEST_LENGTH = 32;
+	private static final int INITIAL_BUFFER_LENGTH = 4096;
+
+	private static final byte[] COMMAND = ascii("command");
+	private static final byte[] TEAM_ID = ascii("team_id");
+	private static final byte[] ENTERPRISE_ID = ascii("enterprise_id");
+	private static final byte[] USER_ID = ascii("user_id");
+	private static final byte[] TEXT = ascii("text");
+	private static final byte[] RESPONSE_URL = ascii("response_url");
+	private static final byte[] SSL_CHECK = ascii("ssl_check");
+
+	private final SecretKeySpec key;
+	private final int maxLength;
+	private final Clock clock;
+	private final ThreadLocal<ReadState> state;
+
+	/**
+	 * Creates a reader with the default maximum length and the system clock.
+	 *
+	 * @param signingSecret the signing secret of the Slack app, not null
+	 */
+	public SlashCommandReader(String signingSecret) {
+		this(signingSecret, DEFAULT_MAX_LENGTH, Clock.systemUTC());
+	}
+
+	/**
+	 * Creates a reader.
+	 *
+	 * @param signingSecret the signing secret of the Slack app, not null
+	 * @param maxLength the largest body to read, in bytes
+	 * @param clock the clock the request timestamps are checked against, not null
+	 */
+	public SlashCommandReader(String signingSecret, int maxLength, Clock clock) {
+		this.key = new SecretKeySpec(signingSecret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+		this.maxLength = maxLength;
+		this.clock = clock;
+		this.state = ThreadLocal.withInitial(() -> new ReadState(newMac()));
+	}
+
+	/**
+	 * Reads, verifies and parses the body of a slash command.
+	 *
+	 * @param body the request body, not null, which is read to its end but not closed
+	 * @param timestamp the X-Slack-Request-Timestamp header, may be null
+	 * @param signature the X-Slack-Signature header, may be null
+	 * @return the fields of the slash command, not null
+	 * @throws RejectedRequestException
+	 *         If the signature does not match, the timestamp is stale or the body is too large
+	 * @throws IOException
+	 *         If the body cannot be read
+	 */
+	public SlashCommand read(InputStream body, String timestamp, String signature) throws IOException {
+		byte[] expected = parseSignature(signature);
+		if (expected == null || !isFresh(timestamp)) {
+			throw new RejectedRequestException(expected == null ? Rejection.INVALID_SIGNATURE : Rejection.STALE_TIMESTAMP);
+		}
+
+		ReadState readState = state.get();
+		Mac mac = readState.mac;
+		mac.reset();
+		mac.update(ascii(SIGNATURE_VERSION + ":" + timestamp + ":"));
+
+		// the digest is fed with each chunk as it arrives, so the body is read and hashed in a single pass
+		byte[] buffer = readState.buffer;
+		int length = 0;
+		int read;
+		while ((read = body.read(buffer, length, buffer.length - length)) != -1) {
+			mac.update(buffer, length, read);
+			length += read;
+			if (length > maxLength) {
+				throw new RejectedRequestException(Rejection.TOO_LARGE);
+			}
+			if (length == buffer.length) {
+				buffer = Arrays.copyOf(buffer, Math.min(buffer.length * 2, maxLength + 1));
+				readState.buffer = buffer;
+			}
+		}
+
+		if (!MessageDigest.isEqual(mac.doFinal(), expected)) {
+			throw new RejectedRequestException(Rejection.INVALID_SIGNATURE);
+		}
+		return parse(buffer, length);
+	}
+
+	/**
+	 * Scans the form fields and decodes the values of the ones a slash command needs, in place.
+	 *
+	 * @param buffer the verified body, whose field values are overwritten as they are decoded
+	 * @param length the length of the body
+	 * @return the fields of the slash command
+	 */
+	static SlashCommand parse(byte[] buffer, int length) {
+		String command = null;
+		String teamId = null;
+		String enterpriseId = null;
+		String userId = null;
+		String text = "";
+		String responseUrl = null;
+		boolean sslCheck = false;
+
+		int fieldStart = 0;
+		while (fieldStart < length) {
+			int fieldEnd = indexOf(buffer, (byte) '&', fieldStart, length);
+			int separator = indexOf(buffer, (byte) '=', fieldStart, fieldEnd);
+			int valueStart = Math.min(separator + 1, fieldEnd);
+
+			if (matches(buffer, fieldStart, separator, COMMAND)) {
+				command = decode(buffer, valueStart, fieldEnd);
+			}
+			else if (matches(buffer, fieldStart, separator, TEAM_ID)) {
+				teamId = decode(buffer, valueStart, fieldEnd);
+			}
+			else if (matches(buffer, fieldStart, separator, ENTERPRISE_ID)) {
+				enterpriseId = decode(buffer, valueStart, fieldEnd);
+			}
+			else if (matches(buffer, fieldStart, separator, USER_ID)) {
+				userId = decode(buffer, valueStart, fieldEnd);
+			}
+			else if (matches(buffer, fieldStart, separator, TEXT)) {
+				text = decode(buffer, valueStart, fieldEnd);
+			}
+			else if (matches(buffer, fieldStart, separator, RESPONSE_URL)) {
+				responseUrl = decode(buffer, valueStart, fieldEnd);
+			}
+			else if (matches(buffer, fieldStart, separator, SSL_CHECK)) {
+				sslCheck = valueStart < fieldEnd && buffer[valueStart] == '1';
+			}
+			fieldStart = fieldEnd + 1;
+		}
+
+		if (enterpriseId != null && enterpriseId.isEmpty()) {
+			enterpriseId = null;
+		}
+		return new SlashCommand(command, teamId, enterpriseId, userId, text, responseUrl, sslCheck);
+	}
+
+	/**
+	 * Percent-decodes a form value in place, '+' being a space, and returns it as a UTF-8 String.
+	 * A malformed escape is kept as is.
+	 */
+	private static String decode(byte[] buffer, int start, int end) {
+		int write = start;
+		for (int read = start; read < end; read++) {
+			byte b = buffer[read];
+			if (b == '+') {
+				b = ' ';
+			}
+			else if (b == '%' && read + 2 < end) {
+				int high = Character.digit(buffer[read + 1], 16);
+				int low = Character.digit(buffer[read + 2], 16);
+				if (high >= 0 && low >= 0) {
+					b = (byte) ((high << 4) | low);
+					read += 2;
+				}
+			}
+			buffer[write++] = b;
+		}
+		return new String(buffer, start, write - start, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Decodes the hex digest of a "v0=..." signature header.
+	 *
+	 * @return the digest, or null if the header is missing or malformed
+	 */
+	private static byte[] parseSignature(String signature) {
+		int prefix = SIGNATURE_VERSION.length() + 1;
+		if (signature == null || signature.length() != prefix + DIGEST_LENGTH * 2 || !signature.startsWith(SIGNATURE_VERSION + "=")) {
+			return null;
+		}
+
+		byte[] digest = new byte[DIGEST_LENGTH];
+		for (int i = 0; i < DIGEST_LENGTH; i++) {
+			int high = Character.digit(signature.charAt(prefix + i * 2), 16);
+			int low = Character.digit(signature.charAt(prefix + i * 2 + 1), 16);
+			if (high < 0 || low < 0) {
+				return null;
+			}
+			digest[i] = (byte) ((high << 4) | low);
+		}
+		return digest;
+	}
+
+	private boolean isFresh(String timestamp) {
+		if (timestamp == null) {
+			return false;
+		}
+		try {
+			long skew = Math.abs(clock.millis() / 1000 - Long.parseLong(timestamp));
+			return skew <= MAX_CLOCK_SKEW.toSeconds();
+		}
+		catch (NumberFormatException e) {
+			return false;
+		}
+	}
+
+	private Mac newMac() {
+		try {
+			Mac mac = Mac.getInstance(ALGORITHM);
+			mac.init(key);
+			return mac;
+		}
+		catch (GeneralSecurityException e) {
+			throw new IllegalStateException("Failed to initialize " + ALGORITHM, e);
+		}
+	}
+
+	private static boolean matches(byte[] buffer, int start, int end, byte[] name) {
+		return end - start == name.length && Arrays.equals(buffer, start, end, name, 0, name.length);
+	}
+
+	private static int indexOf(byte[] buffer, byte b, int start, int end) {
+		for (int i = start; i < end; i++) {
+			if (buffer[i] == b) {
+				return i;
+			}
+		}
+		return end;
+	}
+
+	private static byte[] ascii(String s) {
+		return s.getBytes(StandardCharsets.US_ASCII);
+	}
+
+	/**
+	 * The keyed {@code Mac} and the body buffer of a thread, reused by every request the thread reads.
+	 */
+	private static class ReadState {
+
+		private final Mac mac;
+		private byte[] buffer = new byte[INITIAL_BUFFER_LENGTH];
+
+		private ReadState(Mac mac) {
+			this.mac = mac;
+		}
+	}
+}
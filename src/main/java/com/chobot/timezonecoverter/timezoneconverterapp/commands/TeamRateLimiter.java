@@ -0,0 +1,100 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.commands;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * The `TeamRateLimiter` class limits how many /convert commands each workspace (Slack team) can run,
+ * so that a single noisy workspace or a retry storm cannot take the request threads of every other workspace.
+ * <p>
+ * Each team has its own token bucket, refilled at a steady rate up to a burst size. A bucket is a single
+ * {@code AtomicLong} holding the time at which it will be full again (the generic cell rate algorithm), so
+ * taking a token is one compare-and-set without any lock, and an idle team costs one map entry.
+ * The number of rejected commands is bound as the {@code timezone.convert.ratelimit.rejected} meter.
+ *
+ * @author chobot
+ * @version 1.0
+ */
+public class TeamRateLimiter implements MeterBinder {
+	
+	private final ConcurrentMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+	private final long refillIntervalNanos;
+	private final long burstNanos;
+	private final LongSupplier nanoClock;
+	private final LongAdder rejectedRequests = new LongAdder();
+	
+	/**
+	 * Creates a limiter timed by {@code System.nanoTime}.
+	 *
+	 * @param permitsPerSecond the number of commands a team can run per second in the long run, greater than zero
+	 * @param burst the number of commands a team can run at once after being idle, greater than zero
+	 */
+	public TeamRateLimiter(double permitsPerSecond, int burst) {
+		this(permitsPerSecond, burst, System::nanoTime);
+	}
+	
+	/**
+	 * Creates a limiter timed by the given clock.
+	 *
+	 * @param permitsPerSecond the number of commands a team can run per second in the long run, greater than zero
+	 * @param burst the number of commands a team can run at once after being idle, greater than zero
+	 * @param nanoClock the source of the current time in nanoseconds, not null
+	 * @throws IllegalArgumentException
+	 *         If the rate or the burst is not positive
+	 */
+	public TeamRateLimiter(double permitsPerSecond, int burst, LongSupplier nanoClock) {
+		if (!(permitsPerSecond > 0) || burst <= 0) {
+			throw new IllegalArgumentException("The rate and the burst must be greater than zero.");
+		}
+		
+		this.refillIntervalNanos = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+		this.burstNanos = refillIntervalNanos * burst;
+		this.nanoClock = nanoClock;
+	}
+	
+	/**
+	 * Takes a token from the bucket of the team, if there is one.
+	 *
+	 * @param teamId the id of the workspace running the command, not null
+	 * @return true if the command may run, false if the team is over its rate
+	 */
+	public boolean tryAcquire(String teamId) {
+		AtomicLong fullAt = buckets.computeIfAbsent(teamId, id -> new AtomicLong(nanoClock.getAsLong() - burstNanos));
+		
+		while (true) {
+			long now = nanoClock.getAsLong();
+			long current = fullAt.get();
+			long next = Math.max(current, now - burstNanos) + refillIntervalNanos;
+			
+			if (next - now > 0) {
+				rejectedRequests.increment();
+				return false;
+			}
+			if (fullAt.compareAndSet(current, next)) {
+				return true;
+			}
+		}
+	}
+	
+	/**
+	 * @return the number of commands rejected since the limiter was created
+	 */
+	public long getRejectedRequests() {
+		return rejectedRequests.sum();
+	}
+	
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder("timezone.convert.ratelimit.rejected", this, TeamRateLimiter::getRejectedRequests)
+				.description("Conversions rejected because the workspace was over its rate")
+				.register(registry);
+	}
+}
@@ -0,0 +1,227 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.commands;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ConversionResult.Success;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ZoneIdResolver;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ZoneIdResolver.ResolvedZone;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * The `UserZoneProfiles` class holds the default time-zone of each user, set with "/convert set-zone PST",
+ * so that the user can leave the time-zone out of the date-time, i.e. "Nov 30, 2023 2:45 PM to EST".
+ * <p>
+ * The profiles are held in a concurrent map from a single "team_id:user_id" key to the resolved {@code ZoneId},
+ * which is shared with the {@code ZoneIdResolver} index, so a lookup resolves nothing.
+ * <p>
+ * With a snapshot file, the profiles are loaded from it on creation and written back to it periodically
+ * when they have changed, and once more on {@link #close()}. The snapshot is written to a temporary file that is
+ * then moved over the previous snapshot, so a crash never leaves a partial snapshot behind.
+ * The number of profiles is bound as the {@code timezone.convert.profiles} meter.
+ *
+ * @author chobot
+ * @version 1.0
+ */
+public class UserZoneProfiles implements MeterBinder, AutoCloseable {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(UserZoneProfiles.class);
+
+	private static final char KEY_SEPARATOR = ':';
+	private static final char SNAPSHOT_SEPARATOR = '\t';
+
+	private final ConcurrentMap<String, ZoneId> zones = new ConcurrentHashMap<>();
+	private final Path snapshotFile;
+	private final AtomicBoolean changed = new AtomicBoolean();
+	private final ScheduledExecutorService snapshotScheduler;
+
+	/**
+	 * Creates profiles held in memory only.
+	 */
+	public UserZoneProfiles() {
+		this.snapshotFile = null;
+		this.snapshotScheduler = null;
+	}
+
+	/**
+	 * Creates profiles loaded from the snapshot file, if it exists, and written back to it periodically.
+	 *
+	 * @param snapshotFile the snapshot file, not null
+	 * @param snapshotInterval how often the changed profiles are written, or zero to write them only on close
+	 * @throws UncheckedIOException
+	 *         If the snapshot file exists but cannot be read
+	 */
+	public UserZoneProfiles(Path snapshotFile, Duration snapshotInterval) {
+		this.snapshotFile = snapshotFile;
+		load();
+
+		if (snapshotInterval.isZero()) {
+			this.snapshotScheduler = null;
+		}
+		else {
+			this.snapshotScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "user-zone-profiles-snapshot");
+				thread.setDaemon(true);
+				return thread;
+			});
+			long intervalMillis = snapshotInterval.toMillis();
+			snapshotScheduler.scheduleWithFixedDelay(this::snapshotQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Returns the default time-zone of the user.
+	 *
+	 * @param teamId the team of the user
+	 * @param userId the user
+	 * @return the default time-zone, or null if the user has none
+	 */
+	public ZoneId get(String teamId, String userId) {
+		return zones.get(key(teamId, userId));
+	}
+
+	/**
+	 * Sets the default time-zone of the user.
+	 *
+	 * @param teamId the team of the user
+	 * @param userId the user
+	 * @param zoneId the default time-zone, not null
+	 */
+	public void set(String teamId, String userId, ZoneId zoneId) {
+		zones.put(key(teamId, userId), zoneId);
+		changed.set(true);
+	}
+
+	/**
+	 * Removes the default time-zone of the user.
+	 *
+	 * @param teamId the team of the user
+	 * @param userId the user
+	 * @return true if the user had a default time-zone
+	 */
+	public boolean remove(String teamId, String userId) {
+		boolean removed = zones.remove(key(teamId, userId)) != null;
+		if (removed) {
+			changed.set(true);
+		}
+		return removed;
+	}
+
+	/**
+	 * @return the number of users with a default time-zone
+	 */
+	public int size() {
+		return zones.size();
+	}
+
+	/**
+	 * Writes the profiles to the snapshot file if they changed since the last snapshot.
+	 *
+	 * @return true if a snapshot was written
+	 * @throws IOException
+	 *         If the snapshot cannot be written, in which case it is attempted again on the next snapshot
+	 */
+	public synchronized boolean snapshot() throws IOException {
+		if (snapshotFile == null || !changed.getAndSet(false)) {
+			return false;
+		}
+
+		try {
+			Path directory = snapshotFile.toAbsolutePath().getParent();
+			Files.createDirectories(directory);
+			Path temporaryFile = Files.createTempFile(directory, snapshotFile.getFileName().toString(), ".tmp");
+			try (BufferedWriter writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+				for (Map.Entry<String, ZoneId> zone : zones.entrySet()) {
+					writer.append(zone.getKey()).append(SNAPSHOT_SEPARATOR).append(zone.getValue().getId());
+					writer.newLine();
+				}
+			}
+			Files.move(temporaryFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			return true;
+		}
+		catch (IOException e) {
+			changed.set(true);
+			throw e;
+		}
+	}
+
+	/**
+	 * Stops the periodic snapshots and writes a last snapshot.
+	 */
+	@Override
+	public void close() {
+		if (snapshotScheduler != null) {
+			snapshotScheduler.shutdownNow();
+		}
+		snapshotQuietly();
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Gauge.builder("timezone.convert.profiles", this, UserZoneProfiles::size)
+				.description("Users with a default time-zone")
+				.register(registry);
+	}
+
+	/**
+	 * Loads the profiles from the snapshot file, skipping the time-zones that are no longer known.
+	 */
+	private void load() {
+		if (!Files.exists(snapshotFile)) {
+			return;
+		}
+
+		try (BufferedReader reader = Files.newBufferedReader(snapshotFile, StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				int separator = line.indexOf(SNAPSHOT_SEPARATOR);
+				if (separator < 0) {
+					continue;
+				}
+				if (ZoneIdResolver.tryResolve(line.substring(separator + 1)) instanceof Success<ResolvedZone> zone) {
+					zones.put(line.substring(0, separator), zone.value().zoneId());
+				}
+				else {
+					LOGGER.warn("Skipped the unknown time-zone of profile {}.", line.substring(0, separator));
+				}
+			}
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Failed to load the user time-zone profiles from " + snapshotFile, e);
+		}
+	}
+
+	private void snapshotQuietly() {
+		try {
+			snapshot();
+		}
+		catch (IOException e) {
+			LOGGER.warn("Failed to write the user time-zone profiles to {}.", snapshotFile, e);
+		}
+	}
+
+	private static String key(String teamId, String userId) {
+		return teamId + KEY_SEPARATOR + userId;
+	}
+}
@@ -0,0 +1,267 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.controllers;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.BatchDateTimeProcessor;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.CalendarConverter;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ConversionResult;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ConversionResult.Failure;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ConversionResult.Success;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ZoneIdResolver.ResolvedZone;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Converts a batch of "[date-time w/ time-zone] to [target time-zone]" inputs in one request, for programmatic callers.
+ * <p>
+ * The batch is either a JSON array of strings or NDJSON, one JSON string per line. The results are streamed back as NDJSON
+ * as soon as they are computed, one {@code {"index":..,"input":..,"output":..}} object per line, in completion order.
+ * <p>
+ * A calendar, i.e. an exported .ics file, is converted by the calendar endpoint, sent as the body ({@code text/calendar})
+ * or uploaded as the "file" part of a form. The start and end of every event are converted to the "to" time-zone by the
+ * {@code CalendarConverter}, and written back as NDJSON in calendar order while the calendar is still being read,
+ * so neither the calendar nor its results are ever held in memory. The optional "zone" is the time-zone of the date-times
+ * of the calendar that have none.
+ * <p>
+ * Callers authenticate with the BATCH_CONVERT_TOKEN bearer token; the endpoints are disabled when no token is configured.
+ *
+ * Usage Example:
+ * {@code
+ * curl -H "Authorization: Bearer $BATCH_CONVERT_TOKEN" -H "Content-Type: application/json" \
+ *      -d '["2010-02-04T14:39:28 PST to EST", "Nov 28, 2023 3:30 PM EST to PST"]' <domain url>/api/convert/batch
+ * curl -H "Authorization: Bearer $BATCH_CONVERT_TOKEN" -F file=@team.ics "<domain url>/api/convert/calendar?to=JST"
+ * }
+ *
+ * @author chobot
+ * @version 1.0
+ */
+@RestController
+public class BatchConvertController {
+	
+	/**
+	 * The maximum number of inputs in one batch.
+	 */
+	private static final int MAX_BATCH_SIZE = 100_000;
+	
+	/**
+	 * The number of results written between two flushes of the response.
+	 */
+	private static final int FLUSH_INTERVAL = 256;
+	
+	private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+	
+	private final BatchDateTimeProcessor batchDateTimeProcessor;
+	private final ObjectMapper objectMapper;
+	private final byte[] token;
+	
+	public BatchConvertController(BatchDateTimeProcessor batchDateTimeProcessor, ObjectMapper objectMapper,
+			@Value("${BATCH_CONVERT_TOKEN:}") String token) {
+		this.batchDateTimeProcessor = batchDateTimeProcessor;
+		this.objectMapper = objectMapper;
+		this.token = token.getBytes(StandardCharsets.UTF_8);
+	}
+	
+	/**
+	 * Reads the JSON array with a streaming parser once the caller is authorized, up to one input over the maximum batch size.
+	 */
+	@PostMapping(path = "/api/convert/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> convertJson(
+			@RequestHeader(name = "Authorization", required = false) String authorization,
+			InputStream body) throws IOException {
+		if (!isAuthorized(authorization)) {
+			return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+		}
+		
+		List<String> inputs = new ArrayList<>();
+		try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+			if (parser.nextToken() != JsonToken.START_ARRAY) {
+				return ResponseEntity.badRequest().build();
+			}
+			for (JsonToken next = parser.nextToken(); next != JsonToken.END_ARRAY && inputs.size() <= MAX_BATCH_SIZE;
+					next = parser.nextToken()) {
+				if (next == JsonToken.VALUE_STRING) {
+					inputs.add(parser.getText());
+				}
+				else if (next == JsonToken.VALUE_NULL) {
+					inputs.add(null);
+				}
+				else {
+					return ResponseEntity.badRequest().build();
+				}
+			}
+		}
+		catch (JsonProcessingException e) {
+			return ResponseEntity.badRequest().build();
+		}
+		return convert(authorization, inputs);
+	}
+	
+	@PostMapping(path = "/api/convert/batch", consumes = "application/x-ndjson")
+	public ResponseEntity<StreamingResponseBody> convertNdjson(
+			@RequestHeader(name = "Authorization", required = false) String authorization,
+			InputStream body) throws IOException {
+		if (!isAuthorized(authorization)) {
+			return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+		}
+		
+		List<String> inputs = new ArrayList<>();
+		BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+		for (String line = reader.readLine(); line != null && inputs.size() <= MAX_BATCH_SIZE; line = reader.readLine()) {
+			if (line.isBlank()) {
+				continue;
+			}
+			try {
+				inputs.add(objectMapper.readValue(line, String.class));
+			}
+			catch (JsonProcessingException e) {
+				return ResponseEntity.badRequest().build();
+			}
+		}
+		return convert(authorization, inputs);
+	}
+	
+	@PostMapping(path = "/api/convert/calendar", consumes = "text/calendar")
+	public void convertCalendar(
+			@RequestHeader(name = "Authorization", required = false) String authorization,
+			@RequestParam("to") String targetTimeZone,
+			@RequestParam(name = "zone", required = false) String calendarZone,
+			InputStream body, HttpServletResponse response) throws IOException {
+		streamCalendar(authorization, targetTimeZone, calendarZone, body, response);
+	}
+	
+	@PostMapping(path = "/api/convert/calendar", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+	public void convertCalendarFile(
+			@RequestHeader(name = "Authorization", required = false) String authorization,
+			@RequestParam("to") String targetTimeZone,
+			@RequestParam(name = "zone", required = false) String calendarZone,
+			@RequestParam("file") MultipartFile file, HttpServletResponse response) throws IOException {
+		try (InputStream body = file.getInputStream()) {
+			streamCalendar(authorization, targetTimeZone, calendarZone, body, response);
+		}
+	}
+	
+	/**
+	 * Converts the events of the calendar as they are read, writing each result to the response on the request thread.
+	 */
+	private void streamCalendar(String authorization, String targetTimeZone, String calendarZone, InputStream body,
+			HttpServletResponse response) throws IOException {
+		if (!isAuthorized(authorization)) {
+			response.sendError(HttpServletResponse.SC_FORBIDDEN);
+			return;
+		}
+		
+		String target = targetTimeZone.trim().toUpperCase(Locale.ROOT);
+		ConversionResult<ResolvedZone> targetZone = CalendarConverter.resolveTimeZone(target);
+		if (targetZone instanceof Failure<ResolvedZone> failure) {
+			response.sendError(HttpServletResponse.SC_BAD_REQUEST, failure.message());
+			return;
+		}
+		ZoneId defaultZone = null;
+		if (calendarZone != null && !calendarZone.isBlank()) {
+			ConversionResult<ResolvedZone> zone = CalendarConverter.resolveTimeZone(calendarZone.trim().toUpperCase(Locale.ROOT));
+			if (zone instanceof Failure<ResolvedZone> failure) {
+				response.sendError(HttpServletResponse.SC_BAD_REQUEST, failure.message());
+				return;
+			}
+			defaultZone = ((Success<ResolvedZone>) zone).value().zoneId();
+		}
+		
+		response.setContentType(APPLICATION_NDJSON.toString());
+		response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+		Writer writer = new BufferedWriter(response.getWriter());
+		int[] written = { 0 };
+		try {
+			CalendarConverter.convert(new InputStreamReader(body, StandardCharsets.UTF_8), target, defaultZone, result -> {
+				try {
+					writer.write(objectMapper.writeValueAsString(result));
+					writer.write('\n');
+					if (++written[0] % FLUSH_INTERVAL == 0) {
+						writer.flush();
+					}
+				}
+				catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+		}
+		catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		writer.flush();
+	}
+	
+	private ResponseEntity<StreamingResponseBody> convert(String authorization, List<String> inputs) {
+		if (!isAuthorized(authorization)) {
+			return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+		}
+		if (inputs.size() > MAX_BATCH_SIZE) {
+			return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+		}
+		
+		List<String> batch = inputs.stream().map(input -> input == null ? "" : input).toList();
+		StreamingResponseBody results = output -> {
+			Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+			int[] written = { 0 };
+			try {
+				batchDateTimeProcessor.process(batch, result -> {
+					try {
+						writer.write(objectMapper.writeValueAsString(result));
+						writer.write('\n');
+						if (++written[0] % FLUSH_INTERVAL == 0) {
+							writer.flush();
+						}
+					}
+					catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			catch (UncheckedIOException e) {
+				throw e.getCause();
+			}
+			writer.flush();
+		};
+		return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(results);
+	}
+	
+	/**
+	 * @return true if a token is configured and the request carries it as a bearer token
+	 */
+	private boolean isAuthorized(String authorization) {
+		if (token.length == 0 || authorization == null || !authorization.startsWith("Bearer ")) {
+			return false;
+		}
+		return MessageDigest.isEqual(token, authorization.substring("Bearer ".length()).getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,23 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.controllers;
+
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.DateTimeShape;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ZonedDateTimeStringParser;
+
+/**
+ * Exposes the order in which the date-time formatters of each input shape are attempted at /actuator/formatters.
+ */
+@Component
+@Endpoint(id = "formatters")
+public class FormatterOrderEndpoint {
+	
+	@ReadOperation
+	public Map<DateTimeShape, Map<String, Long>> formatterOrder() {
+		return ZonedDateTimeStringParser.getFormatterOrder();
+	}
+}
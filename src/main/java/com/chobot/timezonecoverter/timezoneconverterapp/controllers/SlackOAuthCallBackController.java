@@ -1,20 +1,24 @@
 package com.chobot.timezonecoverter.timezoneconverterapp.controllers;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 
 @Controller
 public class SlackOAuthCallBackController {
 	
+	private static final Logger LOGGER = LoggerFactory.getLogger(SlackOAuthCallBackController.class);
+	
 	@GetMapping("/slack/oauth/completion")
 	public String handleCompletion() {
-		System.out.println("completed");
+		LOGGER.info("completed");
 		return "forward:/static/completion.html";
 	}
 
 	@GetMapping("/slack/oauth/cancellation")
 	public String handleCancellation() {
-		System.out.println("cancelled");
+		LOGGER.info("cancelled");
 		return "forward:/static/cancellation.html";
 	}
 }
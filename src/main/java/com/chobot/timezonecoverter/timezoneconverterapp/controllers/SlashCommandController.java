@@ -0,0 +1,143 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.controllers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.chobot.timezonecoverter.timezoneconverterapp.commands.ConvertCommandHandler;
+import com.chobot.timezonecoverter.timezoneconverterapp.commands.SlashCommandReader;
+import com.chobot.timezonecoverter.timezoneconverterapp.commands.SlashCommandReader.RejectedRequestException;
+import com.chobot.timezonecoverter.timezoneconverterapp.commands.SlashCommandReader.Rejection;
+import com.chobot.timezonecoverter.timezoneconverterapp.commands.SlashCommandReader.SlashCommand;
+import com.slack.api.Slack;
+import com.slack.api.bolt.AppConfig;
+import com.slack.api.bolt.service.InstallationService;
+
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * The `SlashCommandController` class is the fast path for the slash commands, next to the Bolt servlet of /slack/events.
+ * <p>
+ * The {@code SlashCommandReader} verifies the signature over the raw body as it is read and extracts only the fields
+ * the commands need, and the /convert command runs through the same {@code ConvertCommandHandler} as the Bolt app.
+ * With OAuth, the workspace must have installed the app, as Bolt requires. Point the Request URL of the /convert and
+ * /hello commands to /slack/commands to use it.
+ *
+ * @author chobot
+ * @version 1.0
+ */
+@WebServlet("/slack/commands")
+public class SlashCommandController extends HttpServlet {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(SlashCommandController.class);
+
+	private static final String TIMESTAMP_HEADER = "X-Slack-Request-Timestamp";
+	private static final String SIGNATURE_HEADER = "X-Slack-Signature";
+
+	private final transient SlashCommandReader reader;
+	private final transient ConvertCommandHandler convertCommandHandler;
+	private final transient InstallationService installationService;
+	private final boolean oauth;
+
+	public SlashCommandController(AppConfig config, ConvertCommandHandler convertCommandHandler, InstallationService installationService) {
+		this.reader = config.getSigningSecret() == null ? null : new SlashCommandReader(config.getSigningSecret());
+		this.convertCommandHandler = convertCommandHandler;
+		this.installationService = installationService;
+		this.oauth = config.getClientId() != null;
+	}
+
+	@Override
+	protected void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+		if (reader == null) {
+			LOGGER.warn("Rejected a slash command because SLACK_SIGNING_SECRET is not set.");
+			response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+			return;
+		}
+		if (request.getContentLengthLong() > SlashCommandReader.DEFAULT_MAX_LENGTH) {
+			response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+			return;
+		}
+
+		SlashCommand command;
+		try {
+			command = reader.read(request.getInputStream(), request.getHeader(TIMESTAMP_HEADER), request.getHeader(SIGNATURE_HEADER));
+		}
+		catch (RejectedRequestException e) {
+			LOGGER.debug("Rejected a slash command: {}", e.getRejection());
+			response.sendError(e.getRejection() == Rejection.TOO_LARGE
+					? HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE : HttpServletResponse.SC_UNAUTHORIZED);
+			return;
+		}
+
+		if (command.sslCheck()) {
+			response.setStatus(HttpServletResponse.SC_OK);
+			return;
+		}
+		if (oauth && installationService.findBot(command.enterpriseId(), command.teamId()) == null) {
+			writeText(response, HttpServletResponse.SC_UNAUTHORIZED, "Please install this app first!");
+			return;
+		}
+
+		String reply;
+		if ("/convert".equals(command.command())) {
+			LOGGER.debug("running convert command.");
+			reply = convertCommandHandler.handle(command.teamId(), command.userId(), command.text(),
+					text -> Slack.getInstance().send(command.responseUrl(), toJson(text)));
+		}
+		else if ("/hello".equals(command.command())) {
+			reply = "What's up?";
+		}
+		else {
+			response.sendError(HttpServletResponse.SC_NOT_FOUND);
+			return;
+		}
+
+		if (reply == null) {
+			response.setStatus(HttpServletResponse.SC_OK);
+		}
+		else {
+			writeText(response, HttpServletResponse.SC_OK, reply);
+		}
+	}
+
+	private static void writeText(HttpServletResponse response, int status, String text) throws IOException {
+		byte[] body = toJson(text).getBytes(StandardCharsets.UTF_8);
+		response.setStatus(status);
+		response.setContentType("application/json;charset=utf-8");
+		response.setContentLength(body.length);
+		response.getOutputStream().write(body);
+	}
+
+	/**
+	 * Writes the {"text": ...} message Slack expects in the acknowledgement and on the response_url.
+	 */
+	static String toJson(String text) {
+		StringBuilder json = new StringBuilder(text.length() + 16).append("{\"text\":\"");
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			switch (c) {
+				case '"' -> json.append("\\\"");
+				case '\\' -> json.append("\\\\");
+				case '\n' -> json.append("\\n");
+				case '\r' -> json.append("\\r");
+				case '\t' -> json.append("\\t");
+				default -> {
+					if (c < 0x20) {
+						json.append(String.format("\\u%04x", (int) c));
+					}
+					else {
+						json.append(c);
+					}
+				}
+			}
+		}
+		return json.append("\"}").toString();
+	}
+}
@@ -0,0 +1,132 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.datetime;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The `AdaptiveFormatterOrder` class orders the candidate formatters of each {@code DateTimeShape}
+ * by how often they parsed an input, so the formats users actually type are attempted first.
+ * <p>
+ * Matches are counted with striped counters ({@code LongAdder}), so counting does not contend across request threads.
+ * About once every {@code reorderInterval} matches the order is recomputed and published as an immutable snapshot,
+ * which readers use without locking. Formatters with the same count keep their registration order.
+ * <p>
+ * Reordering only changes which candidate is attempted first, never which candidates are attempted,
+ * so the set of accepted inputs is unchanged. The order can be pinned to the registration order.
+ *
+ * @author chobot
+ * @version 1.0
+ */
+public class AdaptiveFormatterOrder {
+
+	private final Map<DateTimeShape, List<DateTimeFormatter>> registrationOrder;
+	private final Map<DateTimeFormatter, LongAdder> matches = new IdentityHashMap<>();
+	private final int reorderInterval;
+
+	private volatile Map<DateTimeShape, List<DateTimeFormatter>> currentOrder;
+	private volatile boolean pinned;
+
+	/**
+	 * Creates the ordering, starting from the registration order.
+	 *
+	 * @param registrationOrder the candidate formatters of each shape in the order they were registered, not null
+	 * @param reorderInterval the average number of matches between two reorders, greater than zero
+	 */
+	public AdaptiveFormatterOrder(Map<DateTimeShape, List<DateTimeFormatter>> registrationOrder, int reorderInterval) {
+		this.registrationOrder = snapshot(registrationOrder);
+		this.reorderInterval = reorderInterval;
+		this.currentOrder = this.registrationOrder;
+
+		for (List<DateTimeFormatter> formatters : registrationOrder.values()) {
+			for (DateTimeFormatter formatter : formatters) {
+				matches.putIfAbsent(formatter, new LongAdder());
+			}
+		}
+	}
+
+	/**
+	 * Returns the candidate formatters of the shape, the most often matched first.
+	 *
+	 * @param shape the shape of the input
+	 * @return the candidate formatters, empty if none can parse the shape, not null
+	 */
+	public List<DateTimeFormatter> candidates(DateTimeShape shape) {
+		return currentOrder.getOrDefault(shape, List.of());
+	}
+
+	/**
+	 * Counts an input parsed by the formatter, and now and then reorders the candidates.
+	 *
+	 * @param formatter the formatter that parsed the input, one of the registered formatters
+	 */
+	public void recordMatch(DateTimeFormatter formatter) {
+		matches.get(formatter).increment();
+
+		if (!pinned && ThreadLocalRandom.current().nextInt(reorderInterval) == 0) {
+			reorder();
+		}
+	}
+
+	/**
+	 * Recomputes the order from the current match counts, unless the order is pinned.
+	 */
+	public synchronized void reorder() {
+		if (pinned) {
+			return;
+		}
+
+		Map<DateTimeShape, List<DateTimeFormatter>> order = new EnumMap<>(DateTimeShape.class);
+		registrationOrder.forEach((shape, formatters) -> {
+			List<DateTimeFormatter> sorted = new ArrayList<>(formatters);
+			sorted.sort(Comparator.comparingLong((DateTimeFormatter formatter) -> matches.get(formatter).sum()).reversed());
+			order.put(shape, List.copyOf(sorted));
+		});
+		currentOrder = Collections.unmodifiableMap(order);
+	}
+
+	/**
+	 * Pins the order to the registration order, or lets it adapt again.
+	 *
+	 * @param pinned true to pin the order
+	 */
+	public synchronized void setPinned(boolean pinned) {
+		this.pinned = pinned;
+		if (pinned) {
+			currentOrder = registrationOrder;
+		}
+		else {
+			reorder();
+		}
+	}
+
+	/**
+	 * @return true if the order is pinned to the registration order
+	 */
+	public boolean isPinned() {
+		return pinned;
+	}
+
+	/**
+	 * Returns the number of inputs parsed by the formatter.
+	 *
+	 * @param formatter one of the registered formatters
+	 * @return the number of matches
+	 */
+	public long matches(DateTimeFormatter formatter) {
+		return matches.get(formatter).sum();
+	}
+
+	private static Map<DateTimeShape, List<DateTimeFormatter>> snapshot(Map<DateTimeShape, List<DateTimeFormatter>> order) {
+		Map<DateTimeShape, List<DateTimeFormatter>> snapshot = new EnumMap<>(DateTimeShape.class);
+		order.forEach((shape, formatters) -> snapshot.put(shape, List.copyOf(formatters)));
+		return Collections.unmodifiableMap(snapshot);
+	}
+}
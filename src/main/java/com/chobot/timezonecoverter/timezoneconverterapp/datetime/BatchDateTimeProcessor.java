@@ -0,0 +1,197 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.datetime;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * The `BatchDateTimeProcessor` class runs the {@code DateTimeProcessor} over a batch of user inputs in parallel.
+ * <p>
+ * The batch is split in halves on a dedicated {@code ForkJoinPool} until each task holds a few inputs, so every core
+ * converts while idle workers steal the remaining halves. The results are handed to the caller as they are computed,
+ * in completion order and tagged with the index of their input, so the caller can stream them without waiting
+ * for the whole batch. When the caller stops consuming, the conversions that have not started are skipped.
+ * When a conversion throws, the batch stops and the caller gets the exception.
+ *
+ * Usage Example:
+ * {@code
+ * try (BatchDateTimeProcessor processor = new BatchDateTimeProcessor(4)) {
+ *     processor.process(List.of("2010-02-04T14:39:28 PST to EST", "Nov 28, 2023 3:30 PM EST to PST"),
+ *             result -> System.out.println(result.index() + ": " + result.output()));
+ * }
+ * }
+ *
+ * @author chobot
+ * @version 1.0
+ */
+public class BatchDateTimeProcessor implements AutoCloseable {
+	
+	/**
+	 * A converted input.
+	 *
+	 * @param index the position of the input in the batch
+	 * @param input the user input
+	 * @param output the result of {@link DateTimeProcessor#processDateTimeInput(String)} for the input
+	 */
+	public record Result(int index, String input, String output) {}
+	
+	/**
+	 * The number of inputs a task converts itself instead of splitting them further.
+	 */
+	private static final int INPUTS_PER_TASK = 64;
+	
+	/**
+	 * Handed to the caller in place of the result of a conversion that threw.
+	 */
+	private static final Result FAILED = new Result(-1, null, null);
+	
+	private final ForkJoinPool pool;
+	private final Function<String, String> conversion;
+	
+	/**
+	 * Creates the processor.
+	 *
+	 * @param parallelism the number of conversion threads, greater than zero
+	 */
+	public BatchDateTimeProcessor(int parallelism) {
+		this(parallelism, DateTimeProcessor::processDateTimeInput);
+	}
+	
+	/**
+	 * Creates the processor, converting each input with the given function.
+	 *
+	 * @param parallelism the number of conversion threads, greater than zero
+	 * @param conversion converts a user input, i.e. {@code DateTimeProcessor::processDateTimeInput}, not null
+	 */
+	public BatchDateTimeProcessor(int parallelism, Function<String, String> conversion) {
+		this.pool = new ForkJoinPool(parallelism);
+		this.conversion = conversion;
+	}
+	
+	/**
+	 * Converts every input of the batch, handing each result to the consumer on the calling thread as soon as it is computed.
+	 *
+	 * @param inputs the user inputs, not null
+	 * @param results receives the results in completion order, not null
+	 * @throws InterruptedException
+	 *         If the calling thread is interrupted while waiting for a result.
+	 * @throws CompletionException
+	 *         If a conversion throws, with the exception it threw as the cause.
+	 */
+	public void process(List<String> inputs, Consumer<Result> results) throws InterruptedException {
+		BlockingQueue<Result> completed = new LinkedBlockingQueue<>();
+		ConvertRange batch = new ConvertRange(inputs, 0, inputs.size(), conversion, completed);
+		pool.execute(batch);
+		
+		boolean consumed = false;
+		try {
+			for (int i = 0; i < inputs.size(); i++) {
+				Result result = completed.take();
+				if (result == FAILED) {
+					throw new CompletionException(batch.failure);
+				}
+				results.accept(result);
+			}
+			consumed = true;
+		}
+		finally {
+			if (!consumed) {
+				batch.abandoned = true;
+			}
+		}
+	}
+	
+	/**
+	 * Stops the conversion threads, waiting a bounded time for the running batches.
+	 */
+	@Override
+	public void close() {
+		pool.shutdown();
+		try {
+			pool.awaitTermination(10, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * Converts a range of the batch, splitting it in halves while it holds more than {@link #INPUTS_PER_TASK} inputs.
+	 */
+	private static class ConvertRange extends RecursiveAction {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final List<String> inputs;
+		private final Function<String, String> conversion;
+		private final int from;
+		private final int to;
+		private final BlockingQueue<Result> completed;
+		private final ConvertRange root;
+		
+		/**
+		 * Set on the root task when the caller stops consuming the results, or when a conversion throws.
+		 */
+		private volatile boolean abandoned;
+		
+		/**
+		 * Set on the root task to the first exception thrown by a conversion.
+		 */
+		private volatile Throwable failure;
+		
+		private ConvertRange(List<String> inputs, int from, int to, Function<String, String> conversion, BlockingQueue<Result> completed) {
+			this(inputs, from, to, conversion, completed, null);
+		}
+		
+		private ConvertRange(List<String> inputs, int from, int to, Function<String, String> conversion,
+				BlockingQueue<Result> completed, ConvertRange root) {
+			this.inputs = inputs;
+			this.conversion = conversion;
+			this.from = from;
+			this.to = to;
+			this.completed = completed;
+			this.root = root == null ? this : root;
+		}
+		
+		@Override
+		protected void compute() {
+			if (to - from > INPUTS_PER_TASK) {
+				int middle = (from + to) >>> 1;
+				invokeAll(
+					new ConvertRange(inputs, from, middle, conversion, completed, root), 
+					new ConvertRange(inputs, middle, to, conversion, completed, root)
+				);
+				return;
+			}
+			
+			for (int i = from; i < to && !root.abandoned; i++) {
+				String input = inputs.get(i);
+				try {
+					completed.add(new Result(i, input, conversion.apply(input)));
+				}
+				catch (Throwable e) {
+					// an Error too, or the caller would wait forever for the results of the range
+					root.fail(e);
+					return;
+				}
+			}
+		}
+		
+		/**
+		 * Stops the batch and wakes the caller with the exception, unless another conversion has already thrown.
+		 */
+		private synchronized void fail(Throwable e) {
+			if (failure == null) {
+				failure = e;
+				abandoned = true;
+				completed.add(FAILED);
+			}
+		}
+	}
+}
@@ -0,0 +1,282 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.datetime;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ConversionResult.Failure;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ConversionResult.Success;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.IcsEventReader.Event;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.IcsEventReader.Property;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.PipelineMetrics.ErrorType;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ZoneIdResolver.ResolvedZone;
+
+/**
+ * The `CalendarConverter` class converts the start and end of every event of an iCalendar (.ics) stream to a target time-zone.
+ * <p>
+ * The events are read one at a time by the {@code IcsEventReader} and each result is handed to the caller before the next
+ * event is read, so a calendar of any size is converted in bounded memory. The start and end are converted by the
+ * {@code DateTimeConverter} and formatted by the {@code OutputDateTimeFormatter}, as the date-times of /convert are.
+ * <p>
+ * The time-zone of a date-time is its TZID, resolved by the {@code ZoneIdResolver}, or UTC for a value ending with 'Z'.
+ * The Windows time-zone names written as TZID by Outlook and Exchange (i.e. "W. Europe Standard Time") are resolved
+ * by {@code WindowsZones} to their region, so the VTIMEZONE they define does not need to be read. A floating date-time, without either, is in the default time-zone if one is given. A local date-time in a daylight saving
+ * gap or overlap is resolved as RFC 5545 requires, which is what {@code ZonedDateTime.of} does: the offset before the gap,
+ * and the earlier of the two instants of an overlap. All-day events, whose DTSTART is a date, are not converted:
+ * their DTEND is the day after the event, as RFC 5545 has it, so the end reported is the last day of the event.
+ * <p>
+ * A recurring event is converted once, at its first occurrence, and its RRULE is passed along.
+ * The occurrences are not expanded, so a recurring event costs as much as any other.
+ *
+ * Usage Example:
+ * {@code
+ * CalendarConverter.convert(new FileReader("team.ics", StandardCharsets.UTF_8), "JST", null,
+ *         result -> System.out.println(result.summary() + ": " + result.start()));
+ * }
+ *
+ * Error Handling:
+ * An event that cannot be converted, i.e. for an unknown TZID, is reported by the {@code error} of its result,
+ * and the following events are still converted.
+ *
+ * @author chobot
+ * @version 1.0
+ */
+public class CalendarConverter {
+
+	/**
+	 * A converted event.
+	 *
+	 * @param index the position of the event in the calendar, from 0
+	 * @param summary the summary of the event, or null
+	 * @param start the converted start, i.e. "Nov 29, 2023 5:30 AM JST", or the date of an all-day event, or null on error
+	 * @param end the converted end, or the last date of an all-day event of several days, or null if the event has none or on error
+	 * @param recurrence the RRULE of a recurring event, or null
+	 * @param error the reason the event could not be converted, or null
+	 */
+	public record Result(int index, String summary, String start, String end, String recurrence, String error) {}
+
+	private static final DateTimeFormatter LOCAL_DATE_TIME = DateTimeFormatter.ofPattern("uuuuMMdd'T'HHmmss", Locale.ROOT);
+
+	private static final DateTimeFormatter LOCAL_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+	private static final DateTimeFormatter ALL_DAY = DateTimeFormatter.ofPattern("MMM dd, yyyy", Locale.ENGLISH);
+
+	/**
+	 * A DURATION value: an optional sign, then weeks, or days and a time of hours, minutes and seconds.
+	 */
+	private static final Pattern DURATION = Pattern.compile("([+-])?P(?:(\\d{1,9})W)?(?:(\\d{1,9})D)?(?:T(?:(\\d{1,9})H)?(?:(\\d{1,9})M)?(?:(\\d{1,9})S)?)?",
+			Pattern.CASE_INSENSITIVE);
+
+	/**
+	 * Converts every event of the calendar, handing each result to the consumer as soon as it is converted, in calendar order.
+	 *
+	 * @param calendar the iCalendar text, not null
+	 * @param targetTimeZone the upper-case target time-zone, which {@link #resolveTimeZone(String)} resolves
+	 * @param defaultZone the time-zone of the floating date-times, or null to report them as errors
+	 * @param results receives the results, not null
+	 * @return the number of events converted
+	 * @throws IOException
+	 *         If the calendar cannot be read.
+	 */
+	public static int convert(Reader calendar, String targetTimeZone, ZoneId defaultZone, Consumer<Result> results) throws IOException {
+		IcsEventReader reader = new IcsEventReader(calendar);
+		int events = 0;
+		for (Event event = reader.next(); event != null; event = reader.next()) {
+			results.accept(convert(event, targetTimeZone, defaultZone));
+			events++;
+		}
+		return events;
+	}
+
+	/**
+	 * Resolves a time-zone given along with a calendar, before converting it: the target time-zone,
+	 * or the time-zone of its floating date-times.
+	 *
+	 * @param timeZone the upper-case time-zone
+	 * @return the resolved time-zone, or an {@code INVALID_ZONE} or {@code UNKNOWN_ZONE} failure, not null
+	 */
+	public static ConversionResult<ResolvedZone> resolveTimeZone(String timeZone) {
+		return DateTimeConverter.resolveTargetTimeZone(timeZone);
+	}
+
+	/**
+	 * Converts the start and end of an event.
+	 *
+	 * @param event the event, not null
+	 * @param targetTimeZone the upper-case target time-zone
+	 * @param defaultZone the time-zone of the floating date-times, or null
+	 * @return the converted event, or the reason it could not be converted, not null
+	 */
+	public static Result convert(Event event, String targetTimeZone, ZoneId defaultZone) {
+		ConversionResult<Result> result = tryConvert(event, targetTimeZone, defaultZone);
+		if (result instanceof Failure<Result> failure) {
+			return new Result(event.index(), event.summary(), null, null, event.recurrence(), failure.message());
+		}
+		return ((Success<Result>) result).value();
+	}
+
+	/**
+	 * Converts the start and end of an event.
+	 *
+	 * @return the converted event, or the first failure to read or convert its date-times
+	 */
+	private static ConversionResult<Result> tryConvert(Event event, String targetTimeZone, ZoneId defaultZone) {
+		if (event.start() == null) {
+			return handleMissingStart();
+		}
+		if (event.start().date()) {
+			return convertAllDay(event);
+		}
+
+		ConversionResult<ZonedDateTime> start = toZonedDateTime(event.start(), defaultZone);
+		if (start instanceof Failure<ZonedDateTime> failure) {
+			return failure.cast();
+		}
+		ZonedDateTime startDateTime = ((Success<ZonedDateTime>) start).value();
+		ConversionResult<String> convertedStart = convertAndFormat(startDateTime, targetTimeZone);
+		if (convertedStart instanceof Failure<String> failure) {
+			return failure.cast();
+		}
+		String startText = ((Success<String>) convertedStart).value();
+
+		ConversionResult<ZonedDateTime> end;
+		if (event.end() != null) {
+			end = toZonedDateTime(event.end(), defaultZone);
+		}
+		else if (event.duration() != null) {
+			end = plusDuration(startDateTime, event.duration());
+		}
+		else {
+			return ConversionResult.success(new Result(event.index(), event.summary(), startText, null, event.recurrence(), null));
+		}
+		return end.flatMap(endDateTime -> convertAndFormat(endDateTime, targetTimeZone))
+				.map(endText -> new Result(event.index(), event.summary(), startText, endText, event.recurrence(), null));
+	}
+
+	/**
+	 * Reports the dates of an all-day event as they are, as a date is the same day in every time-zone.
+	 * The DTEND is exclusive, so the last day of the event is the day before it, and a one-day event has no end.
+	 */
+	private static ConversionResult<Result> convertAllDay(Event event) {
+		Property end = event.end();
+		try {
+			LocalDate startDate = LocalDate.parse(event.start().value(), LOCAL_DATE);
+			LocalDate lastDate = end == null ? startDate : LocalDate.parse(end.value(), LOCAL_DATE).minusDays(1);
+			String endDate = lastDate.isAfter(startDate) ? ALL_DAY.format(lastDate) : null;
+			return ConversionResult.success(new Result(event.index(), event.summary(), ALL_DAY.format(startDate), endDate,
+					event.recurrence(), null));
+		}
+		catch (DateTimeException e) {
+			return handleInvalidDateTime(end == null ? event.start().value() : event.start().value() + "/" + end.value());
+		}
+	}
+
+	/**
+	 * Reads a date-time property in its time-zone.
+	 *
+	 * @param property the DTSTART or DTEND
+	 * @param defaultZone the time-zone of a floating date-time, or null
+	 * @return the date-time, or an {@code INVALID_DATE_TIME}, {@code INVALID_ZONE} or {@code UNKNOWN_ZONE} failure
+	 */
+	private static ConversionResult<ZonedDateTime> toZonedDateTime(Property property, ZoneId defaultZone) {
+		String value = property.value();
+		boolean utc = value.endsWith("Z") || value.endsWith("z");
+		LocalDateTime localDateTime;
+		try {
+			localDateTime = property.date()
+					? LocalDate.parse(value, LOCAL_DATE).atStartOfDay()
+					: LocalDateTime.parse(utc ? value.substring(0, value.length() - 1) : value, LOCAL_DATE_TIME);
+		}
+		catch (DateTimeException e) {
+			return handleInvalidDateTime(value);
+		}
+
+		if (utc) {
+			return ConversionResult.success(localDateTime.atZone(ZoneOffset.UTC));
+		}
+		if (property.tzid() != null) {
+			String regionId = WindowsZones.regionId(property.tzid());
+			return DateTimeConverter.resolveTargetTimeZone(regionId != null ? regionId : property.tzid())
+					.map(zone -> ZonedDateTime.of(localDateTime, zone.zoneId()));
+		}
+		if (defaultZone != null) {
+			return ConversionResult.success(ZonedDateTime.of(localDateTime, defaultZone));
+		}
+		return handleFloatingDateTime(value);
+	}
+
+	/**
+	 * Adds a DURATION to the start, i.e. "PT1H30M", "P1D" or "P2W". Weeks and days are calendar days, as in RFC 5545,
+	 * which are not 24 hours long across a daylight saving change.
+	 */
+	private static ConversionResult<ZonedDateTime> plusDuration(ZonedDateTime start, String duration) {
+		Matcher matcher = DURATION.matcher(duration);
+		if (!matcher.matches()) {
+			return handleInvalidDateTime(duration);
+		}
+		try {
+			long sign = "-".equals(matcher.group(1)) ? -1 : 1;
+			return ConversionResult.success(start
+					.plusWeeks(sign * parseAmount(matcher.group(2)))
+					.plusDays(sign * parseAmount(matcher.group(3)))
+					.plusHours(sign * parseAmount(matcher.group(4)))
+					.plusMinutes(sign * parseAmount(matcher.group(5)))
+					.plusSeconds(sign * parseAmount(matcher.group(6))));
+		}
+		catch (DateTimeException | ArithmeticException | NumberFormatException e) {
+			return handleInvalidDateTime(duration);
+		}
+	}
+
+	private static long parseAmount(String amount) {
+		return amount == null ? 0 : Long.parseLong(amount);
+	}
+
+	private static ConversionResult<String> convertAndFormat(ZonedDateTime zonedDateTime, String targetTimeZone) {
+		return DateTimeConverter.tryConvertToLocalDateTime(zonedDateTime, targetTimeZone)
+				.map(localDateTime -> OutputDateTimeFormatter.formatConvertedDateTime(localDateTime, targetTimeZone));
+	}
+
+	/**
+	 * Handles the case where an event has no start.
+	 *
+	 * @return an {@code INVALID_DATE_TIME} failure with a descriptive error message.
+	 */
+	private static <T> ConversionResult<T> handleMissingStart() {
+		PipelineMetrics.recordError(ErrorType.INVALID_DATE_TIME);
+		return ConversionResult.failure(ErrorType.INVALID_DATE_TIME, "The event has no DTSTART.");
+	}
+
+	/**
+	 * Handles the case where a date-time or duration of an event cannot be parsed.
+	 *
+	 * @param value the value that could not be parsed
+	 * @return an {@code INVALID_DATE_TIME} failure with a descriptive error message.
+	 */
+	private static <T> ConversionResult<T> handleInvalidDateTime(String value) {
+		PipelineMetrics.recordError(ErrorType.INVALID_DATE_TIME);
+		return ConversionResult.failure(ErrorType.INVALID_DATE_TIME, "The format of the event date time is invalid: " + value);
+	}
+
+	/**
+	 * Handles the case where a date-time of an event has no time-zone and no default time-zone is given.
+	 *
+	 * @param value the floating date-time
+	 * @return an {@code INVALID_DATE_TIME} failure with a descriptive error message.
+	 */
+	private static <T> ConversionResult<T> handleFloatingDateTime(String value) {
+		PipelineMetrics.recordError(ErrorType.INVALID_DATE_TIME);
+		return ConversionResult.failure(ErrorType.INVALID_DATE_TIME, "The event date time " + value + " has no time-zone, "
+				+ "give the time-zone of the calendar to convert it.");
+	}
+}
@@ -0,0 +1,182 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.datetime;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * The `ConversionCache` class is a bounded, concurrent least-recently-used cache of conversion results.
+ * <p>
+ * Entries expire after a fixed time-to-live, and the least recently used entry is evicted once the
+ * cache is full. Large caches are split into segments, each guarded by its own lock, so that concurrent
+ * requests rarely contend; small caches use a single segment so that the size bound is exact.
+ * <p>
+ * Hits, misses and evictions (by size or by expiry) are counted and exposed through {@link #stats()}.
+ *
+ * @author chobot
+ * @version 1.0
+ */
+public class ConversionCache {
+
+	/**
+	 * A snapshot of the cache counters.
+	 *
+	 * @param hits the number of lookups that found a live entry
+	 * @param misses the number of lookups that found no live entry
+	 * @param evictions the number of entries removed because the cache was full or the entry expired
+	 * @param size the number of entries currently held
+	 */
+	public record Stats(long hits, long misses, long evictions, int size) {}
+
+	/**
+	 * The cache size from which the entries are split across segments.
+	 */
+	private static final int SEGMENTED_MIN_ENTRIES = 1024;
+
+	private static final int SEGMENTS = 16;
+
+	private final Segment[] segments;
+	private final long timeToLiveNanos;
+	private final LongSupplier nanoClock;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * Creates a cache timed by {@code System.nanoTime}.
+	 *
+	 * @param maxEntries the maximum number of entries held, greater than zero
+	 * @param timeToLive how long an entry stays valid after it is added, not null
+	 */
+	public ConversionCache(int maxEntries, Duration timeToLive) {
+		this(maxEntries, timeToLive, System::nanoTime);
+	}
+
+	/**
+	 * Creates a cache timed by the given clock.
+	 *
+	 * @param maxEntries the maximum number of entries held, greater than zero
+	 * @param timeToLive how long an entry stays valid after it is added, not null
+	 * @param nanoClock the source of the current time in nanoseconds, not null
+	 * @throws IllegalArgumentException
+	 *         If the maximum number of entries is not positive
+	 */
+	public ConversionCache(int maxEntries, Duration timeToLive, LongSupplier nanoClock) {
+		if (maxEntries <= 0) {
+			throw new IllegalArgumentException("The cache must hold at least one entry.");
+		}
+
+		int segmentCount = maxEntries >= SEGMENTED_MIN_ENTRIES ? SEGMENTS : 1;
+		this.segments = new Segment[segmentCount];
+		for (int i = 0; i < segmentCount; i++) {
+			segments[i] = new Segment(maxEntries / segmentCount);
+		}
+		this.timeToLiveNanos = timeToLive.toNanos();
+		this.nanoClock = nanoClock;
+	}
+
+	/**
+	 * Returns the cached value for the key, marking it as the most recently used.
+	 *
+	 * @param key the cache key, not null
+	 * @return the cached value, or null if there is no live entry for the key
+	 */
+	public String get(String key) {
+		Segment segment = segmentFor(key);
+		long now = nanoClock.getAsLong();
+
+		synchronized (segment) {
+			Entry entry = segment.get(key);
+			if (entry != null && now - entry.expiresAtNanos >= 0) {
+				segment.remove(key);
+				evictions.increment();
+				entry = null;
+			}
+
+			if (entry == null) {
+				misses.increment();
+				return null;
+			}
+			hits.increment();
+			return entry.value;
+		}
+	}
+
+	/**
+	 * Adds or replaces the value for the key, evicting the least recently used entry if the cache is full.
+	 *
+	 * @param key the cache key, not null
+	 * @param value the value to cache, not null
+	 */
+	public void put(String key, String value) {
+		Segment segment = segmentFor(key);
+		Entry entry = new Entry(value, nanoClock.getAsLong() + timeToLiveNanos);
+
+		synchronized (segment) {
+			segment.put(key, entry);
+		}
+	}
+
+	/**
+	 * Removes every entry, leaving the counters as they are.
+	 */
+	public void clear() {
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				segment.clear();
+			}
+		}
+	}
+
+	/**
+	 * Returns a snapshot of the cache counters.
+	 *
+	 * @return the cache counters, not null
+	 */
+	public Stats stats() {
+		int size = 0;
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				size += segment.size();
+			}
+		}
+		return new Stats(hits.sum(), misses.sum(), evictions.sum(), size);
+	}
+
+	private Segment segmentFor(String key) {
+		int hash = key.hashCode();
+		return segments[((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % segments.length];
+	}
+
+	/**
+	 * A cached value along with the time it expires at.
+	 */
+	private record Entry(String value, long expiresAtNanos) {}
+
+	/**
+	 * An access-ordered map that evicts its eldest entry once it holds more than its capacity.
+	 */
+	private final class Segment extends LinkedHashMap<String, Entry> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int capacity;
+
+		private Segment(int capacity) {
+			super(16, 0.75f, true);
+			this.capacity = Math.max(capacity, 1);
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+			if (size() > capacity) {
+				evictions.increment();
+				return true;
+			}
+			return false;
+		}
+	}
+}
@@ -0,0 +1,106 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.datetime;
+
+import java.util.function.Function;
+
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.PipelineMetrics.ErrorType;
+
+/**
+ * The `ConversionResult` interface is the outcome of a stage of the datetime pipeline: either a {@code Success}
+ * holding the value the stage produced, or a {@code Failure} holding the error type and the message to show the user.
+ * <p>
+ * Invalid user input is a normal outcome of the pipeline rather than an exceptional one, so the {@code try*} methods
+ * of the pipeline report it as a {@code Failure} instead of constructing and throwing an exception.
+ * Exceptions are left for actual bugs. The throwing methods of the pipeline remain, built on the {@code try*} methods.
+ *
+ * Usage Example:
+ * {@code
+ * ConversionResult<ZonedDateTime> result = ZonedDateTimeStringParser.tryParse("2010-02-04T14:39:28 PST");
+ * if (result instanceof ConversionResult.Failure<ZonedDateTime> failure) {
+ *     System.out.println(failure.error() + ": " + failure.message());
+ * }
+ * }
+ *
+ * @param <T> the type of the value produced by the stage
+ * @author chobot
+ * @version 1.0
+ */
+public sealed interface ConversionResult<T> permits ConversionResult.Success, ConversionResult.Failure {
+
+	/**
+	 * The value produced by a stage.
+	 *
+	 * @param value the value, not null
+	 */
+	record Success<T>(T value) implements ConversionResult<T> {}
+
+	/**
+	 * The reason a stage could not produce a value.
+	 *
+	 * @param error the type of the error, not null
+	 * @param message the message to show the user, not null
+	 */
+	record Failure<T>(ErrorType error, String message) implements ConversionResult<T> {
+
+		/**
+		 * Returns this failure as the failure of a stage producing another type of value.
+		 */
+		@SuppressWarnings("unchecked")
+		public <U> Failure<U> cast() {
+			return (Failure<U>) this;
+		}
+	}
+
+	static <T> ConversionResult<T> success(T value) {
+		return new Success<>(value);
+	}
+
+	static <T> ConversionResult<T> failure(ErrorType error, String message) {
+		return new Failure<>(error, message);
+	}
+
+	/**
+	 * @return true if the stage produced a value
+	 */
+	default boolean isSuccess() {
+		return this instanceof Success;
+	}
+
+	/**
+	 * Transforms the value of a success, keeping a failure as it is.
+	 *
+	 * @param mapper the transformation of the value, not null
+	 * @return the transformed result, not null
+	 */
+	default <U> ConversionResult<U> map(Function<? super T, ? extends U> mapper) {
+		if (this instanceof Success<T> success) {
+			return new Success<>(mapper.apply(success.value()));
+		}
+		return ((Failure<T>) this).cast();
+	}
+
+	/**
+	 * Runs the next stage on the value of a success, keeping a failure as it is.
+	 *
+	 * @param next the next stage, not null
+	 * @return the result of the next stage, or this failure, not null
+	 */
+	default <U> ConversionResult<U> flatMap(Function<? super T, ConversionResult<U>> next) {
+		if (this instanceof Success<T> success) {
+			return next.apply(success.value());
+		}
+		return ((Failure<T>) this).cast();
+	}
+
+	/**
+	 * Returns the value of a success, or throws the exception made from a failure.
+	 *
+	 * @param exceptionFactory makes the exception thrown for a failure, not null
+	 * @return the value, not null
+	 */
+	default T orElseThrow(Function<Failure<T>, ? extends RuntimeException> exceptionFactory) {
+		if (this instanceof Success<T> success) {
+			return success.value();
+		}
+		throw exceptionFactory.apply((Failure<T>) this);
+	}
+}
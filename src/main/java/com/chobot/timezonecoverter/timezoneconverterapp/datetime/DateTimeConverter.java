@@ -1,16 +1,29 @@
 package com.chobot.timezonecoverter.timezoneconverterapp.datetime;
 
 import java.time.DateTimeException;
+import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
-import java.time.zone.ZoneRulesException;
+
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ConversionResult.Failure;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ConversionResult.Success;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.PipelineMetrics.ErrorType;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.PipelineMetrics.Stage;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ZoneIdResolver.ResolvedZone;
 
 /**
  * A utility class for converting {@code ZonedDateTime} instances to the same instant with a target time-zone.
  * The target time-zone can be specified either by ZoneID or using ZoneId.SHORT_IDS.
  * <p>
- * The class provides a {@code convert} method to perform the conversion, handling various exceptions
- * such as invalid time-zone format, region ID not found, and invalid date ranges during the conversion.
+ * The class provides a {@code tryConvert} method to perform the conversion, reporting failures
+ * such as invalid time-zone format, region ID not found, and invalid date ranges as a {@code ConversionResult},
+ * and a {@code convert} method that throws them instead.
+ * </p>
+ * <p>
+ * When only the local date-time in the target time-zone is needed, as for the Slack output, {@code tryConvertToLocalDateTime}
+ * looks up the target offset in the {@code ZoneTransitionIndex} of the time-zone instead of its {@code ZoneRules},
+ * and builds no {@code ZonedDateTime}.
  * </p>
  *
  * @author chobot
@@ -27,13 +40,79 @@ public class DateTimeConverter {
 	 * 		  the target time-zone, not null
      * @return a {@code ZonedDateTime} based on this date-time with the requested zone, not null
      * @throws DateTimeException 
-     *         If the zone id is not found
+     *         If the result exceeds the supported date range
      * @throws IllegalArgumentException 
      *         If the zone ID has an invalid format, or zone ID region ID not found
 	 */
 	public static ZonedDateTime convert(ZonedDateTime zonedDateTime, String targetTimeZoneString) {
-		ZoneId targetTimeZone = getZoneId(targetTimeZoneString);
-		return convertToTargetTimeZone(zonedDateTime, targetTimeZone);
+		return tryConvert(zonedDateTime, targetTimeZoneString).orElseThrow(failure -> failure.error() == ErrorType.DATE_RANGE 
+				? new DateTimeException(failure.message()) 
+				: new IllegalArgumentException(failure.message()));
+	}
+	
+	/**
+	 * Converts the {@code ZonedDateTime} to the same instant with the target time-zone (ZoneID or by ZoneId.SHORT_IDS)
+	 * 
+	 * @param zonedDateTime 
+	 * 		  the zoned date-time object to convert, not null
+	 * @param targetTimeZoneString
+	 * 		  the target time-zone, not null
+	 * @return a {@code ZonedDateTime} based on this date-time with the requested zone, or an {@code INVALID_ZONE},
+	 *         {@code UNKNOWN_ZONE} or {@code DATE_RANGE} failure, not null
+	 */
+	public static ConversionResult<ZonedDateTime> tryConvert(ZonedDateTime zonedDateTime, String targetTimeZoneString) {
+		ConversionResult<ResolvedZone> targetTimeZone = resolveTargetTimeZone(targetTimeZoneString);
+		if (targetTimeZone instanceof Failure<ResolvedZone> failure) {
+			return failure.cast();
+		}
+		ZoneId targetZoneId = ((Success<ResolvedZone>) targetTimeZone).value().zoneId();
+		
+		long convertStart = PipelineMetrics.startStage();
+		ConversionResult<ZonedDateTime> targetZonedDateTime = convertToTargetTimeZone(zonedDateTime, targetZoneId);
+		PipelineMetrics.recordStage(Stage.CONVERT, convertStart);
+		return targetZonedDateTime;
+	}
+	
+	/**
+	 * Converts the {@code ZonedDateTime} to the local date-time of the same instant in the target time-zone
+	 * (ZoneID or by ZoneId.SHORT_IDS), which is the local date-time of {@link #tryConvert(ZonedDateTime, String)}.
+	 * 
+	 * @param zonedDateTime 
+	 * 		  the zoned date-time object to convert, not null
+	 * @param targetTimeZoneString
+	 * 		  the target time-zone, not null
+	 * @return the local date-time in the target time-zone, or an {@code INVALID_ZONE},
+	 *         {@code UNKNOWN_ZONE} or {@code DATE_RANGE} failure, not null
+	 */
+	public static ConversionResult<LocalDateTime> tryConvertToLocalDateTime(ZonedDateTime zonedDateTime, String targetTimeZoneString) {
+		ConversionResult<ResolvedZone> targetTimeZone = resolveTargetTimeZone(targetTimeZoneString);
+		if (targetTimeZone instanceof Failure<ResolvedZone> failure) {
+			return failure.cast();
+		}
+		ZoneTransitionIndex transitions = ((Success<ResolvedZone>) targetTimeZone).value().transitions();
+		
+		long convertStart = PipelineMetrics.startStage();
+		ConversionResult<LocalDateTime> targetLocalDateTime = convertToTargetLocalDateTime(zonedDateTime, transitions);
+		PipelineMetrics.recordStage(Stage.CONVERT, convertStart);
+		return targetLocalDateTime;
+	}
+	
+	/**
+	 * Resolves the target time-zone string, or any other time-zone string of the pipeline, i.e. the time-zone of a calendar event.
+	 * 
+	 * @param targetTimeZoneString
+	 * 		  the target time-zone, not null
+	 * @return the resolved time-zone, or an {@code INVALID_ZONE} or {@code UNKNOWN_ZONE} failure, not null
+	 */
+	static ConversionResult<ResolvedZone> resolveTargetTimeZone(String targetTimeZoneString) {
+		long zoneResolveStart = PipelineMetrics.startStage();
+		ConversionResult<ResolvedZone> targetTimeZone = ZoneIdResolver.tryResolve(targetTimeZoneString);
+		PipelineMetrics.recordStage(Stage.ZONE_RESOLVE, zoneResolveStart);
+		
+		if (targetTimeZone instanceof Failure<ResolvedZone> failure) {
+			return handleZoneIdFailure(targetTimeZoneString, failure);
+		}
+		return targetTimeZone;
 	}
 	
 	/**
@@ -42,90 +121,84 @@ public class DateTimeConverter {
 	 *        the zoned date-time object to convert, not null
 	 * @param targetTimeZone
 	 * 		  the target time-zone, not null
-	 * @return a {@code ZonedDateTime} based on this date-time with the requested zone, not null
-	 * @throws DateTimeException
-	 * 		   If the result exceeds the supported date range
+	 * @return a {@code ZonedDateTime} based on this date-time with the requested zone,
+	 *         or a {@code DATE_RANGE} failure if the result exceeds the supported date range, not null
 	 */
-	private static ZonedDateTime convertToTargetTimeZone(ZonedDateTime zonedDateTime, ZoneId targetTimeZone) {
+	private static ConversionResult<ZonedDateTime> convertToTargetTimeZone(ZonedDateTime zonedDateTime, ZoneId targetTimeZone) {
 		try {
-			return zonedDateTime.withZoneSameInstant(targetTimeZone);
+			return ConversionResult.success(zonedDateTime.withZoneSameInstant(targetTimeZone));
 		}
 		catch (DateTimeException e) {
-			throw handleInvalidDateRange(e);
+			return handleInvalidDateRange();
 		}
 	}
 	
 	/**
-	 * Converts a time zone string as a {@code ZoneId}
-	 * @param timeZoneString
-	 * 		  time zone string, not null (usually in short form i.e. "EST", "PST")
-	 * @return a {@code ZoneId}, not null
-	 * @throws IllegalArgumentException
-	 * 		   If the zone ID has an invalid format, or zone ID region ID not found
+	 * Converts the date-time to the local date-time of the same instant, at the offset of the target time-zone
+	 * looked up in its transition index.
+	 * @param zonedDateTime 
+	 *        the zoned date-time object to convert, not null
+	 * @param transitions
+	 * 		  the transition index of the target time-zone, not null
+	 * @return the local date-time in the target time-zone,
+	 *         or a {@code DATE_RANGE} failure if the result exceeds the supported date range, not null
 	 */
-
-	private static ZoneId getZoneId(String timeZoneString) {
+	private static ConversionResult<LocalDateTime> convertToTargetLocalDateTime(ZonedDateTime zonedDateTime, ZoneTransitionIndex transitions) {
+		long epochSecond = zonedDateTime.toEpochSecond();
 		try {
-			String timeZoneRegion = ZoneId.SHORT_IDS.get(timeZoneString);
-			if (timeZoneRegion == null) {
-				return ZoneId.of(timeZoneString);
-			}
-			return ZoneId.of(timeZoneRegion);
+			long localEpochSecond = Math.addExact(epochSecond, transitions.offsetSecondsAt(epochSecond));
+			return ConversionResult.success(LocalDateTime.ofEpochSecond(localEpochSecond, zonedDateTime.getNano(), ZoneOffset.UTC));
 		}
-		catch (DateTimeException e) {
-			throw handleZoneIdException(timeZoneString, e);
+		catch (DateTimeException | ArithmeticException e) {
+			return handleInvalidDateRange();
 		}
 	}
 	
 	/**
-	 * Handles exceptions related to ZoneId conversion, providing specific handling for ZoneRulesException
-	 * and other DateTimeException cases.
+	 * Handles failures related to ZoneId conversion, telling a region ID that is not found
+	 * from a zone ID with an invalid format.
 	 *
-	 * @param timeZoneString The time zone string causing the exception
-	 * @param e The DateTimeException indicating the issue
-	 * @throws IllegalArgumentException 
-	 * 		   If the exception is related to an invalid zone ID or region ID
+	 * @param timeZoneString The time zone string that could not be resolved
+	 * @param failure The failure of the {@code ZoneIdResolver}
+	 * @return a failure with a descriptive error message
 	 */
-	private static IllegalArgumentException handleZoneIdException(String timeZoneString, DateTimeException e) {
-	    if (e instanceof ZoneRulesException) {
-	        throw handleRegionIdNotFound(timeZoneString, (ZoneRulesException) e);
+	private static <T> ConversionResult<T> handleZoneIdFailure(String timeZoneString, Failure<ResolvedZone> failure) {
+	    if (failure.error() == ErrorType.UNKNOWN_ZONE) {
+	        return handleRegionIdNotFound(timeZoneString);
 	    } else {
-	        throw handleInvalidZoneId(timeZoneString, e);
+	        return handleInvalidZoneId(timeZoneString);
 	    }
 	}
 	
 	/**
-	 * Handles exceptions when the ZoneId has an invalid format.
+	 * Handles the case when the ZoneId has an invalid format.
 	 *
-	 * @param timeZoneString The time zone string causing the exception
-	 * @param e The DateTimeException indicating the issue
-	 * @throws IllegalArgumentException 
-	 *         with a descriptive error message
+	 * @param timeZoneString The time zone string that could not be resolved
+	 * @return an {@code INVALID_ZONE} failure with a descriptive error message
 	 */
-	private static IllegalArgumentException handleInvalidZoneId(String timeZoneString, DateTimeException e) throws IllegalArgumentException {
-		throw new IllegalArgumentException("Zone ID: " + timeZoneString + " has an invalid format.", e);
+	private static <T> ConversionResult<T> handleInvalidZoneId(String timeZoneString) {
+		PipelineMetrics.recordError(ErrorType.INVALID_ZONE);
+		return ConversionResult.failure(ErrorType.INVALID_ZONE, "Zone ID: " + timeZoneString + " has an invalid format.");
 	}
 	
 	/**
-	 * Handles exceptions when the ZoneId region ID could not be found.
+	 * Handles the case when the ZoneId region ID could not be found.
 	 *
-	 * @param timeZoneString The time zone string causing the exception
-	 * @param e The DateTimeException indicating the issue
-	 * @throws IllegalArgumentException 
-	 *         with a descriptive error message
+	 * @param timeZoneString The time zone string that could not be resolved
+	 * @return an {@code UNKNOWN_ZONE} failure with a descriptive error message
 	 */
-	private static IllegalArgumentException handleRegionIdNotFound(String timeZoneString, ZoneRulesException e) throws IllegalArgumentException {
-		throw new IllegalArgumentException("Zone ID region ID for: " + timeZoneString + " could not be found.", e);
+	private static <T> ConversionResult<T> handleRegionIdNotFound(String timeZoneString) {
+		PipelineMetrics.recordError(ErrorType.UNKNOWN_ZONE);
+		return ConversionResult.failure(ErrorType.UNKNOWN_ZONE, "Zone ID region ID for: " + timeZoneString + " could not be found.");
 	}
 	
 	/**
-	 * Handles exceptions related to invalid date range during date-time conversion.
+	 * Handles the case when the converted date-time exceeds the supported date range.
 	 *
-	 * @param e The DateTimeException indicating the issue
-	 * @throws DateTimeException 
-	 *         with a descriptive error message
+	 * @return a {@code DATE_RANGE} failure with a descriptive error message
 	 */
-	private static DateTimeException handleInvalidDateRange(DateTimeException e) throws DateTimeException {
-		throw new DateTimeException("Failed to return a copy of this date-time with a different time-zone.", e);
+	private static <T> ConversionResult<T> handleInvalidDateRange() {
+		PipelineMetrics.recordError(ErrorType.DATE_RANGE);
+		return ConversionResult.failure(ErrorType.DATE_RANGE, "Failed to return a copy of this date-time with a different time-zone.");
 	}
 }
@@ -1,9 +1,20 @@
 package com.chobot.timezonecoverter.timezoneconverterapp.datetime;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.commons.lang3.tuple.Pair;
 
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ConversionResult.Failure;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ConversionResult.Success;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.PipelineMetrics.ErrorType;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.PipelineMetrics.Stage;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ZonedDateTimeStringParser.ParsedDateTime;
+
 /**
  * The `DateTimeProcessor` class provides functionality to parse user input zoned date-time strings,
  * convert the zoned date-time to the target time-zone, and format the result.
@@ -14,6 +25,24 @@ import org.apache.commons.lang3.tuple.Pair;
  * The class utilizes the {@code UserInputParser} to parse the user input into a zoned date-time
  * and target time-zone pair. It then uses the {@code DateTimeConverter} to convert the zoned date-time
  * to the target time-zone. Finally, the result is formatted using the {@code OutputDateTimeFormatter}.
+ * <p>
+ * When several target time-zones are given, i.e. "2010-02-04T14:39:28 PST to EST, CET, IST",
+ * the date-time is parsed once and converted to each of them, and the result lists one converted date-time per line.
+ * <p>
+ * Converted date-times are cached by the normalized input (the trimmed date-time and the upper-case target time-zone),
+ * so repeated conversions skip parsing, converting and formatting. Only successful conversions are cached.
+ * <p>
+ * Date-times relative to the time of the request, i.e. "tomorrow 3pm PST to EST", are parsed by the {@code RelativeDateTimeParser}
+ * before the absolute formats are attempted. Their conversions are never cached, as they change with the time of the request.
+ * <p>
+ * A default time-zone, i.e. the one of the user's profile, can be given for date-times without a time-zone,
+ * such as "Nov 30, 2023 2:45 PM to EST".
+ * <p>
+ * A date-time without an offset or a standard or daylight abbreviation that falls in a daylight saving gap or overlap
+ * of its time-zone, i.e. "2023-11-05 01:30:00 America/Los_Angeles to EST", is converted at both of the offsets it could be read with,
+ * each conversion reading "Nov 05, 2023 4:30 AM EST or Nov 05, 2023 5:30 AM EST", followed by a note on the ambiguity.
+ * Such conversions are never cached. In strict mode, enabled by the {@code DATETIME_DST_STRICT} environment variable,
+ * the date-time is rejected with an {@code AMBIGUOUS_DATE_TIME} failure instead.
  *
  * Usage Example:
  * {@code
@@ -23,13 +52,37 @@ import org.apache.commons.lang3.tuple.Pair;
  * }
  *
  * Error Handling:
- * In case of parsing or conversion errors, the method returns an error message.
+ * In case of parsing or conversion errors, the {@code process} method returns the {@code ConversionResult.Failure}
+ * of the stage that rejected the input, and the {@code processDateTimeInput} method returns its error message.
+ * No exception is thrown for invalid input.
  *
  * @author chobot
  * @version 1.0
  */
 public class DateTimeProcessor {
 	
+	/**
+	 * The maximum number of converted date-times held by the cache.
+	 */
+	private static final int CACHE_MAX_ENTRIES = 10_000;
+	
+	/**
+	 * How long a converted date-time stays in the cache.
+	 */
+	private static final Duration CACHE_TIME_TO_LIVE = Duration.ofHours(1);
+	
+	private static final ConversionCache CACHE = new ConversionCache(CACHE_MAX_ENTRIES, CACHE_TIME_TO_LIVE);
+	
+	/**
+	 * Whether a date-time in a daylight saving gap or overlap is rejected rather than converted at both offsets.
+	 */
+	private static volatile boolean dstStrict = Boolean.parseBoolean(System.getenv("DATETIME_DST_STRICT"));
+	
+	/**
+	 * The converted date-times of an input, and the note to follow them with, or null for none.
+	 */
+	private record Conversion(List<String> convertedDateTimes, String note) {}
+	
     /**
      * Processes the user input for zoned date-time conversion.
      *
@@ -38,13 +91,253 @@ public class DateTimeProcessor {
      *         In case of errors, an error message is returned.
      */
 	public static String processDateTimeInput(String input) {
-		try {
-			Pair<ZonedDateTime, String> parsedInput = UserInputParser.parse(input);
-			ZonedDateTime targetZonedDateTime = DateTimeConverter.convert(parsedInput.getLeft(), parsedInput.getRight());
-			return OutputDateTimeFormatter.formatZonedDateTimeToOutputString(targetZonedDateTime, input, parsedInput.getRight());
+		return processDateTimeInput(input, Clock.systemUTC());
+	}
+	
+    /**
+     * Processes the user input for zoned date-time conversion, resolving relative date-times against the given clock.
+     *
+     * @param input The input string containing the zoned date-time and target time-zone.
+     * @param clock The clock giving the time of the request.
+     * @return The formatted result after parsing, converting, and formatting.
+     *         In case of errors, an error message is returned.
+     */
+	public static String processDateTimeInput(String input, Clock clock) {
+		return processDateTimeInput(input, clock, null);
+	}
+	
+    /**
+     * Processes the user input for zoned date-time conversion, taking a date-time without a time-zone
+     * to be in the default time-zone, i.e. "Nov 30, 2023 2:45 PM to EST" for a user whose profile has one.
+     *
+     * @param input The input string containing the zoned date-time and target time-zone.
+     * @param clock The clock giving the time of the request.
+     * @param defaultZone The time-zone of a date-time without one, or null to require a time-zone.
+     * @return The formatted result after parsing, converting, and formatting.
+     *         In case of errors, an error message is returned.
+     */
+	public static String processDateTimeInput(String input, Clock clock, ZoneId defaultZone) {
+		ConversionResult<String> result = process(input, clock, defaultZone);
+		if (result instanceof Failure<String> failure) {
+			return failure.message();
+		}
+		return ((Success<String>) result).value();
+	}
+	
+    /**
+     * Processes the user input for zoned date-time conversion.
+     *
+     * @param input The input string containing the zoned date-time and target time-zone.
+     * @return The formatted result, or the failure of the first stage that rejected the input, not null.
+     */
+	public static ConversionResult<String> process(String input) {
+		return process(input, Clock.systemUTC());
+	}
+	
+    /**
+     * Processes the user input for zoned date-time conversion, resolving relative date-times against the given clock.
+     * <p>
+     * Invalid input is reported as a failure by the stage that rejects it, without any exception being thrown,
+     * so rejecting an input costs no more than converting one.
+     *
+     * @param input The input string containing the zoned date-time and target time-zone.
+     * @param clock The clock giving the time of the request.
+     * @return The formatted result, or the failure of the first stage that rejected the input, not null.
+     */
+	public static ConversionResult<String> process(String input, Clock clock) {
+		return process(input, clock, null);
+	}
+	
+    /**
+     * Processes the user input for zoned date-time conversion, resolving relative date-times against the given clock
+     * and taking a date-time without a time-zone to be in the default time-zone.
+     *
+     * @param input The input string containing the zoned date-time and target time-zone.
+     * @param clock The clock giving the time of the request.
+     * @param defaultZone The time-zone of a date-time without one, or null to require a time-zone.
+     * @return The formatted result, or the failure of the first stage that rejected the input, not null.
+     */
+	public static ConversionResult<String> process(String input, Clock clock, ZoneId defaultZone) {
+		long splitStart = PipelineMetrics.startStage();
+		ConversionResult<Pair<String, String>> splitInput = UserInputParser.trySplit(input);
+		if (splitInput instanceof Failure<Pair<String, String>> failure) {
+			return failure.cast();
+		}
+		String dateTimeString = ((Success<Pair<String, String>>) splitInput).value().getLeft();
+		String targetTimeZoneString = ((Success<Pair<String, String>>) splitInput).value().getRight();
+		
+		ConversionResult<List<String>> targetTimeZones = UserInputParser.trySplitTargetTimeZones(targetTimeZoneString);
+		PipelineMetrics.recordStage(Stage.SPLIT, splitStart);
+		
+		return targetTimeZones.flatMap(zones -> {
+			long relativeParseStart = PipelineMetrics.startStage();
+			ZonedDateTime relativeDateTime = RelativeDateTimeParser.parse(dateTimeString, clock, defaultZone);
+			if (relativeDateTime != null) {
+				PipelineMetrics.recordStage(Stage.PARSE, relativeParseStart);
+				return convertDateTime(relativeDateTime, zones);
+			}
+			return convertDateTime(dateTimeString, defaultZone, zones);
+		}).map(conversion -> OutputDateTimeFormatter.formatOutputString(input, conversion.convertedDateTimes(), conversion.note()));
+	}
+	
+	/**
+	 * Rejects a date-time in a daylight saving gap or overlap, or converts it at both of its offsets.
+	 *
+	 * @param strict true to reject an ambiguous date-time
+	 */
+	public static void setDstStrict(boolean strict) {
+		dstStrict = strict;
+	}
+	
+	/**
+	 * Returns a snapshot of the conversion cache counters.
+	 *
+	 * @return the hits, misses, evictions and size of the conversion cache, not null
+	 */
+	public static ConversionCache.Stats cacheStats() {
+		return CACHE.stats();
+	}
+	
+	/**
+	 * Converts the date-time to each target time-zone, looking each conversion up in the cache first.
+	 * The date-time is parsed at most once, and only if a conversion is not cached.
+	 *
+	 * @param dateTimeString the trimmed date-time w/ or w/o time-zone string
+	 * @param defaultZone the time-zone of a date-time without one, or null
+	 * @param targetTimeZones the upper-case target time-zones
+	 * @return the formatted converted date-times in the order of the target time-zones, i.e. "Feb 04, 2010 5:39 PM EST",
+	 *         or the first failure to parse or convert the date-time
+	 */
+	private static ConversionResult<Conversion> convertDateTime(String dateTimeString, ZoneId defaultZone, List<String> targetTimeZones) {
+		List<String> convertedDateTimes = new ArrayList<>(targetTimeZones.size());
+		ZonedDateTime zonedDateTime = null;
+		
+		for (String targetTimeZone : targetTimeZones) {
+			String cacheKey = createCacheKey(dateTimeString, defaultZone, targetTimeZone);
+			String convertedDateTime = CACHE.get(cacheKey);
+			
+			if (convertedDateTime == null) {
+				if (zonedDateTime == null) {
+					long parseStart = PipelineMetrics.startStage();
+					ConversionResult<ParsedDateTime> parsed = UserInputParser.tryParseDateTimeStringWithAmbiguity(dateTimeString, defaultZone);
+					PipelineMetrics.recordStage(Stage.PARSE, parseStart);
+					if (parsed instanceof Failure<ParsedDateTime> failure) {
+						return failure.cast();
+					}
+					// the ambiguity only depends on the date-time and the default time-zone, so none of its conversions were cached
+					DstAmbiguity ambiguity = ((Success<ParsedDateTime>) parsed).value().ambiguity();
+					if (ambiguity != null) {
+						return dstStrict ? handleAmbiguousDateTime(ambiguity) : convertAmbiguousDateTime(ambiguity, targetTimeZones);
+					}
+					zonedDateTime = ((Success<ParsedDateTime>) parsed).value().zonedDateTime();
+				}
+				ConversionResult<String> converted = convertAndFormat(zonedDateTime, targetTimeZone);
+				if (converted instanceof Failure<String> failure) {
+					return failure.cast();
+				}
+				convertedDateTime = ((Success<String>) converted).value();
+				CACHE.put(cacheKey, convertedDateTime);
+			}
+			convertedDateTimes.add(convertedDateTime);
+		}
+		return ConversionResult.success(new Conversion(convertedDateTimes, null));
+	}
+	
+	/**
+	 * Converts a date-time that was given relative to the time of the request to each target time-zone, without caching.
+	 *
+	 * @param zonedDateTime the parsed date-time
+	 * @param targetTimeZones the upper-case target time-zones
+	 * @return the formatted converted date-times in the order of the target time-zones, or the first failure to convert the date-time
+	 */
+	private static ConversionResult<Conversion> convertDateTime(ZonedDateTime zonedDateTime, List<String> targetTimeZones) {
+		List<String> convertedDateTimes = new ArrayList<>(targetTimeZones.size());
+		for (String targetTimeZone : targetTimeZones) {
+			ConversionResult<String> converted = convertAndFormat(zonedDateTime, targetTimeZone);
+			if (converted instanceof Failure<String> failure) {
+				return failure.cast();
+			}
+			convertedDateTimes.add(((Success<String>) converted).value());
+		}
+		return ConversionResult.success(new Conversion(convertedDateTimes, null));
+	}
+	
+	/**
+	 * Converts a date-time in a daylight saving gap or overlap to each target time-zone at both of its candidate instants,
+	 * without caching, and notes the ambiguity.
+	 *
+	 * @param ambiguity the gap or overlap of the date-time
+	 * @param targetTimeZones the upper-case target time-zones
+	 * @return both formatted converted date-times for each target time-zone, i.e. "Nov 05, 2023 4:30 AM EST or Nov 05, 2023 5:30 AM EST",
+	 *         or the first failure to convert the date-time
+	 */
+	private static ConversionResult<Conversion> convertAmbiguousDateTime(DstAmbiguity ambiguity, List<String> targetTimeZones) {
+		List<ZonedDateTime> candidates = ambiguity.candidates();
+		List<String> convertedDateTimes = new ArrayList<>(targetTimeZones.size());
+		for (String targetTimeZone : targetTimeZones) {
+			ConversionResult<String> earlier = convertAndFormat(candidates.get(0), targetTimeZone);
+			if (earlier instanceof Failure<String> failure) {
+				return failure.cast();
+			}
+			ConversionResult<String> later = convertAndFormat(candidates.get(1), targetTimeZone);
+			if (later instanceof Failure<String> failure) {
+				return failure.cast();
+			}
+			convertedDateTimes.add(((Success<String>) earlier).value() + " or " + ((Success<String>) later).value());
 		}
-		catch (Exception e) {
-			return e.getMessage();
+		return ConversionResult.success(new Conversion(convertedDateTimes, ambiguity.describe() + " " + suggestOffsets(ambiguity)));
+	}
+	
+	/**
+	 * Converts the date-time to the target time-zone and formats it.
+	 *
+	 * @param zonedDateTime the parsed date-time
+	 * @param targetTimeZone the upper-case target time-zone
+	 * @return the formatted converted date-time, or the failure to convert it
+	 */
+	private static ConversionResult<String> convertAndFormat(ZonedDateTime zonedDateTime, String targetTimeZone) {
+		return DateTimeConverter.tryConvertToLocalDateTime(zonedDateTime, targetTimeZone).map(targetLocalDateTime -> {
+			long formatStart = PipelineMetrics.startStage();
+			String convertedDateTime = OutputDateTimeFormatter.formatConvertedDateTime(targetLocalDateTime, targetTimeZone);
+			PipelineMetrics.recordStage(Stage.FORMAT, formatStart);
+			return convertedDateTime;
+		});
+	}
+	
+	/**
+	 * Handles the case where the date-time falls in a daylight saving gap or overlap in strict mode.
+	 *
+	 * @param ambiguity the gap or overlap of the date-time
+	 * @return an {@code AMBIGUOUS_DATE_TIME} failure with a descriptive error message.
+	 */
+	private static <T> ConversionResult<T> handleAmbiguousDateTime(DstAmbiguity ambiguity) {
+		PipelineMetrics.recordError(ErrorType.AMBIGUOUS_DATE_TIME);
+		return ConversionResult.failure(ErrorType.AMBIGUOUS_DATE_TIME, ambiguity.describe() + " " + suggestOffsets(ambiguity));
+	}
+	
+	/**
+	 * Suggests the spellings of the date-time with an offset, i.e. "Give the offset to pick one: 2023-11-05T01:30-07:00 or 2023-11-05T01:30-08:00."
+	 *
+	 * @param ambiguity the gap or overlap of the date-time
+	 * @return the suggestion
+	 */
+	private static String suggestOffsets(DstAmbiguity ambiguity) {
+		return "Give the offset to pick one: " + String.join(" or ", ambiguity.unambiguousSpellings()) + ".";
+	}
+	
+	/**
+	 * Creates the cache key from the normalized parts of the input.
+	 * The default time-zone is part of the key, as the same date-time without a time-zone is another instant for another user.
+	 *
+	 * @param dateTimeString the trimmed date-time w/ or w/o time-zone string
+	 * @param defaultZone the time-zone of a date-time without one, or null
+	 * @param targetTimeZone the upper-case target time-zone
+	 * @return the cache key
+	 */
+	private static String createCacheKey(String dateTimeString, ZoneId defaultZone, String targetTimeZone) {
+		if (defaultZone == null) {
+			return dateTimeString + " to " + targetTimeZone;
 		}
+		return dateTimeString + "@" + defaultZone.getId() + " to " + targetTimeZone;
 	}
 }
@@ -0,0 +1,314 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.datetime;
+
+import java.time.Clock;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ConversionResult.Success;
+
+/**
+ * The `DateTimeScanner` class finds the date-times with a time-zone embedded in free text, i.e. a Slack message
+ * such as "Let's meet Nov 28, 2023 3:30 PM EST, or tomorrow at 9am CET if that's too late".
+ * <p>
+ * The text is scanned in a single pass by an Aho-Corasick automaton over the time-zone abbreviations
+ * of the {@code ZoneIdResolver} (i.e. "PST", "CEST") and the region IDs spelled as one (i.e. "CET", "UTC"),
+ * matched as whole upper-case words.
+ * Every other character leads the automaton back to its initial state, so a text without any time-zone costs
+ * one table lookup per character and allocates nothing.
+ * <p>
+ * For each time-zone found, the words right before it are walked back, up to {@value #MAX_WORDS} words
+ * of date-time characters on the same line and {@value #MAX_DATE_TIME_LENGTH} characters. The word next to the time-zone
+ * must look like a time (a digit, "am", "pm", "noon", "midnight" or "now"), otherwise nothing is parsed.
+ * The longest run of those words that parses as an absolute date-time ({@code ZonedDateTimeStringParser})
+ * or a relative one ({@code RelativeDateTimeParser}) is the match. The work per time-zone is bounded,
+ * so a message is scanned in linear time however long it is.
+ * <p>
+ * Region IDs, i.e. "Europe/Paris", and offsets, i.e. "+05:00", are not looked for.
+ *
+ * Usage Example:
+ * {@code
+ * List<DateTimeScanner.Match> matches = DateTimeScanner.scan("Standup moved to 9:30 AM PST tomorrow", Clock.systemUTC());
+ * }
+ *
+ * @author chobot
+ * @version 1.0
+ */
+public class DateTimeScanner {
+
+	/**
+	 * A date-time found in the text.
+	 *
+	 * @param start the index of the first character of the date-time in the text
+	 * @param end the index after the last character of its time-zone in the text
+	 * @param text the date-time as written, i.e. "3pm PST", not null
+	 * @param zonedDateTime the parsed date-time, not null
+	 */
+	public record Match(int start, int end, String text, ZonedDateTime zonedDateTime) {}
+
+	/**
+	 * The maximum number of date-times found in a text. The rest of the text is not scanned.
+	 */
+	public static final int MAX_MATCHES = 20;
+
+	/**
+	 * The maximum number of words of a date-time before its time-zone, i.e. 6 for "Tue, Nov 28, 2023 3:30 PM".
+	 */
+	private static final int MAX_WORDS = 6;
+
+	/**
+	 * The maximum length of a date-time before its time-zone, spaces included.
+	 */
+	private static final int MAX_DATE_TIME_LENGTH = 40;
+
+	/**
+	 * The words that look like a time right before a time-zone, besides the words with a digit.
+	 */
+	private static final String[] TIME_WORDS = { "am", "pm", "noon", "midnight", "now" };
+
+	private static final ZoneAutomaton ZONES = ZoneAutomaton.of(ZoneIdResolver.abbreviations(), ZoneId.getAvailableZoneIds());
+
+	/**
+	 * Finds the date-times with a time-zone in the text, in the order they appear.
+	 *
+	 * @param text the text to scan, not null
+	 * @param clock the clock giving the time of the request, for the relative date-times, not null
+	 * @return the date-times found, at most {@value #MAX_MATCHES}, not null
+	 */
+	public static List<Match> scan(CharSequence text, Clock clock) {
+		List<Match> matches = List.of();
+		int length = text.length();
+		// the end of the last match, as date-times do not overlap
+		int floor = 0;
+		int state = 0;
+
+		for (int i = 0; i < length; i++) {
+			state = ZONES.next(state, text.charAt(i));
+			int[] zoneLengths = ZONES.matchLengths(state);
+			if (zoneLengths == null || (i + 1 < length && Character.isLetterOrDigit(text.charAt(i + 1)))) {
+				continue;
+			}
+
+			for (int zoneLength : zoneLengths) {
+				int zoneStart = i + 1 - zoneLength;
+				// only the longest abbreviation ending here can start a word, i.e. "AEST" rather than "EST"
+				if (zoneStart == 0 || !Character.isLetterOrDigit(text.charAt(zoneStart - 1))) {
+					Match match = matchDateTime(text, floor, zoneStart, i + 1, clock);
+					if (match != null) {
+						if (matches.isEmpty()) {
+							matches = new ArrayList<>();
+						}
+						matches.add(match);
+						if (matches.size() == MAX_MATCHES) {
+							return matches;
+						}
+						floor = match.end();
+					}
+					break;
+				}
+			}
+		}
+		return matches;
+	}
+
+	/**
+	 * Matches the longest date-time ending with the time-zone, within the words right before it.
+	 *
+	 * @param text the text to scan
+	 * @param floor the index before which the date-time cannot start
+	 * @param zoneStart the index of the first character of the time-zone
+	 * @param zoneEnd the index after the last character of the time-zone
+	 * @param clock the clock giving the time of the request
+	 * @return the date-time, or null if none ends with the time-zone
+	 */
+	private static Match matchDateTime(CharSequence text, int floor, int zoneStart, int zoneEnd, Clock clock) {
+		if (zoneStart == 0 || !isSpace(text.charAt(zoneStart - 1))) {
+			return null;
+		}
+
+		int limit = Math.max(floor, zoneStart - MAX_DATE_TIME_LENGTH);
+		int[] wordStarts = new int[MAX_WORDS];
+		int words = 0;
+		int index = zoneStart - 1;
+		while (words < MAX_WORDS) {
+			while (index >= limit && isSpace(text.charAt(index))) {
+				index--;
+			}
+			int wordEnd = index + 1;
+			while (index >= limit && isDateTimeChar(text.charAt(index))) {
+				index--;
+			}
+			int wordStart = index + 1;
+			// an empty word, or one cut by the limit
+			if (wordStart == wordEnd || (wordStart > 0 && isDateTimeChar(text.charAt(wordStart - 1)))) {
+				break;
+			}
+			if (words == 0 && !looksLikeTime(text, wordStart, wordEnd)) {
+				return null;
+			}
+			wordStarts[words++] = wordStart;
+			if (index < limit || !isSpace(text.charAt(index))) {
+				break;
+			}
+		}
+
+		for (int word = words - 1; word >= 0; word--) {
+			String dateTime = text.subSequence(wordStarts[word], zoneEnd).toString();
+			ZonedDateTime zonedDateTime = parse(dateTime, clock);
+			if (zonedDateTime != null) {
+				return new Match(wordStarts[word], zoneEnd, dateTime, zonedDateTime);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Parses the date-time as an absolute date-time, or else as a relative one.
+	 *
+	 * @return the parsed date-time, or null
+	 */
+	private static ZonedDateTime parse(String dateTime, Clock clock) {
+		if (ZonedDateTimeStringParser.tryParse(dateTime) instanceof Success<ZonedDateTime> parsed) {
+			return parsed.value();
+		}
+		// "at 3pm PST" is rejected by the RelativeDateTimeParser, so it is matched as "3pm PST"
+		return RelativeDateTimeParser.parse(dateTime, clock);
+	}
+
+	private static boolean looksLikeTime(CharSequence text, int start, int end) {
+		for (int i = start; i < end; i++) {
+			if (Character.isDigit(text.charAt(i))) {
+				return true;
+			}
+		}
+		for (String timeWord : TIME_WORDS) {
+			if (end - start == timeWord.length() && equalsIgnoreCase(text, start, timeWord)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean equalsIgnoreCase(CharSequence text, int start, String word) {
+		for (int i = 0; i < word.length(); i++) {
+			if (Character.toLowerCase(text.charAt(start + i)) != word.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return true for the spaces between the words of a date-time, which does not span lines
+	 */
+	private static boolean isSpace(char c) {
+		return c == ' ' || c == '\t' || c == '\u00a0';
+	}
+
+	/**
+	 * @return true for the characters of the words of a date-time, i.e. "Nov", "28,", "2023-11-28T15:30:00", "3pm"
+	 */
+	private static boolean isDateTimeChar(char c) {
+		return Character.isLetterOrDigit(c) || c == ':' || c == ',' || c == '.' || c == '/' || c == '-' || c == '+';
+	}
+
+	/**
+	 * An Aho-Corasick automaton over upper-case words, with the transitions of every state precomputed,
+	 * so each character of the text is a single table lookup.
+	 */
+	private static class ZoneAutomaton {
+
+		private static final int ALPHABET_SIZE = 26;
+
+		/**
+		 * The next state by state and letter. Any other character leads to the initial state 0.
+		 */
+		private final int[][] transitions;
+
+		/**
+		 * The lengths of the words ending at each state, the longest first, or null for none.
+		 */
+		private final int[][] matchLengths;
+
+		private ZoneAutomaton(int[][] transitions, int[][] matchLengths) {
+			this.transitions = transitions;
+			this.matchLengths = matchLengths;
+		}
+
+		/**
+		 * Builds the trie of the upper-case words, skipping any other, then sets the failure transitions breadth-first.
+		 */
+		private static ZoneAutomaton of(Set<String> abbreviations, Set<String> regionIds) {
+			List<int[]> trie = new ArrayList<>();
+			List<int[]> outputs = new ArrayList<>();
+			trie.add(new int[ALPHABET_SIZE]);
+			outputs.add(null);
+
+			List<String> allWords = new ArrayList<>(abbreviations);
+			allWords.addAll(regionIds);
+			for (String word : allWords) {
+				if (!word.chars().allMatch(c -> c >= 'A' && c <= 'Z')) {
+					continue;
+				}
+				int state = 0;
+				for (int i = 0; i < word.length(); i++) {
+					int letter = word.charAt(i) - 'A';
+					if (trie.get(state)[letter] == 0) {
+						trie.get(state)[letter] = trie.size();
+						trie.add(new int[ALPHABET_SIZE]);
+						outputs.add(null);
+					}
+					state = trie.get(state)[letter];
+				}
+				outputs.set(state, new int[] { word.length() });
+			}
+
+			int[][] transitions = trie.toArray(new int[0][]);
+			int[][] matchLengths = outputs.toArray(new int[0][]);
+			int[] failures = new int[transitions.length];
+			Queue<Integer> queue = new ArrayDeque<>();
+			for (int letter = 0; letter < ALPHABET_SIZE; letter++) {
+				if (transitions[0][letter] != 0) {
+					queue.add(transitions[0][letter]);
+				}
+			}
+			while (!queue.isEmpty()) {
+				int state = queue.remove();
+				matchLengths[state] = concat(matchLengths[state], matchLengths[failures[state]]);
+				for (int letter = 0; letter < ALPHABET_SIZE; letter++) {
+					int child = transitions[state][letter];
+					if (child != 0) {
+						failures[child] = transitions[failures[state]][letter];
+						queue.add(child);
+					}
+					else {
+						transitions[state][letter] = transitions[failures[state]][letter];
+					}
+				}
+			}
+			return new ZoneAutomaton(transitions, matchLengths);
+		}
+
+		private static int[] concat(int[] longer, int[] shorter) {
+			if (longer == null || shorter == null) {
+				return longer == null ? shorter : longer;
+			}
+			int[] lengths = Arrays.copyOf(longer, longer.length + shorter.length);
+			System.arraycopy(shorter, 0, lengths, longer.length, shorter.length);
+			return lengths;
+		}
+
+		private int next(int state, char c) {
+			return c >= 'A' && c <= 'Z' ? transitions[state][c - 'A'] : 0;
+		}
+
+		private int[] matchLengths(int state) {
+			return matchLengths[state];
+		}
+	}
+}
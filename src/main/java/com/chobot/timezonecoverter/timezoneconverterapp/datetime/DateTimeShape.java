@@ -0,0 +1,188 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.datetime;
+
+/**
+ * The `DateTimeShape` enum classifies a zoned date-time string by its overall layout
+ * (numeric ISO-like, RFC-1123, month-name first, era with 'at', ...) in a single scan of the text.
+ * <p>
+ * The shape is used by {@code ZonedDateTimeStringParser} to dispatch the input directly to the
+ * formatters that could possibly parse it, instead of trying every formatter in turn.
+ * A shape is a necessary condition only: an input of a given shape may still fail to parse,
+ * but an input is never classified away from a formatter that would have accepted it.
+ * <p>
+ * Textual inputs are told apart by whether the first word ends with a comma (a day name such as "Tue,")
+ * or a space (a month name such as "Nov"), which holds for any locale whose short day names contain no spaces.
+ *
+ * @author chobot
+ * @version 1.0
+ */
+public enum DateTimeShape {
+
+	/**
+	 * A numeric date followed by 'T', i.e. "2011-12-03T10:15:30+01:00" or "2010-02-04T14:39:28 PST".
+	 */
+	NUMERIC_DATE_T_TIME,
+
+	/**
+	 * A numeric date followed by a space, i.e. "2023-11-28 15:30:00 +03:00".
+	 */
+	NUMERIC_DATE_SPACE_TIME,
+
+	/**
+	 * A dot separated numeric date followed by an era, i.e. "2023.11.28 AD at 15:30:00 UTC".
+	 */
+	NUMERIC_DATE_ERA,
+
+	/**
+	 * A day-of-month followed by a month name, i.e. "3 Jun 2008 11:05:30 GMT".
+	 */
+	DAY_OF_MONTH_FIRST,
+
+	/**
+	 * A day name followed by a day-of-month, i.e. "Tue, 3 Jun 2008 11:05:30 GMT".
+	 */
+	DAY_NAME_DAY_OF_MONTH,
+
+	/**
+	 * A day name followed by a month name, i.e. "Tue, Nov 28, 2023 3:30 PM UTC".
+	 */
+	DAY_NAME_MONTH_NAME,
+
+	/**
+	 * A month name first, i.e. "Nov 28, 2023 3:30 PM EST" or "November 28, 2023 3:30 PM UTC".
+	 */
+	MONTH_NAME_FIRST,
+
+	/**
+	 * Any input that does not match one of the known shapes.
+	 */
+	UNKNOWN;
+
+	/**
+	 * Classifies the text by scanning it once from the start.
+	 *
+	 * @param text the date-time w/ time-zone text to classify, not null
+	 * @return the shape of the text, {@code UNKNOWN} if no known shape fits, not null
+	 */
+	public static DateTimeShape classify(CharSequence text) {
+		int length = text.length();
+		if (length == 0) {
+			return UNKNOWN;
+		}
+
+		char first = text.charAt(0);
+		if (Character.isLetter(first)) {
+			return classifyTextual(text, length);
+		}
+
+		int index = (first == '+' || first == '-') ? 1 : 0;
+		int digitsEnd = skipDigits(text, index, length);
+		if (digitsEnd == index) {
+			return UNKNOWN;
+		}
+		return classifyNumeric(text, digitsEnd, length);
+	}
+
+	/**
+	 * Classifies text that starts with digits by the separator following the leading number.
+	 *
+	 * @param text the text to classify
+	 * @param index the index of the first character after the leading number
+	 * @param length the length of the text
+	 * @return the shape of the text, not null
+	 */
+	private static DateTimeShape classifyNumeric(CharSequence text, int index, int length) {
+		if (index == length) {
+			return UNKNOWN;
+		}
+
+		switch (text.charAt(index)) {
+			case '-':
+				return classifyNumericDate(text, index, length);
+			case '.':
+				return NUMERIC_DATE_ERA;
+			case ' ':
+				return DAY_OF_MONTH_FIRST;
+			default:
+				return UNKNOWN;
+		}
+	}
+
+	/**
+	 * Classifies a "year-month-day" date by the character following the day.
+	 *
+	 * @param text the text to classify
+	 * @param index the index of the '-' following the year
+	 * @param length the length of the text
+	 * @return the shape of the text, not null
+	 */
+	private static DateTimeShape classifyNumericDate(CharSequence text, int index, int length) {
+		index = skipDigits(text, index + 1, length);
+		if (index == length || text.charAt(index) != '-') {
+			return UNKNOWN;
+		}
+
+		index = skipDigits(text, index + 1, length);
+		if (index == length) {
+			return UNKNOWN;
+		}
+
+		char separator = text.charAt(index);
+		if (separator == 'T' || separator == 't') {
+			return NUMERIC_DATE_T_TIME;
+		}
+		return separator == ' ' ? NUMERIC_DATE_SPACE_TIME : UNKNOWN;
+	}
+
+	/**
+	 * Classifies text that starts with a letter by how its first word ends.
+	 *
+	 * @param text the text to classify
+	 * @param length the length of the text
+	 * @return the shape of the text, not null
+	 */
+	private static DateTimeShape classifyTextual(CharSequence text, int length) {
+		int index = 0;
+		while (index < length && text.charAt(index) != ',' && text.charAt(index) != ' ') {
+			index++;
+		}
+		if (index == length) {
+			return UNKNOWN;
+		}
+		if (text.charAt(index) == ' ') {
+			return MONTH_NAME_FIRST;
+		}
+
+		index++;
+		while (index < length && text.charAt(index) == ' ') {
+			index++;
+		}
+		if (index == length) {
+			return UNKNOWN;
+		}
+
+		char next = text.charAt(index);
+		if (isAsciiDigit(next)) {
+			return DAY_NAME_DAY_OF_MONTH;
+		}
+		return Character.isLetter(next) ? DAY_NAME_MONTH_NAME : UNKNOWN;
+	}
+
+	/**
+	 * Skips over consecutive ASCII digits.
+	 *
+	 * @param text the text to scan
+	 * @param index the index to start at
+	 * @param length the length of the text
+	 * @return the index of the first non-digit character, or the length of the text
+	 */
+	private static int skipDigits(CharSequence text, int index, int length) {
+		while (index < length && isAsciiDigit(text.charAt(index))) {
+			index++;
+		}
+		return index;
+	}
+
+	private static boolean isAsciiDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+}
@@ -0,0 +1,134 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.datetime;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.zone.ZoneOffsetTransition;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The `DstAmbiguity` record describes a local date-time that does not name a single instant in its time-zone,
+ * because it falls in a daylight saving transition:
+ * <ul>
+ * <li>in a gap, i.e. 2:30 AM when the clocks go forward from 2:00 AM to 3:00 AM, the local date-time does not exist</li>
+ * <li>in an overlap, i.e. 1:30 AM when the clocks go back from 2:00 AM to 1:00 AM, the local date-time happens twice</li>
+ * </ul>
+ * {@code ZonedDateTime} silently picks one instant: the earlier offset in an overlap, and the local date-time shifted
+ * by the length of a gap. The ambiguity instead gives both candidate instants, one at the offset before the transition
+ * and one at the offset after it.
+ *
+ * Usage Example:
+ * {@code
+ * DstAmbiguity ambiguity = DstAmbiguity.find(LocalDateTime.of(2023, 11, 5, 1, 30), ZoneId.of("America/Los_Angeles"));
+ * List<ZonedDateTime> candidates = ambiguity.candidates();
+ * }
+ *
+ * @param localDateTime the local date-time that was given, not null
+ * @param zone the time-zone of the local date-time, not null
+ * @param transition the transition the local date-time falls in, not null
+ * @author chobot
+ * @version 1.0
+ */
+public record DstAmbiguity(LocalDateTime localDateTime, ZoneId zone, ZoneOffsetTransition transition) {
+
+	private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MMM dd, yyyy");
+
+	private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("h:mm a");
+
+	private static final DateTimeFormatter ZONE_NAME_FORMAT = DateTimeFormatter.ofPattern("z", Locale.ENGLISH);
+
+	/**
+	 * Finds the daylight saving transition a local date-time falls in.
+	 *
+	 * @param localDateTime the local date-time, not null
+	 * @param zone the time-zone of the local date-time, not null
+	 * @return the ambiguity, or null if the local date-time names a single instant
+	 */
+	public static DstAmbiguity find(LocalDateTime localDateTime, ZoneId zone) {
+		if (zone instanceof ZoneOffset) {
+			return null;
+		}
+		ZoneOffsetTransition transition = zone.getRules().getTransition(localDateTime);
+		return transition == null ? null : new DstAmbiguity(localDateTime, zone, transition);
+	}
+
+	/**
+	 * @return true if the local date-time does not exist, false if it happens twice
+	 */
+	public boolean isGap() {
+		return transition.isGap();
+	}
+
+	/**
+	 * Returns the instants the local date-time could mean, the earlier first.
+	 * <p>
+	 * In an overlap, they are the local date-time at the offset before and after the transition.
+	 * In a gap, they are the local date-time read with the offset after and before the transition,
+	 * the latter being the instant {@code ZonedDateTime} picks, shown at the offset in effect at each instant.
+	 *
+	 * @return the two candidate instants in the time-zone, not null
+	 */
+	public List<ZonedDateTime> candidates() {
+		return offsets().stream().map(offset -> ZonedDateTime.ofInstant(localDateTime, offset, zone)).toList();
+	}
+
+	/**
+	 * Picks the candidate named by a standard or daylight time-zone abbreviation, i.e. "PDT" or "PST" in America/Los_Angeles,
+	 * as such a name settles the offset the local date-time was given at. The names are the short names of the time-zone
+	 * before and after the transition.
+	 *
+	 * @param zoneName the time-zone the date-time was given with, i.e. "PST" or "America/Los_Angeles", not null
+	 * @return the local date-time at the offset the name stands for, or null if the name is a region ID or a generic name,
+	 *         which stands for neither or both offsets
+	 */
+	public ZonedDateTime resolveNamed(String zoneName) {
+		String nameBefore = ZONE_NAME_FORMAT.format(transition.getInstant().minusSeconds(1).atZone(zone));
+		String nameAfter = ZONE_NAME_FORMAT.format(transition.getInstant().atZone(zone));
+		if (nameBefore.equals(nameAfter)) {
+			return null;
+		}
+		if (zoneName.equals(nameBefore)) {
+			return ZonedDateTime.ofInstant(localDateTime, transition.getOffsetBefore(), zone);
+		}
+		if (zoneName.equals(nameAfter)) {
+			return ZonedDateTime.ofInstant(localDateTime, transition.getOffsetAfter(), zone);
+		}
+		return null;
+	}
+
+	/**
+	 * Describes the ambiguity, i.e. "1:30 AM happens twice on Nov 05, 2023 in America/Los_Angeles,
+	 * as the clocks go back from 2:00 AM to 1:00 AM."
+	 *
+	 * @return the description, not null
+	 */
+	public String describe() {
+		return TIME_FORMAT.format(localDateTime)
+				+ (isGap() ? " does not exist on " : " happens twice on ") + DATE_FORMAT.format(localDateTime)
+				+ " in " + zone.getId()
+				+ (isGap() ? ", as the clocks go forward from " : ", as the clocks go back from ")
+				+ TIME_FORMAT.format(transition.getDateTimeBefore()) + " to " + TIME_FORMAT.format(transition.getDateTimeAfter()) + ".";
+	}
+
+	/**
+	 * Returns the local date-time at each of the candidate offsets in ISO-8601, the earlier instant first,
+	 * i.e. "2023-11-05T01:30-07:00", which can be given instead to pick one.
+	 *
+	 * @return the two unambiguous spellings, not null
+	 */
+	public List<String> unambiguousSpellings() {
+		return offsets().stream().map(offset -> localDateTime.atOffset(offset).toString()).toList();
+	}
+
+	/**
+	 * Returns the offsets the local date-time can be read with, the one giving the earlier instant first.
+	 */
+	private List<ZoneOffset> offsets() {
+		return isGap()
+				? List.of(transition.getOffsetAfter(), transition.getOffsetBefore())
+				: List.of(transition.getOffsetBefore(), transition.getOffsetAfter());
+	}
+}
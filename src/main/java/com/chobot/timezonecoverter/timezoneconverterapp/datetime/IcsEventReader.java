@@ -0,0 +1,280 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.datetime;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * The `IcsEventReader` class reads the events of an iCalendar (RFC 5545) stream, i.e. an exported .ics file, one at a time.
+ * <p>
+ * Only the VEVENT components are read, and only the properties the conversion needs: SUMMARY, DTSTART, DTEND,
+ * DURATION and RRULE. The properties of the components nested in an event (i.e. VALARM) and any other component
+ * (i.e. VTIMEZONE) are skipped. Folded lines are unfolded, and the SUMMARY is unescaped.
+ * <p>
+ * The stream is read one character at a time through a buffer, and only the current line and the properties of the current
+ * event are held, so the memory used does not depend on the size of the calendar. A line is cut at {@value #MAX_LINE_LENGTH}
+ * characters, which only ever cuts properties that are not read, such as long descriptions or attachments.
+ *
+ * Usage Example:
+ * {@code
+ * IcsEventReader reader = new IcsEventReader(new FileReader("team.ics", StandardCharsets.UTF_8));
+ * for (IcsEventReader.Event event = reader.next(); event != null; event = reader.next()) {
+ *     System.out.println(event.summary() + " starts at " + event.start().value());
+ * }
+ * }
+ *
+ * @author chobot
+ * @version 1.0
+ */
+public class IcsEventReader {
+
+	/**
+	 * A date-time property of an event, i.e. "DTSTART;TZID=America/New_York:20231128T153000".
+	 *
+	 * @param value the value as written, i.e. "20231128T153000", "20231128T203000Z" or "20231128", not null
+	 * @param tzid the TZID parameter, or null
+	 * @param date true if the value is a date rather than a date-time
+	 */
+	public record Property(String value, String tzid, boolean date) {}
+
+	/**
+	 * An event of the calendar.
+	 *
+	 * @param index the position of the event in the calendar, from 0
+	 * @param summary the unescaped SUMMARY, or null
+	 * @param start the DTSTART, or null
+	 * @param end the DTEND, or null
+	 * @param duration the DURATION, i.e. "PT1H", or null
+	 * @param recurrence the RRULE, i.e. "FREQ=WEEKLY;BYDAY=MO", or null
+	 */
+	public record Event(int index, String summary, Property start, Property end, String duration, String recurrence) {}
+
+	/**
+	 * The maximum length of an unfolded line. The rest of a longer line is skipped.
+	 */
+	public static final int MAX_LINE_LENGTH = 8192;
+
+	private static final int NO_LOOKAHEAD = -2;
+
+	private final Reader reader;
+	private final StringBuilder line = new StringBuilder();
+	private int lookahead = NO_LOOKAHEAD;
+	private int index;
+
+	/**
+	 * Creates a reader of the calendar.
+	 *
+	 * @param reader the calendar text, not null
+	 */
+	public IcsEventReader(Reader reader) {
+		this.reader = reader instanceof BufferedReader ? reader : new BufferedReader(reader);
+	}
+
+	/**
+	 * Reads the next event of the calendar.
+	 *
+	 * @return the next event, or null at the end of the calendar, including when its last event is not ended
+	 * @throws IOException
+	 *         If the calendar cannot be read.
+	 */
+	public Event next() throws IOException {
+		boolean inEvent = false;
+		int nestedComponents = 0;
+		String summary = null;
+		Property start = null;
+		Property end = null;
+		String duration = null;
+		String recurrence = null;
+
+		while (readLine()) {
+			if (!inEvent) {
+				inEvent = isLine("BEGIN:VEVENT");
+				continue;
+			}
+			if (startsWith("BEGIN:")) {
+				nestedComponents++;
+				continue;
+			}
+			if (startsWith("END:")) {
+				if (nestedComponents == 0) {
+					return new Event(index++, summary, start, end, duration, recurrence);
+				}
+				nestedComponents--;
+				continue;
+			}
+			if (nestedComponents > 0) {
+				continue;
+			}
+
+			int nameEnd = nameEnd();
+			if (isName(nameEnd, "SUMMARY")) {
+				summary = unescape(value(nameEnd));
+			}
+			else if (isName(nameEnd, "DTSTART")) {
+				start = property(nameEnd);
+			}
+			else if (isName(nameEnd, "DTEND")) {
+				end = property(nameEnd);
+			}
+			else if (isName(nameEnd, "DURATION")) {
+				duration = value(nameEnd);
+			}
+			else if (isName(nameEnd, "RRULE")) {
+				recurrence = value(nameEnd);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Reads the next unfolded line into the line buffer: a line break followed by a space or a tab continues the line.
+	 *
+	 * @return false at the end of the stream
+	 */
+	private boolean readLine() throws IOException {
+		line.setLength(0);
+		int c = read();
+		if (c == -1) {
+			return false;
+		}
+		while (c != -1) {
+			if (c == '\r' || c == '\n') {
+				if (c == '\r') {
+					int lineFeed = read();
+					if (lineFeed != '\n') {
+						lookahead = lineFeed;
+					}
+				}
+				int next = read();
+				if (next != ' ' && next != '\t') {
+					lookahead = next;
+					return true;
+				}
+			}
+			else if (line.length() < MAX_LINE_LENGTH) {
+				line.append((char) c);
+			}
+			c = read();
+		}
+		return true;
+	}
+
+	private int read() throws IOException {
+		if (lookahead != NO_LOOKAHEAD) {
+			int c = lookahead;
+			lookahead = NO_LOOKAHEAD;
+			return c;
+		}
+		return reader.read();
+	}
+
+	private boolean isLine(String text) {
+		return line.length() == text.length() && startsWith(text);
+	}
+
+	private boolean startsWith(String prefix) {
+		if (line.length() < prefix.length()) {
+			return false;
+		}
+		for (int i = 0; i < prefix.length(); i++) {
+			if (Character.toUpperCase(line.charAt(i)) != prefix.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return the index of the ';' or ':' ending the name of the property on the line
+	 */
+	private int nameEnd() {
+		int i = 0;
+		while (i < line.length() && line.charAt(i) != ';' && line.charAt(i) != ':') {
+			i++;
+		}
+		return i;
+	}
+
+	private boolean isName(int nameEnd, String name) {
+		return nameEnd == name.length() && startsWith(name);
+	}
+
+	/**
+	 * @return the index of the ':' starting the value, after the parameters, whose quoted values may contain ':'
+	 */
+	private int valueStart(int nameEnd) {
+		boolean quoted = false;
+		for (int i = nameEnd; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (c == '"') {
+				quoted = !quoted;
+			}
+			else if (c == ':' && !quoted) {
+				return i;
+			}
+		}
+		return line.length();
+	}
+
+	private String value(int nameEnd) {
+		int valueStart = valueStart(nameEnd);
+		return valueStart < line.length() ? line.substring(valueStart + 1).trim() : "";
+	}
+
+	/**
+	 * Reads a date-time property along with its TZID and VALUE parameters.
+	 */
+	private Property property(int nameEnd) {
+		int valueStart = valueStart(nameEnd);
+		String tzid = null;
+		boolean date = false;
+
+		int parameterStart = nameEnd;
+		while (parameterStart < valueStart) {
+			int parameterEnd = parameterStart + 1;
+			boolean quoted = false;
+			while (parameterEnd < valueStart && (line.charAt(parameterEnd) != ';' || quoted)) {
+				if (line.charAt(parameterEnd) == '"') {
+					quoted = !quoted;
+				}
+				parameterEnd++;
+			}
+			String parameter = line.substring(parameterStart + 1, parameterEnd);
+			if (parameter.regionMatches(true, 0, "TZID=", 0, 5)) {
+				tzid = parameter.substring(5).replace("\"", "");
+				// a globally unique TZID is prefixed by a solidus, i.e. "/America/New_York"
+				if (tzid.startsWith("/")) {
+					tzid = tzid.substring(1);
+				}
+			}
+			else if (parameter.equalsIgnoreCase("VALUE=DATE")) {
+				date = true;
+			}
+			parameterStart = parameterEnd;
+		}
+
+		String value = value(nameEnd);
+		return new Property(value, tzid, date || value.length() == 8);
+	}
+
+	/**
+	 * Unescapes a TEXT value: "\\,", "\\;", "\\\\" and "\\n".
+	 */
+	private static String unescape(String text) {
+		if (text.indexOf('\\') < 0) {
+			return text;
+		}
+		StringBuilder unescaped = new StringBuilder(text.length());
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c == '\\' && i + 1 < text.length()) {
+				char escaped = text.charAt(++i);
+				unescaped.append(escaped == 'n' || escaped == 'N' ? '\n' : escaped);
+			}
+			else {
+				unescaped.append(c);
+			}
+		}
+		return unescaped.toString();
+	}
+}
@@ -1,7 +1,11 @@
 package com.chobot.timezonecoverter.timezoneconverterapp.datetime;
 
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 /**
  * The `OutputDateTimeFormatter` class provides functionality to format a {@code ZonedDateTime} into a specific output string.
@@ -24,6 +28,10 @@ import java.time.format.DateTimeFormatter;
  *
  * Date-Time Pattern:
  * The date-time pattern used by the class is "MMM dd, yyyy h:mm a".
+ * <p>
+ * The pattern is written field by field straight into a pre-sized {@code StringBuilder}, using month and AM/PM texts
+ * precomputed from the pattern's locale, instead of going through {@code String.format} and {@code DateTimeFormatter}.
+ * The output is identical to formatting with the pattern; years outside 1-9999 fall back to the pattern itself.
  *
  * @see DateTimeFormatter
  * @author chobot
@@ -37,6 +45,29 @@ public class OutputDateTimeFormatter {
 	 * For example, "Nov 30, 2023 02:45 PM"
 	 */
 	private static final DateTimeFormatter DATETIME_FORMAT = DateTimeFormatter.ofPattern("MMM dd, yyyy h:mm a");
+	
+	/**
+	 * The "MMM" text of each month, indexed by month value - 1.
+	 */
+	private static final String[] MONTH_TEXTS = new String[12];
+	
+	/**
+	 * The "a" text of the morning and of the afternoon.
+	 */
+	private static final String AM_TEXT = DateTimeFormatter.ofPattern("a", DATETIME_FORMAT.getLocale()).format(LocalTime.MIDNIGHT);
+	private static final String PM_TEXT = DateTimeFormatter.ofPattern("a", DATETIME_FORMAT.getLocale()).format(LocalTime.NOON);
+	
+	/**
+	 * The length reserved for the formatted date-time, i.e. "Nov 30, 2023 12:45 PM".
+	 */
+	private static final int DATETIME_LENGTH = 24;
+	
+	static {
+		DateTimeFormatter monthFormat = DateTimeFormatter.ofPattern("MMM", DATETIME_FORMAT.getLocale());
+		for (Month month : Month.values()) {
+			MONTH_TEXTS[month.ordinal()] = monthFormat.format(month);
+		}
+	}
 
 	/**
 	 * The slack app output formatter
@@ -49,6 +80,144 @@ public class OutputDateTimeFormatter {
 	 * @return the formatted date-time
 	 */
 	public static String formatZonedDateTimeToOutputString(ZonedDateTime zonedDateTime, String input, String targetTimeZone) {
-		return String.format("%s is *%s %s*.", input, zonedDateTime.format(DATETIME_FORMAT), targetTimeZone);
+		StringBuilder output = new StringBuilder(input.length() + DATETIME_LENGTH + targetTimeZone.length() + 8);
+		output.append(input).append(" is *");
+		appendConvertedDateTime(output, zonedDateTime.toLocalDateTime(), targetTimeZone);
+		return output.append("*.").toString();
+	}
+	
+	/**
+	 * Formats the converted date-time along with the target time-zone, i.e. "Nov 30, 2023 2:45 PM EST".
+	 * <p>
+	 * The result does not depend on the exact user input, so it can be reused for any input that converts to the same date-time.
+	 * 
+	 * @param zonedDateTime
+	 * 		  parsed date-time
+	 * @param targetTimeZone
+	 *        the target time-zone as a string
+	 * @return the formatted converted date-time
+	 */
+	public static String formatConvertedDateTime(ZonedDateTime zonedDateTime, String targetTimeZone) {
+		StringBuilder output = new StringBuilder(DATETIME_LENGTH + targetTimeZone.length());
+		appendConvertedDateTime(output, zonedDateTime.toLocalDateTime(), targetTimeZone);
+		return output.toString();
+	}
+	
+	/**
+	 * Formats the converted local date-time along with the target time-zone, i.e. "Nov 30, 2023 2:45 PM EST".
+	 * 
+	 * @param localDateTime
+	 * 		  the local date-time in the target time-zone
+	 * @param targetTimeZone
+	 *        the target time-zone as a string
+	 * @return the formatted converted date-time
+	 */
+	public static String formatConvertedDateTime(LocalDateTime localDateTime, String targetTimeZone) {
+		StringBuilder output = new StringBuilder(DATETIME_LENGTH + targetTimeZone.length());
+		appendConvertedDateTime(output, localDateTime, targetTimeZone);
+		return output.toString();
+	}
+	
+	/**
+	 * The slack app output formatter for an already formatted converted date-time
+	 * @param input
+	 *		  initial user input
+	 * @param convertedDateTime
+	 *        the converted date-time formatted by {@link #formatConvertedDateTime(ZonedDateTime, String)}
+	 * @return the formatted output
+	 */
+	public static String formatOutputString(String input, String convertedDateTime) {
+		return new StringBuilder(input.length() + convertedDateTime.length() + 8)
+				.append(input).append(" is *").append(convertedDateTime).append("*.")
+				.toString();
+	}
+	
+	/**
+	 * The slack app output formatter for several target time-zones, one converted date-time per line.
+	 * A single converted date-time is formatted the same way as {@link #formatOutputString(String, String)}.
+	 * @param input
+	 *		  initial user input
+	 * @param convertedDateTimes
+	 *        the converted date-times formatted by {@link #formatConvertedDateTime(ZonedDateTime, String)}, not empty
+	 * @return the formatted output
+	 */
+	public static String formatOutputString(String input, List<String> convertedDateTimes) {
+		if (convertedDateTimes.size() == 1) {
+			return formatOutputString(input, convertedDateTimes.get(0));
+		}
+		
+		StringBuilder output = new StringBuilder(input).append(" is:");
+		for (String convertedDateTime : convertedDateTimes) {
+			output.append("\n• *").append(convertedDateTime).append('*');
+		}
+		return output.toString();
+	}
+	
+	/**
+	 * The slack app output formatter for several target time-zones like {@link #formatOutputString(String, List)},
+	 * followed by a note in italics on its own line, i.e. the daylight saving ambiguity of the input date-time.
+	 * @param input
+	 *		  initial user input
+	 * @param convertedDateTimes
+	 *        the converted date-times, not empty
+	 * @param note
+	 *        the note about the conversion, or null for none
+	 * @return the formatted output
+	 */
+	public static String formatOutputString(String input, List<String> convertedDateTimes, String note) {
+		String output = formatOutputString(input, convertedDateTimes);
+		return note == null ? output : output + "\n_" + note + "_";
+	}
+	
+	/**
+	 * Appends the date-time in the "MMM dd, yyyy h:mm a" pattern followed by the target time-zone.
+	 * @param output
+	 *        the builder to append to
+	 * @param localDateTime
+	 *        the converted local date-time
+	 * @param targetTimeZone
+	 *        the target time-zone as a string
+	 */
+	private static void appendConvertedDateTime(StringBuilder output, LocalDateTime localDateTime, String targetTimeZone) {
+		appendDateTime(output, localDateTime);
+		output.append(' ').append(targetTimeZone);
+	}
+	
+	/**
+	 * Appends the date-time in the "MMM dd, yyyy h:mm a" pattern.
+	 * @param output
+	 *        the builder to append to
+	 * @param localDateTime
+	 *        the local date-time to append
+	 */
+	private static void appendDateTime(StringBuilder output, LocalDateTime localDateTime) {
+		int year = localDateTime.getYear();
+		if (year < 1 || year > 9999) {
+			output.append(DATETIME_FORMAT.format(localDateTime));
+			return;
+		}
+		
+		int hour = localDateTime.getHour();
+		int clockHour = hour % 12 == 0 ? 12 : hour % 12;
+		
+		output.append(MONTH_TEXTS[localDateTime.getMonthValue() - 1]).append(' ');
+		appendTwoDigits(output, localDateTime.getDayOfMonth());
+		output.append(", ");
+		appendTwoDigits(output, year / 100);
+		appendTwoDigits(output, year % 100);
+		output.append(' ').append(clockHour).append(':');
+		appendTwoDigits(output, localDateTime.getMinute());
+		output.append(' ').append(hour < 12 ? AM_TEXT : PM_TEXT);
+	}
+	
+	/**
+	 * Appends a value between 0 and 99 as two digits, zero padded.
+	 * @param output
+	 *        the builder to append to
+	 * @param value
+	 *        the value to append
+	 */
+	private static void appendTwoDigits(StringBuilder output, int value) {
+		output.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
 	}
 }
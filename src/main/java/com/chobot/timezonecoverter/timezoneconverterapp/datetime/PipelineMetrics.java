@@ -0,0 +1,123 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.datetime;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * The `PipelineMetrics` class records where time goes in the datetime pipeline and how it fails.
+ * <p>
+ * The meters are registered with the Micrometer global registry, which Spring Boot binds to its own registries
+ * (i.e. the Prometheus registry behind /actuator/prometheus), so the static pipeline classes can record
+ * without being Spring beans. Without any registry bound, recording is a no-op.
+ * <p>
+ * Meters:
+ * <ul>
+ * <li>{@code timezone.convert.stage} - a timer per pipeline {@link Stage}</li>
+ * <li>{@code timezone.convert.formatter.matches} - a counter per formatter that parsed an input</li>
+ * <li>{@code timezone.convert.errors} - a counter per {@link ErrorType}</li>
+ * <li>{@code timezone.convert.cache.*} - the {@code DateTimeProcessor} conversion cache counters</li>
+ * </ul>
+ *
+ * @author chobot
+ * @version 1.0
+ */
+public class PipelineMetrics {
+	
+	/**
+	 * The timed stages of the pipeline.
+	 */
+	public enum Stage {
+		SPLIT, PARSE, ZONE_RESOLVE, CONVERT, FORMAT
+	}
+	
+	/**
+	 * The kinds of failure of the pipeline.
+	 */
+	public enum ErrorType {
+		INVALID_INPUT, TOO_MANY_TARGETS, INVALID_DATE_TIME, INVALID_ZONE, UNKNOWN_ZONE, DATE_RANGE, AMBIGUOUS_DATE_TIME
+	}
+	
+	private static final Map<Stage, Timer> STAGE_TIMERS = new EnumMap<>(Stage.class);
+	
+	private static final Map<ErrorType, Counter> ERROR_COUNTERS = new EnumMap<>(ErrorType.class);
+	
+	private static final Map<String, Counter> FORMATTER_COUNTERS = new ConcurrentHashMap<>();
+	
+	static {
+		for (Stage stage : Stage.values()) {
+			STAGE_TIMERS.put(stage, Timer.builder("timezone.convert.stage")
+					.description("Time spent in each stage of the datetime pipeline")
+					.tag("stage", tagValue(stage))
+					.register(Metrics.globalRegistry));
+		}
+		for (ErrorType errorType : ErrorType.values()) {
+			ERROR_COUNTERS.put(errorType, Counter.builder("timezone.convert.errors")
+					.description("Conversions that failed, by type of failure")
+					.tag("type", tagValue(errorType))
+					.register(Metrics.globalRegistry));
+		}
+		
+		FunctionCounter.builder("timezone.convert.cache.hits", DateTimeProcessor.class, processor -> DateTimeProcessor.cacheStats().hits())
+				.register(Metrics.globalRegistry);
+		FunctionCounter.builder("timezone.convert.cache.misses", DateTimeProcessor.class, processor -> DateTimeProcessor.cacheStats().misses())
+				.register(Metrics.globalRegistry);
+		FunctionCounter.builder("timezone.convert.cache.evictions", DateTimeProcessor.class, processor -> DateTimeProcessor.cacheStats().evictions())
+				.register(Metrics.globalRegistry);
+		Gauge.builder("timezone.convert.cache.size", DateTimeProcessor.class, processor -> DateTimeProcessor.cacheStats().size())
+				.register(Metrics.globalRegistry);
+	}
+	
+	/**
+	 * Returns the current time to pass to {@link #recordStage(Stage, long)} once the stage completes.
+	 *
+	 * @return the current value of {@code System.nanoTime()}
+	 */
+	public static long startStage() {
+		return System.nanoTime();
+	}
+	
+	/**
+	 * Records the time spent in a stage since it started.
+	 *
+	 * @param stage the stage that completed
+	 * @param startNanos the value returned by {@link #startStage()} when the stage started
+	 */
+	public static void recordStage(Stage stage, long startNanos) {
+		STAGE_TIMERS.get(stage).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+	}
+	
+	/**
+	 * Counts an input parsed by the formatter.
+	 *
+	 * @param formatterName the name of the formatter, i.e. its pattern
+	 */
+	public static void recordFormatterMatch(String formatterName) {
+		FORMATTER_COUNTERS.computeIfAbsent(formatterName, name -> Counter.builder("timezone.convert.formatter.matches")
+				.description("Inputs parsed by each formatter")
+				.tag("formatter", name)
+				.register(Metrics.globalRegistry))
+			.increment();
+	}
+	
+	/**
+	 * Counts a failed conversion.
+	 *
+	 * @param errorType the kind of failure
+	 */
+	public static void recordError(ErrorType errorType) {
+		ERROR_COUNTERS.get(errorType).increment();
+	}
+	
+	private static String tagValue(Enum<?> value) {
+		return value.name().toLowerCase(Locale.ROOT);
+	}
+}
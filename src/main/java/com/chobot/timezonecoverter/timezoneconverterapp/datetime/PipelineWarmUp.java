@@ -0,0 +1,73 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.datetime;
+
+import java.time.Clock;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+/**
+ * The `PipelineWarmUp` class initializes everything the datetime pipeline would otherwise initialize
+ * on the first conversion: the {@code ZoneRules} of every region, the formatters and the classes of each stage.
+ * <p>
+ * The warm-up is meant to run once at startup, before the first request is served:
+ * <ol>
+ * <li>the {@code ZoneIdResolver} index is built, which loads the rules of every region ID and short ID</li>
+ * <li>every formatter of the {@code ZonedDateTimeStringParser} formats and parses a sample date-time</li>
+ * <li>the full {@code DateTimeProcessor} path runs on an absolute and a relative date-time input</li>
+ * </ol>
+ * The formatters are exercised without counting a match. The full path conversions are counted in the metrics
+ * like any other conversion.
+ *
+ * Usage Example:
+ * {@code
+ * PipelineWarmUp.Report report = PipelineWarmUp.warmUp();
+ * }
+ *
+ * @author chobot
+ * @version 1.0
+ */
+public class PipelineWarmUp {
+
+	/**
+	 * The outcome of a warm-up.
+	 *
+	 * @param zones the number of time-zone spellings resolved up-front
+	 * @param formatters the number of formatters exercised
+	 * @param conversions the number of inputs converted through the full path
+	 * @param elapsedNanos how long the warm-up took
+	 */
+	public record Report(int zones, int formatters, int conversions, long elapsedNanos) {}
+
+	/**
+	 * The date-time every formatter formats and parses back.
+	 */
+	private static final ZonedDateTime SAMPLE = ZonedDateTime.of(2010, 2, 4, 14, 39, 28, 0, ZoneId.of("America/Los_Angeles"));
+
+	/**
+	 * The inputs run through the full {@code DateTimeProcessor} path, covering the absolute and the relative date-time parsers.
+	 */
+	private static final List<String> INPUTS = List.of(
+		"2010-02-04T14:39:28 PST to EST, CET",
+		"tomorrow at 9:30 am CET to PST"
+	);
+
+	/**
+	 * Warms up the datetime pipeline.
+	 *
+	 * @return the outcome of the warm-up, not null
+	 */
+	public static Report warmUp() {
+		long start = System.nanoTime();
+
+		int zones = ZoneIdResolver.indexSize();
+		int formatters = ZonedDateTimeStringParser.warmUp(SAMPLE);
+
+		int conversions = 0;
+		for (String input : INPUTS) {
+			if (DateTimeProcessor.process(input, Clock.systemUTC()).isSuccess()) {
+				conversions++;
+			}
+		}
+		return new Report(zones, formatters, conversions, System.nanoTime() - start);
+	}
+}
@@ -0,0 +1,348 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.datetime;
+
+import java.time.Clock;
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.TextStyle;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ZoneIdResolver.ResolvedZone;
+
+/**
+ * The `RelativeDateTimeParser` class parses date-times given relative to the time of the request,
+ * i.e. "3pm PST", "tomorrow 9:30 am CET", "friday at noon EST", "in 2 hours" or "now".
+ * <p>
+ * The grammar is matched by a hand-written scanner in a single pass over the text, case-insensitively:
+ * <pre>
+ * expression := "now" [zone]
+ *             | "in" amount unit [zone]
+ *             | [day ["at"]] time zone
+ * day        := "today" | "tomorrow" | "yesterday" | ["next"] weekday
+ * time       := hour [":" minute] ["am" | "pm"] | "noon" | "midnight"
+ * unit       := "minute(s)" | "min(s)" | "hour(s)" | "hr(s)" | "day(s)" | "week(s)"
+ * </pre>
+ * A time without a day is today in the given time-zone, and a weekday is the next one on or after today
+ * ("next" skips today). "at" only follows a day, so "at 3pm PST" is rejected. Any text that does not follow
+ * the grammar is rejected at the first character that does not fit, without throwing, so absolute date-times cost
+ * a few character comparisons.
+ * <p>
+ * When a default time-zone is given, i.e. the one of the user's profile, the time-zone may be left out,
+ * and "now" and "in" are given in the default time-zone rather than UTC.
+ * <p>
+ * The result depends on the time of the request, so it must never be cached.
+ *
+ * Usage Example:
+ * {@code
+ * ZonedDateTime zonedDateTime = RelativeDateTimeParser.parse("tomorrow 3pm PST", Clock.systemUTC());
+ * }
+ *
+ * @author chobot
+ * @version 1.0
+ */
+public class RelativeDateTimeParser {
+
+	private static final String[] WEEKDAY_NAMES = new String[7];
+	private static final String[] WEEKDAY_SHORT_NAMES = new String[7];
+
+	/**
+	 * The largest amount accepted by "in [amount] [unit]", which keeps any amount within the supported date range.
+	 */
+	private static final int MAX_AMOUNT = 100_000;
+
+	static {
+		for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+			WEEKDAY_NAMES[dayOfWeek.ordinal()] = dayOfWeek.getDisplayName(TextStyle.FULL, Locale.ENGLISH);
+			WEEKDAY_SHORT_NAMES[dayOfWeek.ordinal()] = dayOfWeek.getDisplayName(TextStyle.SHORT, Locale.ENGLISH);
+		}
+	}
+
+	/**
+	 * Parses a date-time given relative to the time of the request.
+	 *
+	 * @param text the date-time w/ time-zone text, trimmed, not null
+	 * @param clock the clock giving the time of the request, not null
+	 * @return the zoned date-time in the given time-zone (UTC if none is given), or null if the text is not a relative date-time
+	 */
+	public static ZonedDateTime parse(CharSequence text, Clock clock) {
+		return parse(text, clock, null);
+	}
+
+	/**
+	 * Parses a date-time given relative to the time of the request, in the default time-zone if the text gives none.
+	 *
+	 * @param text the date-time w/ or w/o time-zone text, trimmed, not null
+	 * @param clock the clock giving the time of the request, not null
+	 * @param defaultZone the time-zone of a date-time without one, or null to require one (and default "now" and "in" to UTC)
+	 * @return the zoned date-time, or null if the text is not a relative date-time
+	 */
+	public static ZonedDateTime parse(CharSequence text, Clock clock, ZoneId defaultZone) {
+		try {
+			return new Scanner(text, defaultZone).parseExpression(clock);
+		}
+		catch (DateTimeException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Scans the text once from the start, each rule returning null as soon as the text does not fit.
+	 */
+	private static class Scanner {
+
+		private final CharSequence text;
+		private final int length;
+		private final ZoneId defaultZone;
+		private int index;
+
+		private Scanner(CharSequence text, ZoneId defaultZone) {
+			this.text = text;
+			this.length = text.length();
+			this.defaultZone = defaultZone;
+		}
+
+		private ZonedDateTime parseExpression(Clock clock) {
+			if (matchWord("now")) {
+				ZoneId zone = parseOptionalZone();
+				return zone == null ? null : ZonedDateTime.now(clock.withZone(zone));
+			}
+			if (matchWord("in")) {
+				return parseDuration(clock);
+			}
+			return parseDayAndTime(clock);
+		}
+
+		/**
+		 * expression := "in" amount unit [zone]
+		 */
+		private ZonedDateTime parseDuration(Clock clock) {
+			int amount = parseNumber(6);
+			if (amount < 0 || amount > MAX_AMOUNT) {
+				return null;
+			}
+			skipSpaces();
+
+			Duration duration;
+			if (matchWord("minutes") || matchWord("minute") || matchWord("mins") || matchWord("min")) {
+				duration = Duration.ofMinutes(amount);
+			}
+			else if (matchWord("hours") || matchWord("hour") || matchWord("hrs") || matchWord("hr")) {
+				duration = Duration.ofHours(amount);
+			}
+			else if (matchWord("days") || matchWord("day")) {
+				duration = Duration.ofDays(amount);
+			}
+			else if (matchWord("weeks") || matchWord("week")) {
+				duration = Duration.ofDays(amount * 7L);
+			}
+			else {
+				return null;
+			}
+
+			ZoneId zone = parseOptionalZone();
+			return zone == null ? null : ZonedDateTime.now(clock.withZone(zone)).plus(duration);
+		}
+
+		/**
+		 * expression := [day ["at"]] time zone
+		 */
+		private ZonedDateTime parseDayAndTime(Clock clock) {
+			int dayOffset = 0;
+			DayOfWeek weekday = null;
+			boolean nextWeekday = false;
+			boolean hasDay = true;
+
+			if (matchWord("today")) {
+				dayOffset = 0;
+			}
+			else if (matchWord("tomorrow")) {
+				dayOffset = 1;
+			}
+			else if (matchWord("yesterday")) {
+				dayOffset = -1;
+			}
+			else {
+				nextWeekday = matchWord("next");
+				weekday = parseWeekday();
+				if (weekday == null && nextWeekday) {
+					return null;
+				}
+				hasDay = weekday != null;
+			}
+
+			if (hasDay) {
+				skipSpaces();
+				if (matchWord("at")) {
+					skipSpaces();
+				}
+			}
+
+			LocalTime time = parseTime();
+			if (time == null) {
+				return null;
+			}
+			skipSpaces();
+			ZoneId zone = index == length ? defaultZone : parseZone();
+			if (zone == null) {
+				return null;
+			}
+
+			LocalDate today = LocalDate.now(clock.withZone(zone));
+			LocalDate date;
+			if (weekday == null) {
+				date = today.plusDays(dayOffset);
+			}
+			else {
+				date = today.with(nextWeekday ? TemporalAdjusters.next(weekday) : TemporalAdjusters.nextOrSame(weekday));
+			}
+			return ZonedDateTime.of(date, time, zone);
+		}
+
+		/**
+		 * Parses a full or short English weekday name.
+		 */
+		private DayOfWeek parseWeekday() {
+			for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+				if (matchWord(WEEKDAY_NAMES[dayOfWeek.ordinal()]) || matchWord(WEEKDAY_SHORT_NAMES[dayOfWeek.ordinal()])) {
+					return dayOfWeek;
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * time := hour [":" minute] ["am" | "pm"] | "noon" | "midnight"
+		 */
+		private LocalTime parseTime() {
+			if (matchWord("noon")) {
+				return LocalTime.NOON;
+			}
+			if (matchWord("midnight")) {
+				return LocalTime.MIDNIGHT;
+			}
+
+			int hour = parseNumber(2);
+			if (hour < 0) {
+				return null;
+			}
+			int minute = 0;
+			if (index < length && text.charAt(index) == ':') {
+				index++;
+				int minuteStart = index;
+				minute = parseNumber(2);
+				if (index - minuteStart != 2 || minute > 59) {
+					return null;
+				}
+			}
+
+			int afterNumber = index;
+			skipSpaces();
+			boolean am = matchWord("am");
+			boolean pm = !am && matchWord("pm");
+			if (!am && !pm) {
+				index = afterNumber;
+				if (!isWordEnd(index)) {
+					return null;
+				}
+				return hour <= 23 ? LocalTime.of(hour, minute) : null;
+			}
+
+			if (hour < 1 || hour > 12) {
+				return null;
+			}
+			return LocalTime.of(hour % 12 + (pm ? 12 : 0), minute);
+		}
+
+		/**
+		 * zone := a single word resolved by the {@code ZoneIdResolver}
+		 */
+		private ZoneId parseZone() {
+			int start = index;
+			while (index < length && !Character.isWhitespace(text.charAt(index))) {
+				index++;
+			}
+			if (start == index) {
+				return null;
+			}
+			String zone = text.subSequence(start, index).toString();
+
+			skipSpaces();
+			if (index != length) {
+				return null;
+			}
+			return ZoneIdResolver.tryResolve(zone) instanceof ConversionResult.Success<ResolvedZone> resolved 
+					? resolved.value().zoneId() 
+					: null;
+		}
+
+		/**
+		 * Parses the time-zone if any text is left, defaulting to the default time-zone, or else UTC.
+		 */
+		private ZoneId parseOptionalZone() {
+			skipSpaces();
+			if (index == length) {
+				return defaultZone != null ? defaultZone : ZoneOffset.UTC;
+			}
+			return parseZone();
+		}
+
+		/**
+		 * Parses a number of at most the given number of digits.
+		 *
+		 * @return the number, or -1 if there is none or it is longer
+		 */
+		private int parseNumber(int maxDigits) {
+			int start = index;
+			int value = 0;
+			while (index < length && isAsciiDigit(text.charAt(index))) {
+				value = value * 10 + (text.charAt(index) - '0');
+				index++;
+				if (index - start > maxDigits) {
+					return -1;
+				}
+			}
+			return index == start ? -1 : value;
+		}
+
+		/**
+		 * Consumes the word if the text continues with it, ignoring case, followed by a word end.
+		 */
+		private boolean matchWord(String word) {
+			int end = index + word.length();
+			if (end > length) {
+				return false;
+			}
+			for (int i = 0; i < word.length(); i++) {
+				if (Character.toLowerCase(text.charAt(index + i)) != Character.toLowerCase(word.charAt(i))) {
+					return false;
+				}
+			}
+			if (!isWordEnd(end)) {
+				return false;
+			}
+			index = end;
+			skipSpaces();
+			return true;
+		}
+
+		private boolean isWordEnd(int position) {
+			return position == length || !Character.isLetterOrDigit(text.charAt(position));
+		}
+
+		private void skipSpaces() {
+			while (index < length && Character.isWhitespace(text.charAt(index))) {
+				index++;
+			}
+		}
+
+		private static boolean isAsciiDigit(char c) {
+			return c >= '0' && c <= '9';
+		}
+	}
+}
@@ -1,22 +1,55 @@
 package com.chobot.timezonecoverter.timezoneconverterapp.datetime;
 
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
-import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.commons.lang3.tuple.Pair;
 
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.PipelineMetrics.ErrorType;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ZonedDateTimeStringParser.ParsedDateTime;
+
 /**
  * The `UserInputParser` class provides functionality to parse user input
  * strings and extract a zoned date-time along with the target time-zone.
  * The input is expected to be in the format: [date-time w/ time-zone] to [target time-zone].
  * For example: "2010-02-04T14:39:28 PST to EST".
+ * <p>
+ * Several target time-zones may be given as a comma separated list, i.e. "2010-02-04T14:39:28 PST to EST, CET, IST".
+ * <p>
+ * The separator is the last standalone "to" or "in" word, in any case, or the last "->" or "=>" arrow, so that words
+ * merely containing "to" ("Tokyo", "October", "tomorrow") and a leading "in" ("in 2 hours to EST") are left alone.
+ * The input is scanned once to find it, without regular expressions.
  *
  * @author chobot
  * @version 1.0
  */
 public class UserInputParser {
 	
-	private static final String TO_SEPARATOR = "to";
+	/**
+	 * The separator words, which must stand alone between whitespace.
+	 */
+	private static final String[] SEPARATOR_WORDS = { "to", "in" };
+	
+	/**
+	 * The separator arrows, which may also be written without surrounding whitespace.
+	 */
+	private static final String[] SEPARATOR_ARROWS = { "->", "=>" };
+	
+	/**
+	 * The length of every separator word and arrow.
+	 */
+	private static final int SEPARATOR_LENGTH = 2;
+	
+	private static final String TARGET_TIME_ZONE_SEPARATOR = ",";
+	
+	private static final String INPUT_FORMAT = "[date-time w/ time-zone] to [target time-zone]";
+	
+	/**
+	 * The maximum number of target time-zones in a single input.
+	 */
+	private static final int MAX_TARGET_TIME_ZONES = 10;
 	
 	/**
      * Parses the user input and returns a pair with the date-time w/ time-zone and the target time-zone.
@@ -27,7 +60,125 @@ public class UserInputParser {
      *         If the input does not follow the expected format or if parsing fails.
      */
 	public static Pair<ZonedDateTime, String> parse(String input) {
-		return parseInput(input);
+		return orElseThrow(parseInput(input));
+	}
+	
+	/**
+	 * Splits the user input into the date-time w/ time-zone string and the target time-zone, without parsing the date-time.
+	 * <p>
+	 * The parts are normalized the same way {@link #parse(String)} normalizes them: the date-time is trimmed and
+	 * the target time-zone is trimmed and converted to uppercase.
+	 *
+	 * @param input The user input string in the format: [date-time w/ time-zone] to [target time-zone].
+	 * @return A pair with the date-time w/ time-zone string and the target time-zone string, not null.
+	 * @throws IllegalArgumentException 
+	 *         If the input does not follow the expected format.
+	 */
+	public static Pair<String, String> split(String input) {
+		return orElseThrow(trySplit(input));
+	}
+	
+	/**
+	 * Splits the user input like {@link #split(String)}, without throwing if the input does not follow the expected format.
+	 *
+	 * @param input The user input string in the format: [date-time w/ time-zone] to [target time-zone].
+	 * @return A pair with the date-time w/ time-zone string and the target time-zone string,
+	 *         or an {@code INVALID_INPUT} failure, not null.
+	 */
+	public static ConversionResult<Pair<String, String>> trySplit(String input) {
+		if (!isValidInput(input)) {
+			return handleInvalidUserInputFormat();
+		}
+		
+		int separatorStart = findSeparator(input);
+		if (separatorStart < 0) {
+			return handleInvalidUserInputFormat("no \"to\" separator was found");
+		}
+		int separatorEnd = separatorStart + SEPARATOR_LENGTH;
+		
+		String dateTimeString = extractDateTimeString(input, separatorStart);
+		String targetTimeZoneString = extractTargetTimeZoneString(input, separatorEnd);
+		return validateInputParts(input, separatorStart, dateTimeString, targetTimeZoneString);
+	}
+	
+	/**
+	 * Splits the target time-zone string obtained from {@link #split(String)} into its comma separated time-zones.
+	 * <p>
+	 * Blank entries are skipped, and a time-zone listed more than once is only kept the first time.
+	 *
+	 * @param targetTimeZoneString The target time-zone string, i.e. "EST, CET, IST".
+	 * @return The target time-zones in the order they were listed, not empty.
+	 * @throws IllegalArgumentException 
+	 *         If there are no target time-zones or more than the maximum number of target time-zones.
+	 */
+	public static List<String> splitTargetTimeZones(String targetTimeZoneString) {
+		return orElseThrow(trySplitTargetTimeZones(targetTimeZoneString));
+	}
+	
+	/**
+	 * Splits the target time-zone string like {@link #splitTargetTimeZones(String)}, without throwing.
+	 *
+	 * @param targetTimeZoneString The target time-zone string, i.e. "EST, CET, IST".
+	 * @return The target time-zones in the order they were listed, or an {@code INVALID_INPUT}
+	 *         or {@code TOO_MANY_TARGETS} failure, not null.
+	 */
+	public static ConversionResult<List<String>> trySplitTargetTimeZones(String targetTimeZoneString) {
+		List<String> targetTimeZones = new ArrayList<>();
+		for (String targetTimeZone : targetTimeZoneString.split(TARGET_TIME_ZONE_SEPARATOR)) {
+			targetTimeZone = targetTimeZone.trim();
+			if (!targetTimeZone.isEmpty() && !targetTimeZones.contains(targetTimeZone)) {
+				targetTimeZones.add(targetTimeZone);
+			}
+		}
+		
+		return validateTargetTimeZones(targetTimeZones);
+	}
+	
+	/**
+	 * Parses the date-time w/ time-zone string obtained from {@link #split(String)}.
+	 *
+	 * @param dateTimeString The date-time w/ time-zone string.
+	 * @return A ZonedDateTime object parsed from the string, not null.
+	 * @throws IllegalArgumentException
+	 *         If the format of the date time is invalid i.e. could not be parsed
+	 */
+	public static ZonedDateTime parseDateTimeString(String dateTimeString) {
+		return orElseThrow(tryParseDateTimeString(dateTimeString));
+	}
+	
+	/**
+	 * Parses the date-time w/ time-zone string like {@link #parseDateTimeString(String)}, without throwing.
+	 *
+	 * @param dateTimeString The date-time w/ time-zone string.
+	 * @return A ZonedDateTime object parsed from the string, or an {@code INVALID_DATE_TIME} failure, not null.
+	 */
+	public static ConversionResult<ZonedDateTime> tryParseDateTimeString(String dateTimeString) {
+		return tryParseDateTimeString(dateTimeString, null);
+	}
+	
+	/**
+	 * Parses the date-time string like {@link #tryParseDateTimeString(String)}, taking a date-time without
+	 * a time-zone to be in the default time-zone if one is given.
+	 *
+	 * @param dateTimeString The date-time w/ or w/o time-zone string.
+	 * @param defaultZone The time-zone of a date-time without one, or null to require a time-zone.
+	 * @return A ZonedDateTime object parsed from the string, or an {@code INVALID_DATE_TIME} failure, not null.
+	 */
+	public static ConversionResult<ZonedDateTime> tryParseDateTimeString(String dateTimeString, ZoneId defaultZone) {
+		return tryParseDateTimeStringWithAmbiguity(dateTimeString, defaultZone).map(ParsedDateTime::zonedDateTime);
+	}
+	
+	/**
+	 * Parses the date-time string like {@link #tryParseDateTimeString(String, ZoneId)}, along with the daylight saving
+	 * gap or overlap its local date-time falls in when it is given without an offset.
+	 *
+	 * @param dateTimeString The date-time w/ or w/o time-zone string.
+	 * @param defaultZone The time-zone of a date-time without one, or null to require a time-zone.
+	 * @return The parsed date-time and its ambiguity, or an {@code INVALID_DATE_TIME} failure, not null.
+	 */
+	public static ConversionResult<ParsedDateTime> tryParseDateTimeStringWithAmbiguity(String dateTimeString, ZoneId defaultZone) {
+		ConversionResult<ParsedDateTime> parsedDateTime = ZonedDateTimeStringParser.tryParseWithAmbiguity(dateTimeString, defaultZone);
+		return parsedDateTime.isSuccess() ? parsedDateTime : handleInvalidDateTimeFormat(dateTimeString);
 	}
 	
 	/**
@@ -36,122 +187,181 @@ public class UserInputParser {
 	 * @param input the user input string in format: [date-time w/ time-zone] to [target time-zone]
 	 * 		  <p>
 	 * 		  i.e. "2010-02-04T14:39:28 PST to EST"
-	 * @return a pair with the date-time w/ time-zone as a {@code ZonedDateTime} and the target time-zone as a String, not null
-	 * @throws IllegalArgumentException   
-	 * 		   If the input does not follow the format
+	 * @return a pair with the date-time w/ time-zone as a {@code ZonedDateTime} and the target time-zone as a String,
+	 *         or a failure if the input does not follow the format, not null
 	 */
-	private static Pair<ZonedDateTime, String> parseInput(String input) {
-
-		validateInput(input);
-		
-		String[] textSplit = splitInputBySeparator(input);
-		validateInputFormat(textSplit);
-		
-		String dateTimeString = extractDateTimeString(textSplit);
-		String targetTimeZoneString = extractTargetTimeZoneString(textSplit);
-		
-		ZonedDateTime zonedDateTime = parseDateTime(dateTimeString);
-		return Pair.of(zonedDateTime, targetTimeZoneString);
+	private static ConversionResult<Pair<ZonedDateTime, String>> parseInput(String input) {
+		return trySplit(input).flatMap(splitInput -> 
+				tryParseDateTimeString(splitInput.getLeft()).map(zonedDateTime -> Pair.of(zonedDateTime, splitInput.getRight())));
 	}
-		
+	
 	/**
-	 * Validates the user input to ensure it follows the expected format.
+	 * Returns the value of a success, or throws the message of a failure as an {@code IllegalArgumentException}.
 	 *
-	 * @param input The user input string.
+	 * @param result the result of a stage, not null
+	 * @return the value, not null
 	 * @throws IllegalArgumentException 
-	 *         If the input is null, empty, or does not contain the TO_SEPARATOR.
+	 *         If the result is a failure.
 	 */
-	private static void validateInput(String input) {
+	private static <T> T orElseThrow(ConversionResult<T> result) {
+		return result.orElseThrow(failure -> new IllegalArgumentException(failure.message()));
+	}
 		
-		if (input == null  	|| 
-			input.isEmpty() ||
-			!input.contains(TO_SEPARATOR)
-		) {	
-			handleInvalidUserInputFormat();
+	/**
+	 * Validates the user input to ensure it is not empty.
+	 *
+	 * @param input The user input string.
+	 * @return false if the input is null or empty.
+	 */
+	private static boolean isValidInput(String input) {
+		return input != null && !input.isEmpty();
+	}
+	
+	/**
+	 * Validates that there is a date-time before the separator and a target time-zone after it.
+	 *
+	 * @param input The user input string.
+	 * @param separatorStart The index of the separator.
+	 * @param dateTimeString The text before the separator, trimmed.
+	 * @param targetTimeZoneString The text after the separator, trimmed.
+	 * @return The pair of both parts, or an {@code INVALID_INPUT} failure if either part is empty.
+	 */
+	private static ConversionResult<Pair<String, String>> validateInputParts(String input, int separatorStart, String dateTimeString, String targetTimeZoneString) {
+		String separator = input.substring(separatorStart, separatorStart + SEPARATOR_LENGTH);
+		if (dateTimeString.isEmpty()) {
+			return handleInvalidUserInputFormat("the date-time before \"" + separator + "\" at character " + (separatorStart + 1) + " is missing");
+		}
+		if (targetTimeZoneString.isEmpty()) {
+			return handleInvalidUserInputFormat("the target time-zone after \"" + separator + "\" at character " + (separatorStart + 1) + " is missing");
 		}
+		return ConversionResult.success(Pair.of(dateTimeString, targetTimeZoneString));
 	}
 	
 	/**
-	 * Validates the format of the input split array.
+	 * Validates the number of target time-zones.
 	 *
-	 * @param textSplit The array resulting from splitting the input.
-	 * @throws IllegalArgumentException 
-	 *         If the format doesn't follow the expected array length of 2
+	 * @param targetTimeZones The target time-zones.
+	 * @return The target time-zones, or a failure if there are no target time-zones or more than the maximum number of target time-zones.
 	 */
-	private static void validateInputFormat(String[] textSplit) {
-		if (textSplit.length != 2) {
-			handleInvalidUserInputFormat();
+	private static ConversionResult<List<String>> validateTargetTimeZones(List<String> targetTimeZones) {
+		if (targetTimeZones.isEmpty()) {
+			return handleInvalidUserInputFormat();
 		}
+		if (targetTimeZones.size() > MAX_TARGET_TIME_ZONES) {
+			return handleTooManyTargetTimeZones();
+		}
+		return ConversionResult.success(targetTimeZones);
 	}
 	
 	/**
-	 * Splits the input string by the TO_SEPARATOR.
+	 * Finds the separator in a single scan of the input.
 	 * <p>
-	 * The TO_SEPARATOR ensures proper handling even if the user includes
-	 * variations of the string "to" to their input, preventing potential 
-	 * issues with unexpected strings
+	 * A separator word must stand between whitespace or the start of the input, so that words containing it
+	 * (i.e. "Tokyo", "October") are not split. The last separator of the input is kept,
+	 * since the date-time may itself start with one (i.e. "in 2 hours to EST").
 	 *
 	 * @param input The input string.
-	 * @return An array of strings resulting from the split.
+	 * @return The index of the last separator, or -1 if there is none.
+	 */
+	private static int findSeparator(String input) {
+		int separatorStart = -1;
+		int length = input.length();
+		
+		for (int i = 0; i < length; i++) {
+			if (matchesArrow(input, i)) {
+				separatorStart = i;
+			}
+			else if ((i == 0 || Character.isWhitespace(input.charAt(i - 1))) && matchesWord(input, i)) {
+				separatorStart = i;
+			}
+		}
+		return separatorStart;
+	}
+	
+	/**
+	 * @return true if a separator arrow starts at the index
 	 */
-	private static String[] splitInputBySeparator(String input) {
-		return input.split(TO_SEPARATOR);
+	private static boolean matchesArrow(String input, int index) {
+		for (String arrow : SEPARATOR_ARROWS) {
+			if (input.startsWith(arrow, index)) {
+				return true;
+			}
+		}
+		return false;
 	}
 	
 	/**
-	 * Extracts the date-time string from the split array.
+	 * @return true if a separator word followed by whitespace or the end of the input starts at the index, ignoring case
+	 */
+	private static boolean matchesWord(String input, int index) {
+		for (String word : SEPARATOR_WORDS) {
+			int end = index + word.length();
+			if (input.regionMatches(true, index, word, 0, word.length()) 
+					&& (end == input.length() || Character.isWhitespace(input.charAt(end)))) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Extracts the date-time string before the separator.
 	 *
-	 * @param textSplit The array resulting from splitting the input.
+	 * @param input The input string.
+	 * @param separatorStart The index of the separator.
 	 * @return The date-time string.
 	 */
-	private static String extractDateTimeString(String[] textSplit) {
-		return textSplit[0].trim();
+	private static String extractDateTimeString(String input, int separatorStart) {
+		return input.substring(0, separatorStart).trim();
 	}
 	
 	/**
-	 * Extracts the target time-zone string from the split array, converting it to uppercase.
+	 * Extracts the target time-zone string after the separator, converting it to uppercase.
 	 *
-	 * @param textSplit The array resulting from splitting the input.
+	 * @param input The input string.
+	 * @param separatorEnd The index following the separator.
 	 * @return The target time-zone string in uppercase.
 	 */
-	private static String extractTargetTimeZoneString(String[] textSplit) {
-		return textSplit[1].trim().toUpperCase();
+	private static String extractTargetTimeZoneString(String input, int separatorEnd) {
+		return input.substring(separatorEnd).trim().toUpperCase();
 	}
 	
 	/**
-	 * Parses the date-time string using the ZonedDateTimeStringParser.
-	 *
-	 * @param dateTimeString The date-time string to parse.
-	 * @return A ZonedDateTime object parsed from the input string.
-	 * @throws IllegalArgumentException
-	 *         If the format of the date time is invalid i.e. could not be parsed
+	 * Handles the case where the user input format is invalid.
+	 * @return an {@code INVALID_INPUT} failure with a descriptive error message.
 	 */
-	private static ZonedDateTime parseDateTime(String dateTimeString) {
-		try {
-			return ZonedDateTimeStringParser.parse(dateTimeString);
-		}
-		catch (DateTimeParseException e) {
-			throw handleInvalidDateTimeFormat(dateTimeString, e);
-		}
+	private static <T> ConversionResult<T> handleInvalidUserInputFormat() {
+		PipelineMetrics.recordError(ErrorType.INVALID_INPUT);
+		return ConversionResult.failure(ErrorType.INVALID_INPUT, "Input must follow the format: " + INPUT_FORMAT + ".");
 	}
 	
 	/**
-	 * Handles the case where the user input format is invalid.
-	 * @throws IllegalArgumentException 
-	 *         with a descriptive error message.
+	 * Handles the case where the user input format is invalid, telling where.
+	 * @param reason what is wrong with the input and where
+	 * @return an {@code INVALID_INPUT} failure with a descriptive error message.
 	 */
-	private static IllegalArgumentException handleInvalidUserInputFormat() throws IllegalArgumentException {
-		throw new IllegalArgumentException("Input must follow the format: [date-time w/ time-zone] to [target time-zone].");
+	private static <T> ConversionResult<T> handleInvalidUserInputFormat(String reason) {
+		PipelineMetrics.recordError(ErrorType.INVALID_INPUT);
+		return ConversionResult.failure(ErrorType.INVALID_INPUT, "Input must follow the format: " + INPUT_FORMAT + ", but " + reason + ".");
+	}
+	
+	/**
+	 * Handles the case where the user input lists more target time-zones than allowed.
+	 * @return a {@code TOO_MANY_TARGETS} failure with a descriptive error message.
+	 */
+	private static <T> ConversionResult<T> handleTooManyTargetTimeZones() {
+		PipelineMetrics.recordError(ErrorType.TOO_MANY_TARGETS);
+		return ConversionResult.failure(ErrorType.TOO_MANY_TARGETS, "Input can list at most " + MAX_TARGET_TIME_ZONES + " target time-zones.");
 	}
 	
 	/**
 	 * Handles the case where the date-time string cannot be parsed.
 	 *
-	 * @param e the exception indicating the parsing failure
-	 * @throws IllegalArgumentException 
-	 *         with a descriptive error message.
+	 * @param dateTimeString the date-time string that could not be parsed
+	 * @return an {@code INVALID_DATE_TIME} failure with a descriptive error message.
 	 */
-	private static IllegalArgumentException handleInvalidDateTimeFormat(String dateTimeString, DateTimeParseException e) throws IllegalArgumentException {
-		throw new IllegalArgumentException("The format of the date time is invalid: " + dateTimeString, e);
+	private static <T> ConversionResult<T> handleInvalidDateTimeFormat(String dateTimeString) {
+		PipelineMetrics.recordError(ErrorType.INVALID_DATE_TIME);
+		return ConversionResult.failure(ErrorType.INVALID_DATE_TIME, "The format of the date time is invalid: " + dateTimeString);
 	}
 }
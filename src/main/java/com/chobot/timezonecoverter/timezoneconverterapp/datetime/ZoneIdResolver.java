@@ -0,0 +1,271 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.datetime;
+
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+import java.time.zone.ZoneRulesException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.PipelineMetrics.ErrorType;
+
+/**
+ * The `ZoneIdResolver` class resolves time-zone strings to a {@code ZoneId} and its {@code ZoneRules}.
+ * <p>
+ * Every spelling accepted without parsing is indexed once when the class is loaded:
+ * region IDs (i.e. "America/New_York"), their case-insensitive variants (i.e. "AMERICA/NEW_YORK"),
+ * common abbreviations (i.e. "AEST", "CEST") and ZoneId.SHORT_IDS (i.e. "PST", "IST"), which take precedence as before.
+ * A lookup of an indexed spelling is a single hash probe that allocates nothing.
+ * <p>
+ * Spellings that are not indexed, such as offsets ("+05:00", "UTC+3"), fall back to {@code ZoneId.of}.
+ * The outcome is remembered in bounded caches, so an unknown string is only ever validated once,
+ * and {@link #tryResolve(String)} reports it again without throwing.
+ *
+ * @author chobot
+ * @version 1.0
+ */
+public class ZoneIdResolver {
+
+	/**
+	 * A resolved time-zone along with its rules and the index of their transitions.
+	 *
+	 * @param zoneId the time-zone, not null
+	 * @param rules the rules of the time-zone, not null
+	 * @param transitions the offsets of the time-zone by instant, indexed over the years converted to so far, not null
+	 */
+	public record ResolvedZone(ZoneId zoneId, ZoneRules rules, ZoneTransitionIndex transitions) {
+
+		private static ResolvedZone of(ZoneId zoneId) {
+			ZoneRules rules = zoneId.getRules();
+			return new ResolvedZone(zoneId, rules, new ZoneTransitionIndex(rules));
+		}
+	}
+
+	/**
+	 * The maximum number of entries held by each of the fallback caches.
+	 * Once reached, further spellings are still resolved but no longer remembered.
+	 */
+	private static final int MAX_CACHED_SPELLINGS = 10_000;
+
+	/**
+	 * Common time-zone abbreviations that are neither in ZoneId.SHORT_IDS nor region IDs.
+	 * <p>
+	 * An abbreviation names one offset, so it maps to a region that keeps that offset all year, or else to the offset itself:
+	 * "AEST" is always +10:00 as in Australia/Brisbane, never the +11:00 of Australia/Sydney in January.
+	 * <p>
+	 * Subject to additions if need be...
+	 */
+	private static final Map<String, String> ABBREVIATIONS = Map.ofEntries(
+		Map.entry("EDT", "-04:00"),
+		Map.entry("CDT", "-05:00"),
+		Map.entry("MDT", "-06:00"),
+		Map.entry("PDT", "-07:00"),
+		Map.entry("AKST", "-09:00"),
+		Map.entry("AKDT", "-08:00"),
+		Map.entry("CEST", "+02:00"),
+		Map.entry("EEST", "+03:00"),
+		Map.entry("WEST", "+01:00"),
+		Map.entry("HKT", "Asia/Hong_Kong"),
+		Map.entry("SGT", "Asia/Singapore"),
+		Map.entry("KST", "Asia/Seoul"),
+		Map.entry("AEST", "Australia/Brisbane"),
+		Map.entry("AEDT", "+11:00"),
+		Map.entry("ACST", "Australia/Darwin"),
+		Map.entry("ACDT", "+10:30"),
+		Map.entry("AWST", "Australia/Perth"),
+		Map.entry("NZST", "+12:00"),
+		Map.entry("NZDT", "+13:00")
+	);
+
+	/**
+	 * The immutable index of every spelling resolved at startup.
+	 */
+	private static final Map<String, ResolvedZone> ZONES = buildIndex();
+
+	/**
+	 * The spellings resolved through {@code ZoneId.of} after startup, i.e. offsets.
+	 */
+	private static final Map<String, ResolvedZone> RESOLVED_SPELLINGS = new ConcurrentHashMap<>();
+
+	/**
+	 * The spellings that {@code ZoneId.of} rejected, along with the kind and message of the exception it threw.
+	 */
+	private static final Map<String, UnknownSpelling> UNKNOWN_SPELLINGS = new ConcurrentHashMap<>();
+
+	/**
+	 * Why {@code ZoneId.of} rejected a spelling. The exception itself is not kept, as rethrowing the same instance
+	 * on every thread would share its stack trace and whatever suppressed exceptions or cause are added to it.
+	 *
+	 * @param error {@code UNKNOWN_ZONE} for a region ID that cannot be found, {@code INVALID_ZONE} for an invalid format
+	 * @param message the message of the exception
+	 */
+	private record UnknownSpelling(ErrorType error, String message) {
+
+		static UnknownSpelling of(DateTimeException e) {
+			return new UnknownSpelling(e instanceof ZoneRulesException ? ErrorType.UNKNOWN_ZONE : ErrorType.INVALID_ZONE, e.getMessage());
+		}
+
+		/**
+		 * @return a new exception of the kind {@code ZoneId.of} threw
+		 */
+		DateTimeException toException() {
+			return error == ErrorType.UNKNOWN_ZONE ? new ZoneRulesException(message) : new DateTimeException(message);
+		}
+	}
+
+	/**
+	 * Resolves a time-zone string as a {@code ZoneId} and its {@code ZoneRules}.
+	 *
+	 * @param timeZoneString
+	 *        time zone string, not null (usually in short form i.e. "EST", "PST")
+	 * @return the resolved time-zone, not null
+	 * @throws DateTimeException
+	 *         If the zone ID has an invalid format
+	 * @throws java.time.zone.ZoneRulesException
+	 *         If the zone ID is a region ID that cannot be found
+	 */
+	public static ResolvedZone resolve(String timeZoneString) {
+		ResolvedZone zone = ZONES.get(timeZoneString);
+		if (zone != null) {
+			return zone;
+		}
+
+		zone = RESOLVED_SPELLINGS.get(timeZoneString);
+		if (zone != null) {
+			return zone;
+		}
+
+		UnknownSpelling unknown = UNKNOWN_SPELLINGS.get(timeZoneString);
+		if (unknown != null) {
+			throw unknown.toException();
+		}
+
+		return resolveUnindexed(timeZoneString);
+	}
+
+	/**
+	 * Resolves a time-zone string as a {@code ZoneId} and its {@code ZoneRules}, without throwing for an unknown string
+	 * once it has been validated.
+	 *
+	 * @param timeZoneString
+	 *        time zone string, not null (usually in short form i.e. "EST", "PST")
+	 * @return the resolved time-zone, or a {@code UNKNOWN_ZONE} failure if the zone ID is a region ID that cannot be found,
+	 *         or an {@code INVALID_ZONE} failure if the zone ID has an invalid format, not null
+	 */
+	public static ConversionResult<ResolvedZone> tryResolve(String timeZoneString) {
+		ResolvedZone zone = ZONES.get(timeZoneString);
+		if (zone == null) {
+			zone = RESOLVED_SPELLINGS.get(timeZoneString);
+		}
+		if (zone != null) {
+			return ConversionResult.success(zone);
+		}
+
+		UnknownSpelling unknown = UNKNOWN_SPELLINGS.get(timeZoneString);
+		if (unknown == null) {
+			try {
+				return ConversionResult.success(resolveUnindexed(timeZoneString));
+			}
+			catch (DateTimeException e) {
+				unknown = UnknownSpelling.of(e);
+			}
+		}
+		return ConversionResult.failure(unknown.error(), unknown.message());
+	}
+
+	/**
+	 * Returns the abbreviations in the index: the common abbreviations and ZoneId.SHORT_IDS, i.e. "CEST", "PST".
+	 *
+	 * @return the upper-case abbreviations, not null
+	 */
+	static Set<String> abbreviations() {
+		Set<String> abbreviations = new HashSet<>(ABBREVIATIONS.keySet());
+		abbreviations.addAll(ZoneId.SHORT_IDS.keySet());
+		return abbreviations;
+	}
+
+	/**
+	 * Returns the number of spellings in the index. Calling it builds the index, and so loads the rules of every region.
+	 *
+	 * @return the number of indexed spellings
+	 */
+	public static int indexSize() {
+		return ZONES.size();
+	}
+
+	/**
+	 * Resolves a spelling that is not in the index, by its case-insensitive variant or else by {@code ZoneId.of},
+	 * and remembers the outcome.
+	 *
+	 * @param timeZoneString time zone string, not null
+	 * @return the resolved time-zone, not null
+	 * @throws DateTimeException
+	 *         If the zone ID has an invalid format, or zone ID region ID not found
+	 */
+	private static ResolvedZone resolveUnindexed(String timeZoneString) {
+		ResolvedZone zone = ZONES.get(timeZoneString.toUpperCase(Locale.ROOT));
+		if (zone != null) {
+			remember(RESOLVED_SPELLINGS, timeZoneString, zone);
+			return zone;
+		}
+
+		try {
+			zone = ResolvedZone.of(ZoneId.of(timeZoneString));
+			remember(RESOLVED_SPELLINGS, timeZoneString, zone);
+			return zone;
+		}
+		catch (DateTimeException e) {
+			remember(UNKNOWN_SPELLINGS, timeZoneString, UnknownSpelling.of(e));
+			throw e;
+		}
+	}
+
+	/**
+	 * Adds an entry to a fallback cache unless the cache is full.
+	 *
+	 * @param cache the cache to add to
+	 * @param key the spelling
+	 * @param value the outcome of resolving the spelling
+	 */
+	private static <V> void remember(Map<String, V> cache, String key, V value) {
+		if (cache.size() < MAX_CACHED_SPELLINGS) {
+			cache.putIfAbsent(key, value);
+		}
+	}
+
+	/**
+	 * Builds the index of every accepted spelling.
+	 * <p>
+	 * Region IDs come first, then their upper-case variants and the abbreviations where they do not collide,
+	 * and ZoneId.SHORT_IDS last so that they keep precedence over a region ID of the same name (i.e. "EST").
+	 * A spelling of a region shares the resolved zone of the region ID, and so the index of its transitions.
+	 *
+	 * @return the immutable index, not null
+	 */
+	private static Map<String, ResolvedZone> buildIndex() {
+		Map<String, ResolvedZone> index = new HashMap<>();
+
+		for (String regionId : ZoneId.getAvailableZoneIds()) {
+			index.put(regionId, ResolvedZone.of(ZoneId.of(regionId)));
+		}
+		for (String regionId : ZoneId.getAvailableZoneIds()) {
+			index.putIfAbsent(regionId.toUpperCase(Locale.ROOT), index.get(regionId));
+		}
+		ABBREVIATIONS.forEach((abbreviation, zoneId) -> index.putIfAbsent(abbreviation, indexed(index, zoneId)));
+		ZoneId.SHORT_IDS.forEach((shortId, zoneId) -> index.put(shortId, indexed(index, zoneId)));
+
+		return Map.copyOf(index);
+	}
+
+	/**
+	 * @return the resolved zone of the region ID in the index, or a new one for an offset, i.e. "-05:00"
+	 */
+	private static ResolvedZone indexed(Map<String, ResolvedZone> index, String zoneId) {
+		ResolvedZone zone = index.get(zoneId);
+		return zone != null ? zone : ResolvedZone.of(ZoneId.of(zoneId));
+	}
+}
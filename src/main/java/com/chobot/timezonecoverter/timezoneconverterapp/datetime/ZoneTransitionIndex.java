@@ -0,0 +1,184 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.datetime;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+
+/**
+ * The `ZoneTransitionIndex` class looks up the offset of a time-zone at an instant without allocating.
+ * <p>
+ * The index holds the transitions of the zone over a range of years as a sorted {@code long[]} of epoch-seconds,
+ * along with an {@code int[]} of the offset in effect from each transition on, so a lookup is a binary search.
+ * The range only covers the years actually queried: it starts empty and grows a decade at a time
+ * when an instant outside of it is looked up, between {@value #MIN_INDEXED_YEAR} and {@value #MAX_INDEXED_YEAR}.
+ * Instants outside of those years are looked up in the {@code ZoneRules}, as are the instants of a fixed offset zone.
+ * <p>
+ * Unlike {@code ZoneRules}, which derives the transitions of the years after its last historic transition
+ * from recurring rules and caches them by year, the index holds every transition of its range in the same two arrays.
+ *
+ * Usage Example:
+ * {@code
+ * ZoneTransitionIndex index = new ZoneTransitionIndex(ZoneId.of("America/New_York").getRules());
+ * int offsetSeconds = index.offsetSecondsAt(Instant.now().getEpochSecond());
+ * }
+ *
+ * @author chobot
+ * @version 1.0
+ */
+public class ZoneTransitionIndex {
+
+	/**
+	 * The first year that can be indexed. Older instants are looked up in the {@code ZoneRules}.
+	 */
+	public static final int MIN_INDEXED_YEAR = 1800;
+
+	/**
+	 * The last year that can be indexed. Later instants are looked up in the {@code ZoneRules}.
+	 */
+	public static final int MAX_INDEXED_YEAR = 2199;
+
+	/**
+	 * The number of years the index grows by, aligned on multiples of it.
+	 */
+	private static final int YEARS_PER_BLOCK = 10;
+
+	private static final long SECONDS_PER_DAY = 86_400;
+
+	private static final long MIN_INDEXED_EPOCH_SECOND = startOfYear(MIN_INDEXED_YEAR);
+	private static final long MAX_INDEXED_EPOCH_SECOND = startOfYear(MAX_INDEXED_YEAR + 1);
+
+	private final ZoneRules rules;
+
+	/**
+	 * Whether the zone has a fixed offset, and so no transitions to index.
+	 */
+	private final boolean fixedOffset;
+	private final int fixedOffsetSeconds;
+
+	/**
+	 * The indexed transitions, replaced as a whole when the range grows.
+	 */
+	private volatile Transitions transitions = Transitions.EMPTY;
+
+	/**
+	 * Creates an empty index.
+	 *
+	 * @param rules the rules of the time-zone, not null
+	 */
+	public ZoneTransitionIndex(ZoneRules rules) {
+		this.rules = rules;
+		this.fixedOffset = rules.isFixedOffset();
+		this.fixedOffsetSeconds = rules.getOffset(Instant.EPOCH).getTotalSeconds();
+	}
+
+	/**
+	 * Returns the offset of the time-zone at an instant, indexing the decade of the instant first if need be.
+	 *
+	 * @param epochSecond the instant, as seconds from the epoch of 1970-01-01T00:00:00Z
+	 * @return the total offset in seconds, identical to {@code rules.getOffset(Instant.ofEpochSecond(epochSecond))}
+	 */
+	public int offsetSecondsAt(long epochSecond) {
+		if (fixedOffset) {
+			return fixedOffsetSeconds;
+		}
+
+		Transitions indexed = transitions;
+		if (!indexed.covers(epochSecond)) {
+			if (epochSecond < MIN_INDEXED_EPOCH_SECOND || epochSecond >= MAX_INDEXED_EPOCH_SECOND) {
+				return rules.getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds();
+			}
+			indexed = extendTo(epochSecond);
+		}
+		return indexed.offsetSecondsAt(epochSecond);
+	}
+
+	/**
+	 * Grows the indexed range to the decade of the instant and rebuilds the transitions over the whole range.
+	 *
+	 * @param epochSecond the instant to cover, between the minimum and the maximum indexed years
+	 * @return the transitions covering the instant
+	 */
+	private synchronized Transitions extendTo(long epochSecond) {
+		Transitions indexed = transitions;
+		if (indexed.covers(epochSecond)) {
+			return indexed;
+		}
+
+		int blockStartYear = Math.floorDiv(yearOf(epochSecond), YEARS_PER_BLOCK) * YEARS_PER_BLOCK;
+		long start = startOfYear(Math.max(blockStartYear, MIN_INDEXED_YEAR));
+		long end = startOfYear(Math.min(blockStartYear + YEARS_PER_BLOCK, MAX_INDEXED_YEAR + 1));
+		if (indexed != Transitions.EMPTY) {
+			start = Math.min(start, indexed.start);
+			end = Math.max(end, indexed.end);
+		}
+
+		indexed = Transitions.build(rules, start, end);
+		transitions = indexed;
+		return indexed;
+	}
+
+	private static long startOfYear(int year) {
+		return LocalDate.of(year, 1, 1).toEpochDay() * SECONDS_PER_DAY;
+	}
+
+	private static int yearOf(long epochSecond) {
+		return LocalDate.ofEpochDay(Math.floorDiv(epochSecond, SECONDS_PER_DAY)).getYear();
+	}
+
+	/**
+	 * The transitions of a range of instants.
+	 * <p>
+	 * {@code offsets[0]} is in effect at the start of the range, and {@code offsets[i + 1]} from {@code epochSeconds[i]} on.
+	 */
+	private static class Transitions {
+
+		private static final Transitions EMPTY = new Transitions(0, 0, new long[0], new int[] { 0 });
+
+		private final long start;
+		private final long end;
+		private final long[] epochSeconds;
+		private final int[] offsets;
+
+		private Transitions(long start, long end, long[] epochSeconds, int[] offsets) {
+			this.start = start;
+			this.end = end;
+			this.epochSeconds = epochSeconds;
+			this.offsets = offsets;
+		}
+
+		/**
+		 * Collects the transitions of the rules from the start, inclusive, to the end, exclusive.
+		 */
+		private static Transitions build(ZoneRules rules, long start, long end) {
+			long[] epochSeconds = new long[16];
+			int[] offsets = new int[17];
+			int count = 0;
+
+			Instant instant = Instant.ofEpochSecond(start);
+			offsets[0] = rules.getOffset(instant).getTotalSeconds();
+			ZoneOffsetTransition transition = rules.nextTransition(instant);
+			while (transition != null && transition.toEpochSecond() < end) {
+				if (count == epochSeconds.length) {
+					epochSeconds = Arrays.copyOf(epochSeconds, count * 2);
+					offsets = Arrays.copyOf(offsets, count * 2 + 1);
+				}
+				epochSeconds[count] = transition.toEpochSecond();
+				offsets[++count] = transition.getOffsetAfter().getTotalSeconds();
+				transition = rules.nextTransition(transition.getInstant());
+			}
+			return new Transitions(start, end, Arrays.copyOf(epochSeconds, count), Arrays.copyOf(offsets, count + 1));
+		}
+
+		private boolean covers(long epochSecond) {
+			return epochSecond >= start && epochSecond < end;
+		}
+
+		private int offsetSecondsAt(long epochSecond) {
+			int index = Arrays.binarySearch(epochSeconds, epochSecond);
+			// at a transition, the offset after it is in effect
+			return offsets[index >= 0 ? index + 1 : -index - 1];
+		}
+	}
+}
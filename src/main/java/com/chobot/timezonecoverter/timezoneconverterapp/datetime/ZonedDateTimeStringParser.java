@@ -1,19 +1,43 @@
 package com.chobot.timezonecoverter.timezoneconverterapp.datetime;
 
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.PipelineMetrics.ErrorType;
 
 /**
  * The `ZonedDateTimeStringParser` class provides functionality to parse zoned date-time strings.
  * It supports both ISO-8601 and custom date-time formats commonly used in user input.
- * If the input string cannot be parsed using any of the specified formatters, a DateTimeParseException is thrown.
+ * If the input string cannot be parsed using any of the specified formatters, {@code tryParse} returns a failure and {@code parse} throws a DateTimeParseException.
  * <p>
  * The class uses a set of custom date-time formatters to handle various non-ISO-8601 date-time representations.
  * These formatters cover common ways users might input a zoned date-time.
  * <p>
+ * The input is scanned once to classify its {@code DateTimeShape}, and only the formatters registered for that shape
+ * are attempted, so a successful parse never goes through a failed formatter attempt.
+ * The formatters of a shape are attempted in the order of the {@code AdaptiveFormatterOrder}, the most often matched first,
+ * unless the order is pinned with the DATETIME_FORMATTER_ORDER_PINNED environment variable.
+ * <p>
+ * When a default time-zone is given, i.e. the one of the user's profile, a date-time that no formatter parses
+ * is attempted with the same layouts without a time-zone, and taken to be in the default time-zone.
+ * <p>
+ * A date-time given with a region time-zone but no offset, whose local date-time falls in a daylight saving gap
+ * or overlap, is reported along with its {@code DstAmbiguity} by {@code tryParseWithAmbiguity}. A standard or daylight
+ * abbreviation, i.e. "PST" or "PDT", names the offset, so such a date-time is read at that offset instead.
+ * <p>
  * Subject to additions if need be...
  * 
  * @author chobot
@@ -21,6 +45,14 @@ import java.util.List;
  */
 public class ZonedDateTimeStringParser {
 	
+	/**
+	 * A parsed date-time along with the daylight saving ambiguity of its local date-time, if any.
+	 *
+	 * @param zonedDateTime the parsed date-time, as {@code ZonedDateTime} resolves it, not null
+	 * @param ambiguity the gap or overlap the local date-time falls in, or null if it names a single instant
+	 */
+	public record ParsedDateTime(ZonedDateTime zonedDateTime, DstAmbiguity ambiguity) {}
+	
 	/**
 	 * The custom date-time formatters that follow common ways in which a user might input a zoned date-time that is not ISO-8601 zoned date-time format
 	 * <p>
@@ -28,15 +60,111 @@ public class ZonedDateTimeStringParser {
 	 */
 	private static final List<DateTimeFormatter> FORMATTERS = new ArrayList<>();
 	
+	/**
+	 * The formatters that could parse an input of a given shape, in the order they were registered.
+	 * The ISO-8601 formatter is registered before the custom formatters.
+	 */
+	private static final Map<DateTimeShape, List<DateTimeFormatter>> FORMATTERS_BY_SHAPE = new EnumMap<>(DateTimeShape.class);
+	
+	/**
+	 * The name of each formatter, i.e. its pattern, as reported in the metrics.
+	 */
+	private static final Map<DateTimeFormatter, String> FORMATTER_NAMES = new IdentityHashMap<>();
+	
+	/**
+	 * The average number of parsed inputs between two reorders of the formatters.
+	 */
+	private static final int REORDER_INTERVAL = 1024;
+	
+	/**
+	 * The order in which the formatters of each shape are attempted.
+	 */
+	private static final AdaptiveFormatterOrder FORMATTER_ORDER;
+	
+	/**
+	 * The formatters of the same layouts as the custom formatters but without a time-zone, i.e. "Nov 30, 2023 2:45 PM",
+	 * attempted only when a default time-zone is given.
+	 */
+	private static final Map<DateTimeFormatter, String> LOCAL_FORMATTERS = new LinkedHashMap<>();
+	
 	static {
-		FORMATTERS.add(DateTimeFormatter.RFC_1123_DATE_TIME);
-		FORMATTERS.add(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss z"));
-		FORMATTERS.add(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss Z"));
-		FORMATTERS.add(DateTimeFormatter.ofPattern("EEE, MMM dd, yyyy h:mm a z"));
-		FORMATTERS.add(DateTimeFormatter.ofPattern("MMMM dd, yyyy h:mm a z"));
-		FORMATTERS.add(DateTimeFormatter.ofPattern("yyyy.MM.dd G 'at' HH:mm:ss z"));
-		FORMATTERS.add(DateTimeFormatter.ofPattern("MMM dd, yyyy h:mm a z"));
-        FORMATTERS.add(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss z"));
+		addShapes("ISO_ZONED_DATE_TIME", DateTimeFormatter.ISO_ZONED_DATE_TIME, DateTimeShape.NUMERIC_DATE_T_TIME);
+		
+		addFormatter("RFC_1123_DATE_TIME", DateTimeFormatter.RFC_1123_DATE_TIME, DateTimeShape.DAY_OF_MONTH_FIRST, DateTimeShape.DAY_NAME_DAY_OF_MONTH);
+		addFormatter("yyyy-MM-dd HH:mm:ss z", DateTimeShape.NUMERIC_DATE_SPACE_TIME);
+		addFormatter("yyyy-MM-dd HH:mm:ss Z", DateTimeShape.NUMERIC_DATE_SPACE_TIME);
+		addFormatter("EEE, MMM dd, yyyy h:mm a z", DateTimeShape.DAY_NAME_MONTH_NAME);
+		addFormatter("MMMM dd, yyyy h:mm a z", DateTimeShape.MONTH_NAME_FIRST);
+		addFormatter("yyyy.MM.dd G 'at' HH:mm:ss z", DateTimeShape.NUMERIC_DATE_ERA);
+		addFormatter("MMM dd, yyyy h:mm a z", DateTimeShape.MONTH_NAME_FIRST);
+		addFormatter("yyyy-MM-dd'T'HH:mm:ss z", DateTimeShape.NUMERIC_DATE_T_TIME);
+		
+		addLocalFormatter("ISO_LOCAL_DATE_TIME", DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+		addLocalFormatter("yyyy-MM-dd HH:mm:ss");
+		addLocalFormatter("EEE, MMM dd, yyyy h:mm a");
+		addLocalFormatter("MMMM dd, yyyy h:mm a");
+		addLocalFormatter("yyyy.MM.dd G 'at' HH:mm:ss");
+		addLocalFormatter("MMM dd, yyyy h:mm a");
+		addLocalFormatter("EEE, d MMM yyyy HH:mm:ss");
+		addLocalFormatter("d MMM yyyy HH:mm:ss");
+		
+		FORMATTER_ORDER = new AdaptiveFormatterOrder(FORMATTERS_BY_SHAPE, REORDER_INTERVAL);
+		FORMATTER_ORDER.setPinned(Boolean.parseBoolean(System.getenv("DATETIME_FORMATTER_ORDER_PINNED")));
+	}
+	
+	/**
+	 * Adds a custom formatter of the pattern and registers it for each of the shapes of input it is able to parse.
+	 *
+	 * @param pattern the pattern of the formatter to add
+	 * @param shapes the shapes of input the formatter is able to parse
+	 */
+	private static void addFormatter(String pattern, DateTimeShape... shapes) {
+		addFormatter(pattern, DateTimeFormatter.ofPattern(pattern), shapes);
+	}
+	
+	/**
+	 * Adds a custom formatter and registers it for each of the shapes of input it is able to parse.
+	 *
+	 * @param name the name of the formatter
+	 * @param formatter the formatter to add
+	 * @param shapes the shapes of input the formatter is able to parse
+	 */
+	private static void addFormatter(String name, DateTimeFormatter formatter, DateTimeShape... shapes) {
+		FORMATTERS.add(formatter);
+		addShapes(name, formatter, shapes);
+	}
+	
+	/**
+	 * Adds a formatter of the pattern for date-times without a time-zone.
+	 *
+	 * @param pattern the pattern of the formatter to add
+	 */
+	private static void addLocalFormatter(String pattern) {
+		addLocalFormatter(pattern, DateTimeFormatter.ofPattern(pattern));
+	}
+	
+	/**
+	 * Adds a formatter for date-times without a time-zone.
+	 *
+	 * @param name the name of the formatter
+	 * @param formatter the formatter to add
+	 */
+	private static void addLocalFormatter(String name, DateTimeFormatter formatter) {
+		LOCAL_FORMATTERS.put(formatter, name);
+	}
+	
+	/**
+	 * Registers a formatter for each of the shapes of input it is able to parse.
+	 *
+	 * @param name the name of the formatter
+	 * @param formatter the formatter to register
+	 * @param shapes the shapes of input the formatter is able to parse
+	 */
+	private static void addShapes(String name, DateTimeFormatter formatter, DateTimeShape... shapes) {
+		FORMATTER_NAMES.put(formatter, name);
+		for (DateTimeShape shape : shapes) {
+			FORMATTERS_BY_SHAPE.computeIfAbsent(shape, key -> new ArrayList<>()).add(formatter);
+		}
 	}
 	
 	/**
@@ -48,109 +176,198 @@ public class ZonedDateTimeStringParser {
      *         If the text cannot be parsed.
      */
 	public static ZonedDateTime parse(String zonedDateTimeString) {
-		return parseZonedDateTimeString(zonedDateTimeString);
+		return tryParse(zonedDateTimeString)
+				.orElseThrow(failure -> new DateTimeParseException(failure.message(), zonedDateTimeString, 0));
     }
 	
-    /**
-     * Parses a zoned date-time string using both ISO-8601 and custom formatters.
-     * <p>
-     * If the input string cannot be parsed using any of the specified formatters, a {@code DateTimeParseException} is thrown.
+	/**
+     * Parses a string representing a zoned date-time as a {@code ZonedDateTime}, without throwing if it cannot be parsed.
      *
      * @param zonedDateTimeString The date-time w/ time-zone string to parse.
-     * @return The parsed zoned date-time, not null.
-     * @throws DateTimeParseException 
-     *         If the text cannot be parsed by any formatter.
+     * @return The parsed zoned date-time, or an {@code INVALID_DATE_TIME} failure if the text cannot be parsed, not null.
      */
-	private static ZonedDateTime parseZonedDateTimeString(String zonedDateTimeString) {
-		try {
-			return parseIso8601(zonedDateTimeString);
-		}
-		catch (DateTimeParseException e) {
-			System.out.println(e.getMessage());
-		}
-		
-		try {
-			return parseWithCustomFormatters(zonedDateTimeString);
+	public static ConversionResult<ZonedDateTime> tryParse(String zonedDateTimeString) {
+		return parseZonedDateTimeString(zonedDateTimeString).map(ParsedDateTime::zonedDateTime);
+    }
+	
+	/**
+     * Parses a string representing a zoned date-time as a {@code ZonedDateTime}, without throwing if it cannot be parsed.
+     * A date-time without a time-zone, i.e. "Nov 30, 2023 2:45 PM", is taken to be in the default time-zone if one is given.
+     *
+     * @param zonedDateTimeString The date-time w/ or w/o time-zone string to parse.
+     * @param defaultZone The time-zone of a date-time without one, or null to require a time-zone.
+     * @return The parsed zoned date-time, or an {@code INVALID_DATE_TIME} failure if the text cannot be parsed, not null.
+     */
+	public static ConversionResult<ZonedDateTime> tryParse(String zonedDateTimeString, ZoneId defaultZone) {
+		return tryParseWithAmbiguity(zonedDateTimeString, defaultZone).map(ParsedDateTime::zonedDateTime);
+    }
+	
+	/**
+     * Parses a string representing a zoned date-time like {@link #tryParse(String, ZoneId)}, along with the daylight
+     * saving gap or overlap its local date-time falls in when it is given without an offset.
+     *
+     * @param zonedDateTimeString The date-time w/ or w/o time-zone string to parse.
+     * @param defaultZone The time-zone of a date-time without one, or null to require a time-zone.
+     * @return The parsed date-time and its ambiguity, or an {@code INVALID_DATE_TIME} failure if the text cannot be parsed, not null.
+     */
+	public static ConversionResult<ParsedDateTime> tryParseWithAmbiguity(String zonedDateTimeString, ZoneId defaultZone) {
+		ConversionResult<ParsedDateTime> parsedDateTime = parseZonedDateTimeString(zonedDateTimeString);
+		if (parsedDateTime.isSuccess() || defaultZone == null) {
+			return parsedDateTime;
 		}
-		catch (DateTimeParseException e) {
-			System.out.println(e.getMessage());
+		return parseLocalDateTimeString(zonedDateTimeString, defaultZone);
+    }
+	
+	/**
+	 * Returns the order in which the formatters of each shape are currently attempted, along with their match counts.
+	 *
+	 * @return the formatter names of each shape mapped to the number of inputs they parsed, in the order they are attempted
+	 */
+	public static Map<DateTimeShape, Map<String, Long>> getFormatterOrder() {
+		Map<DateTimeShape, Map<String, Long>> formatterOrder = new EnumMap<>(DateTimeShape.class);
+		for (DateTimeShape shape : FORMATTERS_BY_SHAPE.keySet()) {
+			Map<String, Long> formatters = new LinkedHashMap<>();
+			for (DateTimeFormatter formatter : FORMATTER_ORDER.candidates(shape)) {
+				formatters.put(FORMATTER_NAMES.get(formatter), FORMATTER_ORDER.matches(formatter));
+			}
+			formatterOrder.put(shape, formatters);
 		}
-		
-        throw handleNoFormatterPatternFit(zonedDateTimeString);
+		return formatterOrder;
 	}
 	
 	/**
-	 * The default date time parser.
-     * Obtains an instance of {@code ZonedDateTime} from a text string such as
-     * {@code 2007-12-03T10:15:30+01:00[Europe/Paris]}.
-     * <p>
-     * The string must represent a valid date-time and is parsed using
-     * {@link java.time.format.DateTimeFormatter#ISO_ZONED_DATE_TIME}.
-     *
-     * @param zonedDateTimeString  the text to parse such as "2007-12-03T10:15:30+01:00[Europe/Paris]", not null
-     * @return the parsed zoned date-time, not null
-     * @throws DateTimeParseException if the text cannot be parsed
-     */
-	private static ZonedDateTime parseIso8601(String zonedDateTimeString) {
-		try {
-			return ZonedDateTime.parse(zonedDateTimeString);
+	 * Returns the formatters of date-times without a time-zone, attempted when a default time-zone is given.
+	 *
+	 * @return the formatter names, in the order they are attempted
+	 */
+	public static List<String> getLocalFormatterNames() {
+		return List.copyOf(LOCAL_FORMATTERS.values());
+	}
+	
+	/**
+	 * Formats the sample date-time with every formatter and parses it back, loading and exercising each pattern
+	 * without counting a match, so that warming up leaves the order of the formatters unchanged.
+	 *
+	 * @param sample the date-time to format and parse, not null
+	 * @return the number of formatters that parsed their own output back
+	 */
+	public static int warmUp(ZonedDateTime sample) {
+		int parsed = 0;
+		for (DateTimeFormatter formatter : FORMATTER_NAMES.keySet()) {
+			String text = formatter.format(sample);
+			if (fitsFormatter(text, formatter) && ZonedDateTime.parse(text, formatter) != null) {
+				parsed++;
+			}
 		}
-		catch (DateTimeParseException e) {
-			throw handleNoIso8601FormatterPatternFit(zonedDateTimeString);
+		for (DateTimeFormatter formatter : LOCAL_FORMATTERS.keySet()) {
+			String text = formatter.format(sample);
+			if (fitsFormatter(text, formatter) && LocalDateTime.parse(text, formatter) != null) {
+				parsed++;
+			}
 		}
+		return parsed;
 	}
 	
 	/**
-	 * The custom date time parser utilizing preset patterns for common date time entries. 
-	 * 
-	 * @param zonedDateTimeString
-	 * 		  the text to parse that does not follow the {@link java.time.format.DateTimeFormatter#ISO_ZONED_DATE_TIME} format.
-	 * @return the parsed zoned date-time, not null
-     * @throws DateTimeParseException 
-     *         if the text cannot be parsed
+	 * Pins the formatters to their registration order, or lets their order adapt to the observed matches.
+	 *
+	 * @param pinned true to pin the order
 	 */
-	private static ZonedDateTime parseWithCustomFormatters(String zonedDateTimeString) {
-		for (DateTimeFormatter formatter : FORMATTERS) {
+	public static void setFormatterOrderPinned(boolean pinned) {
+		FORMATTER_ORDER.setPinned(pinned);
+	}
+	
+    /**
+     * Parses a zoned date-time string using the ISO-8601 and custom formatters that fit the shape of the input.
+     * <p>
+     * Every candidate is checked to fit the input before parsing it, so no exception is thrown and caught
+     * whether the input is valid or not: an invalid input costs at most the checks, a valid one the checks and a single parse.
+     * If the input string cannot be parsed using any of the candidate formatters, an {@code INVALID_DATE_TIME} failure is returned.
+     *
+     * @param zonedDateTimeString The date-time w/ time-zone string to parse.
+     * @return The parsed zoned date-time and its ambiguity, or an {@code INVALID_DATE_TIME} failure, not null.
+     */
+	private static ConversionResult<ParsedDateTime> parseZonedDateTimeString(String zonedDateTimeString) {
+		for (DateTimeFormatter formatter : FORMATTER_ORDER.candidates(DateTimeShape.classify(zonedDateTimeString))) {
+			if (!fitsFormatter(zonedDateTimeString, formatter)) {
+				continue;
+			}
+			
 			try {
-				return ZonedDateTime.parse(zonedDateTimeString, formatter);
+				TemporalAccessor parsed = formatter.parse(zonedDateTimeString);
+				ZonedDateTime zonedDateTime = ZonedDateTime.from(parsed);
+				FORMATTER_ORDER.recordMatch(formatter);
+				PipelineMetrics.recordFormatterMatch(FORMATTER_NAMES.get(formatter));
+				// an offset given along with the time-zone picks the instant, i.e. "2023-11-05T01:30-08:00[America/Los_Angeles]"
+				DstAmbiguity ambiguity = parsed.query(TemporalQueries.offset()) == null
+						? DstAmbiguity.find(LocalDateTime.from(parsed), zonedDateTime.getZone())
+						: null;
+				if (ambiguity != null) {
+					// so does a standard or daylight abbreviation, i.e. "PDT", which ends the text of the formatters with a name
+					ZonedDateTime named = ambiguity.resolveNamed(zonedDateTimeString.substring(zonedDateTimeString.lastIndexOf(' ') + 1));
+					if (named != null) {
+						zonedDateTime = named;
+						ambiguity = null;
+					}
+				}
+				return ConversionResult.success(new ParsedDateTime(zonedDateTime, ambiguity));
 			}
-			catch (DateTimeParseException e) {
+			catch (DateTimeException e) {
+				// the text fits the pattern but its fields do not resolve to a date-time, i.e. an hour of 25
 				continue;
 			}
 		}
-		throw handleNoCustomFormatterPatternFit(zonedDateTimeString);
+		
+        return handleNoFormatterPatternFit();
 	}
 	
 	/**
-	 * Handles the case when none of the formatter patterns fit for parsing the input date-time.
+	 * Parses a date-time string without a time-zone using the formatters that fit the input, in the default time-zone.
 	 *
-	 * @param zonedDateTimeString The input date-time string that failed to be parsed by all formatter patterns
-	 * @return A {@code DateTimeParseException} indicating the failure
-	 * @throws DateTimeParseException if none of the formatter patterns can parse the input date-time
+	 * @param localDateTimeString The date-time w/o time-zone string to parse.
+	 * @param defaultZone The time-zone of the date-time.
+	 * @return The parsed zoned date-time and its ambiguity, or an {@code INVALID_DATE_TIME} failure, not null.
 	 */
-	private static DateTimeParseException handleNoFormatterPatternFit(String zonedDateTimeString) throws DateTimeParseException {
-		throw new DateTimeParseException("All formatter patterns failed to parse the input date-time.", zonedDateTimeString, 0);
+	private static ConversionResult<ParsedDateTime> parseLocalDateTimeString(String localDateTimeString, ZoneId defaultZone) {
+		for (Map.Entry<DateTimeFormatter, String> formatter : LOCAL_FORMATTERS.entrySet()) {
+			if (!fitsFormatter(localDateTimeString, formatter.getKey())) {
+				continue;
+			}
+			
+			try {
+				LocalDateTime localDateTime = LocalDateTime.parse(localDateTimeString, formatter.getKey());
+				PipelineMetrics.recordFormatterMatch(formatter.getValue());
+				return ConversionResult.success(new ParsedDateTime(localDateTime.atZone(defaultZone), DstAmbiguity.find(localDateTime, defaultZone)));
+			}
+			catch (DateTimeException e) {
+				continue;
+			}
+		}
+		
+		return handleNoFormatterPatternFit();
 	}
 	
 	/**
-	 * Handles the case when none of the ISO-8601 formatter patterns fit for parsing the input date-time.
+	 * Checks whether the formatter is able to parse the whole text, without resolving the parsed fields.
+	 * Unlike a full parse, a mismatch is reported through the {@code ParsePosition} rather than an exception.
 	 *
-	 * @param zonedDateTimeString The input date-time string that failed to be parsed by all ISO-8601 formatter patterns
-	 * @return A {@code DateTimeParseException} indicating the failure
-	 * @throws DateTimeParseException if none of the ISO-8601 formatter patterns can parse the input date-time
+	 * @param zonedDateTimeString the text to check
+	 * @param formatter the formatter to check the text against
+	 * @return true if the formatter parses the whole text
 	 */
-	private static DateTimeParseException handleNoIso8601FormatterPatternFit(String zonedDateTimeString) throws DateTimeParseException {
-		throw new DateTimeParseException("All ISO-8601 formatter patterns failed to parse the input date-time.", zonedDateTimeString, 0);
+	private static boolean fitsFormatter(String zonedDateTimeString, DateTimeFormatter formatter) {
+		ParsePosition position = new ParsePosition(0);
+		return formatter.parseUnresolved(zonedDateTimeString, position) != null 
+				&& position.getErrorIndex() < 0 
+				&& position.getIndex() == zonedDateTimeString.length();
 	}
 	
 	/**
-	 * Handles the case when none of the custom formatter patterns fit for parsing the input date-time.
+	 * Handles the case when none of the formatter patterns fit for parsing the input date-time.
 	 *
-	 * @param zonedDateTimeString The input date-time string that failed to be parsed by all custom formatter patterns
-	 * @return A {@code DateTimeParseException} indicating the failure
-	 * @throws DateTimeParseException if none of the custom formatter patterns can parse the input date-time
+	 * @return An {@code INVALID_DATE_TIME} failure indicating that all formatter patterns failed to parse the input date-time
 	 */
-	private static DateTimeParseException handleNoCustomFormatterPatternFit(String zonedDateTimeString) throws DateTimeParseException {
-		throw new DateTimeParseException("All custom formatter patterns failed to parse the input date-time.", zonedDateTimeString, 0);
+	private static <T> ConversionResult<T> handleNoFormatterPatternFit() {
+		return ConversionResult.failure(ErrorType.INVALID_DATE_TIME, "All formatter patterns failed to parse the input date-time.");
 	}
 }
@@ -0,0 +1,198 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.oauth;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.slack.api.bolt.model.Bot;
+import com.slack.api.bolt.model.Installer;
+import com.slack.api.bolt.service.InstallationService;
+
+/**
+ * The `CachingInstallationService` class is a Bolt {@code InstallationService} over an {@code InstallationStore},
+ * with a read-through in-memory cache of the bots.
+ * <p>
+ * Bolt looks up the bot of the workspace on every incoming request to authorize it, so once a workspace has been seen
+ * its bot token is a map lookup instead of a read from the store. A bot is loaded at most once per workspace at a time,
+ * outside of the lock of the map, and the lookups of the same workspace meanwhile wait for that load. Every save or delete
+ * through this service evicts the cached bot, or the load in progress (of every team of the enterprise for an org-wide bot),
+ * so a reader never puts back a bot that was just replaced.
+ * Workspaces without a bot are not cached, so an installation made through another node is found on the next request.
+ * In a cluster, the changes are also published on an {@code InstallationInvalidationBus}, and every node evicts the bots
+ * its peers replaced or deleted.
+ * <p>
+ * As with Bolt's own stores, an org-wide installation is stored without a team and found for any team of the enterprise,
+ * and the installer of a team falls back to the latest installer of that team. Only the latest installation is kept.
+ *
+ * @author chobot
+ * @version 1.0
+ */
+public class CachingInstallationService implements InstallationService {
+	
+	private final InstallationStore store;
+	private final InstallationInvalidationBus invalidationBus;
+	private final ConcurrentMap<String, CompletableFuture<Bot>> bots = new ConcurrentHashMap<>();
+	private volatile boolean historicalDataEnabled;
+	
+	/**
+	 * Creates the service of a single node.
+	 *
+	 * @param store where the installations are persisted, not null
+	 */
+	public CachingInstallationService(InstallationStore store) {
+		this(store, InstallationInvalidationBus.NONE);
+	}
+	
+	/**
+	 * Creates the service of a node of a cluster.
+	 *
+	 * @param store where the installations are persisted, shared by every node, not null
+	 * @param invalidationBus where the changes are published to and received from the other nodes, not null
+	 */
+	public CachingInstallationService(InstallationStore store, InstallationInvalidationBus invalidationBus) {
+		this.store = store;
+		this.invalidationBus = invalidationBus;
+		invalidationBus.subscribe(this::evictBot);
+	}
+	
+	@Override
+	public boolean isHistoricalDataEnabled() {
+		return historicalDataEnabled;
+	}
+	
+	@Override
+	public void setHistoricalDataEnabled(boolean historicalDataEnabled) {
+		this.historicalDataEnabled = historicalDataEnabled;
+	}
+	
+	@Override
+	public void saveInstallerAndBot(Installer installer) throws Exception {
+		String enterpriseId = id(installer.getEnterpriseId());
+		String teamId = teamId(installer.getIsEnterpriseInstall(), installer.getTeamId());
+		
+		store.saveInstaller(enterpriseId, teamId, id(installer.getInstallerUserId()), installer);
+		store.saveInstaller(enterpriseId, teamId, "", installer);
+		saveBot(installer.toBot());
+	}
+	
+	@Override
+	public void saveBot(Bot bot) throws Exception {
+		String enterpriseId = id(bot.getEnterpriseId());
+		String teamId = teamId(bot.getIsEnterpriseInstall(), bot.getTeamId());
+		
+		store.saveBot(enterpriseId, teamId, bot);
+		invalidateBot(enterpriseId, teamId);
+	}
+	
+	@Override
+	public void deleteBot(Bot bot) throws Exception {
+		String enterpriseId = id(bot.getEnterpriseId());
+		String teamId = teamId(bot.getIsEnterpriseInstall(), bot.getTeamId());
+		
+		store.deleteBot(enterpriseId, teamId);
+		invalidateBot(enterpriseId, teamId);
+	}
+	
+	@Override
+	public void deleteInstaller(Installer installer) throws Exception {
+		store.deleteInstaller(
+			id(installer.getEnterpriseId()), 
+			teamId(installer.getIsEnterpriseInstall(), installer.getTeamId()), 
+			id(installer.getInstallerUserId())
+		);
+	}
+	
+	@Override
+	public void deleteAll(String enterpriseId, String teamId) {
+		store.deleteAll(id(enterpriseId), id(teamId));
+		invalidateBot(id(enterpriseId), id(teamId));
+	}
+	
+	@Override
+	public Bot findBot(String enterpriseId, String teamId) {
+		String enterprise = id(enterpriseId);
+		String team = id(teamId);
+		String key = key(enterprise, team);
+		
+		CompletableFuture<Bot> cached = bots.get(key);
+		if (cached != null) {
+			return cached.join();
+		}
+		CompletableFuture<Bot> loading = new CompletableFuture<>();
+		cached = bots.putIfAbsent(key, loading);
+		if (cached != null) {
+			return cached.join();
+		}
+		
+		// the store is read outside of computeIfAbsent, which would hold the lock of the bin for the whole read
+		try {
+			Bot bot = store.findBot(enterprise, team);
+			if (bot == null && !enterprise.isEmpty()) {
+				bot = store.findBot(enterprise, "");
+			}
+			loading.complete(bot);
+			if (bot == null) {
+				bots.remove(key, loading);
+			}
+			return bot;
+		}
+		catch (Throwable e) {
+			bots.remove(key, loading);
+			loading.completeExceptionally(e);
+			throw e;
+		}
+	}
+	
+	@Override
+	public Installer findInstaller(String enterpriseId, String teamId, String userId) {
+		Installer installer = findTeamInstaller(id(enterpriseId), id(teamId), id(userId));
+		if (installer == null && enterpriseId != null) {
+			installer = findTeamInstaller(enterpriseId, "", id(userId));
+		}
+		return installer;
+	}
+	
+	/**
+	 * Returns the installer of the user in the workspace, or else the latest installer of the workspace.
+	 */
+	private Installer findTeamInstaller(String enterpriseId, String teamId, String userId) {
+		Installer installer = store.findInstaller(enterpriseId, teamId, userId);
+		if (installer == null && !userId.isEmpty()) {
+			installer = store.findInstaller(enterpriseId, teamId, "");
+		}
+		return installer;
+	}
+	
+	/**
+	 * Evicts the cached bot of the workspace on this node and tells the other nodes to do the same.
+	 */
+	private void invalidateBot(String enterpriseId, String teamId) {
+		evictBot(enterpriseId, teamId);
+		invalidationBus.publish(enterpriseId, teamId);
+	}
+	
+	/**
+	 * Evicts the cached bot of the workspace, or of every team of the enterprise for an org-wide bot.
+	 */
+	private void evictBot(String enterpriseId, String teamId) {
+		if (teamId.isEmpty()) {
+			String enterprisePrefix = key(enterpriseId, "");
+			bots.keySet().removeIf(key -> key.startsWith(enterprisePrefix));
+		}
+		else {
+			bots.remove(key(enterpriseId, teamId));
+		}
+	}
+	
+	private static String key(String enterpriseId, String teamId) {
+		return enterpriseId + ":" + teamId;
+	}
+	
+	private static String teamId(Boolean isEnterpriseInstall, String teamId) {
+		return Boolean.TRUE.equals(isEnterpriseInstall) ? "" : id(teamId);
+	}
+	
+	private static String id(String id) {
+		return id == null ? "" : id;
+	}
+}
@@ -0,0 +1,42 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.oauth;
+
+import java.util.function.BiConsumer;
+
+/**
+ * The `InstallationInvalidationBus` interface tells the other nodes of a cluster that the installation of a workspace changed,
+ * so that each {@code CachingInstallationService} evicts the bot it cached for that workspace.
+ *
+ * @author chobot
+ * @version 1.0
+ */
+public interface InstallationInvalidationBus {
+	
+	/**
+	 * The bus of a single node, which has no other node to tell.
+	 */
+	InstallationInvalidationBus NONE = new InstallationInvalidationBus() {
+		
+		@Override
+		public void publish(String enterpriseId, String teamId) {
+		}
+		
+		@Override
+		public void subscribe(BiConsumer<String, String> listener) {
+		}
+	};
+	
+	/**
+	 * Tells every node, including this one, that the installation of the workspace changed.
+	 *
+	 * @param enterpriseId the enterprise id, empty if none
+	 * @param teamId the team id, empty for an org-wide installation
+	 */
+	void publish(String enterpriseId, String teamId);
+	
+	/**
+	 * Registers a listener called with the enterprise id and the team id of every published change.
+	 *
+	 * @param listener the listener, not null
+	 */
+	void subscribe(BiConsumer<String, String> listener);
+}
@@ -0,0 +1,64 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.oauth;
+
+import com.slack.api.bolt.model.Bot;
+import com.slack.api.bolt.model.Installer;
+
+/**
+ * The `InstallationStore` interface is the persistent storage behind the {@code CachingInstallationService}
+ * and the {@code StoreOAuthStateService}.
+ * <p>
+ * A store only saves and loads what it is given under the exact keys it is given: the enterprise id, the team id
+ * and the user id are never null, an empty id standing for "none" (i.e. the team of an org-wide installation, or the
+ * latest installer of a team). Resolving which keys to look up, and caching, is left to the services.
+ *
+ * @author chobot
+ * @version 1.0
+ */
+public interface InstallationStore {
+	
+	/**
+	 * Adds or replaces the bot of the workspace.
+	 */
+	void saveBot(String enterpriseId, String teamId, Bot bot);
+	
+	/**
+	 * Adds or replaces the installer of the workspace.
+	 */
+	void saveInstaller(String enterpriseId, String teamId, String userId, Installer installer);
+	
+	/**
+	 * @return the bot of the workspace, or null if there is none
+	 */
+	Bot findBot(String enterpriseId, String teamId);
+	
+	/**
+	 * @return the installer of the workspace, or null if there is none
+	 */
+	Installer findInstaller(String enterpriseId, String teamId, String userId);
+	
+	void deleteBot(String enterpriseId, String teamId);
+	
+	void deleteInstaller(String enterpriseId, String teamId, String userId);
+	
+	/**
+	 * Deletes the bot and every installer of the workspace.
+	 */
+	void deleteAll(String enterpriseId, String teamId);
+	
+	/**
+	 * Adds an OAuth state, valid until the given time.
+	 */
+	void saveState(String state, long expiresAtMillis);
+	
+	/**
+	 * @return true if the OAuth state was added and is still valid at the given time
+	 */
+	boolean isStateAvailable(String state, long nowMillis);
+	
+	void deleteState(String state);
+	
+	/**
+	 * Deletes the OAuth states that are no longer valid at the given time.
+	 */
+	void deleteExpiredStates(long nowMillis);
+}
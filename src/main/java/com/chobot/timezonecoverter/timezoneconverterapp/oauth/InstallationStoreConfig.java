@@ -0,0 +1,68 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.oauth;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.slack.api.bolt.service.InstallationService;
+import com.slack.api.bolt.service.OAuthStateService;
+
+/**
+ * Persists the Slack installations and OAuth states.
+ * <p>
+ * A single node keeps them in the application database (the SLACK_INSTALLATION_DB_URL data source, an embedded H2 file by default).
+ * In clustered mode (SLACK_CLUSTERED=true) every node keeps them in the SLACK_REDIS_URL server, and the nodes evict
+ * the bots they cached through its pub/sub channel whenever a peer changes an installation.
+ *
+ * @author chobot
+ * @version 1.0
+ */
+@Configuration
+public class InstallationStoreConfig {
+	
+	@Bean
+	@ConditionalOnProperty(name = "SLACK_CLUSTERED", havingValue = "false", matchIfMissing = true)
+	public InstallationStore jdbcInstallationStore(JdbcTemplate jdbcTemplate) {
+		return new JdbcInstallationStore(jdbcTemplate);
+	}
+	
+	@Bean
+	@ConditionalOnProperty(name = "SLACK_CLUSTERED", havingValue = "false", matchIfMissing = true)
+	public InstallationInvalidationBus localInvalidationBus() {
+		return InstallationInvalidationBus.NONE;
+	}
+	
+	@Bean
+	@ConditionalOnProperty(name = "SLACK_CLUSTERED", havingValue = "true")
+	public InstallationStore redisInstallationStore(StringRedisTemplate redisTemplate) {
+		return new RedisInstallationStore(redisTemplate);
+	}
+	
+	@Bean
+	@ConditionalOnProperty(name = "SLACK_CLUSTERED", havingValue = "true")
+	public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+		RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+		container.setConnectionFactory(connectionFactory);
+		return container;
+	}
+	
+	@Bean
+	@ConditionalOnProperty(name = "SLACK_CLUSTERED", havingValue = "true")
+	public InstallationInvalidationBus redisInvalidationBus(StringRedisTemplate redisTemplate, RedisMessageListenerContainer listenerContainer) {
+		return new RedisInvalidationBus(redisTemplate, listenerContainer);
+	}
+	
+	@Bean
+	public InstallationService installationService(InstallationStore installationStore, InstallationInvalidationBus invalidationBus) {
+		return new CachingInstallationService(installationStore, invalidationBus);
+	}
+	
+	@Bean
+	public OAuthStateService oauthStateService(InstallationStore installationStore) {
+		return new StoreOAuthStateService(installationStore);
+	}
+}
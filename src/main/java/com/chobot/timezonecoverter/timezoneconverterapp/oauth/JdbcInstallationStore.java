@@ -0,0 +1,139 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.oauth;
+
+import java.util.List;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.slack.api.bolt.model.Bot;
+import com.slack.api.bolt.model.Installer;
+import com.slack.api.bolt.model.builtin.DefaultBot;
+import com.slack.api.bolt.model.builtin.DefaultInstaller;
+import com.slack.api.bolt.util.JsonOps;
+
+/**
+ * The `JdbcInstallationStore` class keeps the installations and the OAuth states in a relational database,
+ * by default an embedded H2 database file, so they survive restarts and can be shared by several nodes
+ * pointed at the same database.
+ * <p>
+ * Bots and installers are stored as the same JSON documents Bolt's file-based store writes, keyed by their ids.
+ * The tables are created on startup if they do not exist. Upserts are an update followed by an insert,
+ * retried once if a concurrent insert won, so that no vendor-specific merge statement is needed.
+ *
+ * @author chobot
+ * @version 1.0
+ */
+public class JdbcInstallationStore implements InstallationStore {
+	
+	private final JdbcTemplate jdbcTemplate;
+	
+	/**
+	 * Creates the store, and its tables if they do not exist.
+	 *
+	 * @param jdbcTemplate the database to store into, not null
+	 */
+	public JdbcInstallationStore(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+		
+		jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS slack_bots ("
+				+ "enterprise_id VARCHAR(32) NOT NULL, team_id VARCHAR(32) NOT NULL, bot_json CLOB NOT NULL, "
+				+ "PRIMARY KEY (enterprise_id, team_id))");
+		jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS slack_installers ("
+				+ "enterprise_id VARCHAR(32) NOT NULL, team_id VARCHAR(32) NOT NULL, user_id VARCHAR(32) NOT NULL, installer_json CLOB NOT NULL, "
+				+ "PRIMARY KEY (enterprise_id, team_id, user_id))");
+		jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS slack_oauth_states ("
+				+ "state VARCHAR(128) NOT NULL PRIMARY KEY, expires_at BIGINT NOT NULL)");
+	}
+	
+	@Override
+	public void saveBot(String enterpriseId, String teamId, Bot bot) {
+		upsert("UPDATE slack_bots SET bot_json = ? WHERE enterprise_id = ? AND team_id = ?",
+				"INSERT INTO slack_bots (bot_json, enterprise_id, team_id) VALUES (?, ?, ?)",
+				JsonOps.toJsonString(bot), enterpriseId, teamId);
+	}
+	
+	@Override
+	public void saveInstaller(String enterpriseId, String teamId, String userId, Installer installer) {
+		upsert("UPDATE slack_installers SET installer_json = ? WHERE enterprise_id = ? AND team_id = ? AND user_id = ?",
+				"INSERT INTO slack_installers (installer_json, enterprise_id, team_id, user_id) VALUES (?, ?, ?, ?)",
+				JsonOps.toJsonString(installer), enterpriseId, teamId, userId);
+	}
+	
+	@Override
+	public Bot findBot(String enterpriseId, String teamId) {
+		List<String> json = jdbcTemplate.queryForList(
+				"SELECT bot_json FROM slack_bots WHERE enterprise_id = ? AND team_id = ?", 
+				String.class, enterpriseId, teamId);
+		return json.isEmpty() ? null : JsonOps.fromJson(json.get(0), DefaultBot.class);
+	}
+	
+	@Override
+	public Installer findInstaller(String enterpriseId, String teamId, String userId) {
+		List<String> json = jdbcTemplate.queryForList(
+				"SELECT installer_json FROM slack_installers WHERE enterprise_id = ? AND team_id = ? AND user_id = ?", 
+				String.class, enterpriseId, teamId, userId);
+		return json.isEmpty() ? null : JsonOps.fromJson(json.get(0), DefaultInstaller.class);
+	}
+	
+	@Override
+	public void deleteBot(String enterpriseId, String teamId) {
+		jdbcTemplate.update("DELETE FROM slack_bots WHERE enterprise_id = ? AND team_id = ?", enterpriseId, teamId);
+	}
+	
+	@Override
+	public void deleteInstaller(String enterpriseId, String teamId, String userId) {
+		jdbcTemplate.update("DELETE FROM slack_installers WHERE enterprise_id = ? AND team_id = ? AND user_id = ?", 
+				enterpriseId, teamId, userId);
+	}
+	
+	@Override
+	public void deleteAll(String enterpriseId, String teamId) {
+		deleteBot(enterpriseId, teamId);
+		jdbcTemplate.update("DELETE FROM slack_installers WHERE enterprise_id = ? AND team_id = ?", enterpriseId, teamId);
+	}
+	
+	@Override
+	public void saveState(String state, long expiresAtMillis) {
+		upsert("UPDATE slack_oauth_states SET expires_at = ? WHERE state = ?",
+				"INSERT INTO slack_oauth_states (expires_at, state) VALUES (?, ?)",
+				expiresAtMillis, state);
+	}
+	
+	@Override
+	public boolean isStateAvailable(String state, long nowMillis) {
+		Integer count = jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM slack_oauth_states WHERE state = ? AND expires_at > ?", 
+				Integer.class, state, nowMillis);
+		return count != null && count > 0;
+	}
+	
+	@Override
+	public void deleteState(String state) {
+		jdbcTemplate.update("DELETE FROM slack_oauth_states WHERE state = ?", state);
+	}
+	
+	@Override
+	public void deleteExpiredStates(long nowMillis) {
+		jdbcTemplate.update("DELETE FROM slack_oauth_states WHERE expires_at <= ?", nowMillis);
+	}
+	
+	/**
+	 * Updates the row, or inserts it if there is none.
+	 *
+	 * @param update the update statement
+	 * @param insert the insert statement, taking the same arguments in the same order
+	 * @param args the statement arguments
+	 */
+	private void upsert(String update, String insert, Object... args) {
+		if (jdbcTemplate.update(update, args) > 0) {
+			return;
+		}
+		
+		try {
+			jdbcTemplate.update(insert, args);
+		}
+		catch (DuplicateKeyException e) {
+			jdbcTemplate.update(update, args);
+		}
+	}
+}
@@ -0,0 +1,150 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.oauth;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.slack.api.bolt.model.Bot;
+import com.slack.api.bolt.model.Installer;
+import com.slack.api.bolt.model.builtin.DefaultBot;
+import com.slack.api.bolt.model.builtin.DefaultInstaller;
+import com.slack.api.bolt.util.JsonOps;
+
+/**
+ * The `RedisInstallationStore` class keeps the installations and the OAuth states in a Redis-compatible server
+ * shared by every node of a cluster, so that an OAuth state issued by one node can be checked by another
+ * and an installation made through one node is visible to all of them.
+ * <p>
+ * Bots and installers are stored as the same JSON documents as the {@code JdbcInstallationStore}, one key each,
+ * and the users who installed the app in a workspace are indexed in a set so the workspace can be deleted at once.
+ * OAuth states are keys that Redis expires by itself.
+ *
+ * @author chobot
+ * @version 1.0
+ */
+public class RedisInstallationStore implements InstallationStore {
+	
+	private static final String KEY_PREFIX = "slack:";
+	
+	private final StringRedisTemplate redisTemplate;
+	private final LongSupplier clock;
+	
+	/**
+	 * Creates the store, expiring the states by {@code System.currentTimeMillis}.
+	 *
+	 * @param redisTemplate the server to store into, not null
+	 */
+	public RedisInstallationStore(StringRedisTemplate redisTemplate) {
+		this(redisTemplate, System::currentTimeMillis);
+	}
+	
+	/**
+	 * Creates the store.
+	 *
+	 * @param redisTemplate the server to store into, not null
+	 * @param clock the current time in milliseconds, which the expiry of a state is counted from, not null
+	 */
+	public RedisInstallationStore(StringRedisTemplate redisTemplate, LongSupplier clock) {
+		this.redisTemplate = redisTemplate;
+		this.clock = clock;
+	}
+	
+	@Override
+	public void saveBot(String enterpriseId, String teamId, Bot bot) {
+		redisTemplate.opsForValue().set(botKey(enterpriseId, teamId), JsonOps.toJsonString(bot));
+	}
+	
+	@Override
+	public void saveInstaller(String enterpriseId, String teamId, String userId, Installer installer) {
+		redisTemplate.opsForValue().set(installerKey(enterpriseId, teamId, userId), JsonOps.toJsonString(installer));
+		redisTemplate.opsForSet().add(installersKey(enterpriseId, teamId), userId);
+	}
+	
+	@Override
+	public Bot findBot(String enterpriseId, String teamId) {
+		String json = redisTemplate.opsForValue().get(botKey(enterpriseId, teamId));
+		return json == null ? null : JsonOps.fromJson(json, DefaultBot.class);
+	}
+	
+	@Override
+	public Installer findInstaller(String enterpriseId, String teamId, String userId) {
+		String json = redisTemplate.opsForValue().get(installerKey(enterpriseId, teamId, userId));
+		return json == null ? null : JsonOps.fromJson(json, DefaultInstaller.class);
+	}
+	
+	@Override
+	public void deleteBot(String enterpriseId, String teamId) {
+		redisTemplate.delete(botKey(enterpriseId, teamId));
+	}
+	
+	@Override
+	public void deleteInstaller(String enterpriseId, String teamId, String userId) {
+		redisTemplate.delete(installerKey(enterpriseId, teamId, userId));
+		redisTemplate.opsForSet().remove(installersKey(enterpriseId, teamId), userId);
+	}
+	
+	@Override
+	public void deleteAll(String enterpriseId, String teamId) {
+		List<String> keys = new ArrayList<>();
+		keys.add(botKey(enterpriseId, teamId));
+		keys.add(installersKey(enterpriseId, teamId));
+		
+		Set<String> userIds = redisTemplate.opsForSet().members(installersKey(enterpriseId, teamId));
+		if (userIds != null) {
+			for (String userId : userIds) {
+				keys.add(installerKey(enterpriseId, teamId, userId));
+			}
+		}
+		redisTemplate.delete(keys);
+	}
+	
+	/**
+	 * Sets the state along with its expiry in a single command, so that a state is never left without one.
+	 * A state that has already expired is not saved.
+	 */
+	@Override
+	public void saveState(String state, long expiresAtMillis) {
+		long timeToLiveMillis = expiresAtMillis - clock.getAsLong();
+		if (timeToLiveMillis > 0) {
+			redisTemplate.opsForValue().set(stateKey(state), Long.toString(expiresAtMillis), Duration.ofMillis(timeToLiveMillis));
+		}
+	}
+	
+	@Override
+	public boolean isStateAvailable(String state, long nowMillis) {
+		String expiresAt = redisTemplate.opsForValue().get(stateKey(state));
+		return expiresAt != null && Long.parseLong(expiresAt) > nowMillis;
+	}
+	
+	@Override
+	public void deleteState(String state) {
+		redisTemplate.delete(stateKey(state));
+	}
+	
+	/**
+	 * Does nothing, as Redis expires the states by itself.
+	 */
+	@Override
+	public void deleteExpiredStates(long nowMillis) {
+	}
+	
+	private static String botKey(String enterpriseId, String teamId) {
+		return KEY_PREFIX + "bot:" + enterpriseId + ":" + teamId;
+	}
+	
+	private static String installerKey(String enterpriseId, String teamId, String userId) {
+		return KEY_PREFIX + "installer:" + enterpriseId + ":" + teamId + ":" + userId;
+	}
+	
+	private static String installersKey(String enterpriseId, String teamId) {
+		return KEY_PREFIX + "installers:" + enterpriseId + ":" + teamId;
+	}
+	
+	private static String stateKey(String state) {
+		return KEY_PREFIX + "state:" + state;
+	}
+}
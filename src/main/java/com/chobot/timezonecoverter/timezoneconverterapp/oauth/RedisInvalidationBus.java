@@ -0,0 +1,49 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.oauth;
+
+import java.util.function.BiConsumer;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * The `RedisInvalidationBus` class publishes the installation changes on a Redis pub/sub channel
+ * that every node of the cluster listens to.
+ * <p>
+ * A message is the enterprise id and the team id separated by a colon; Slack ids never contain one.
+ *
+ * @author chobot
+ * @version 1.0
+ */
+public class RedisInvalidationBus implements InstallationInvalidationBus {
+	
+	private static final ChannelTopic CHANNEL = new ChannelTopic("slack:installations:invalidate");
+	
+	private final StringRedisTemplate redisTemplate;
+	private final RedisMessageListenerContainer listenerContainer;
+	
+	/**
+	 * Creates the bus.
+	 *
+	 * @param redisTemplate the server to publish to, not null
+	 * @param listenerContainer the container that receives the messages of the channel, not null
+	 */
+	public RedisInvalidationBus(StringRedisTemplate redisTemplate, RedisMessageListenerContainer listenerContainer) {
+		this.redisTemplate = redisTemplate;
+		this.listenerContainer = listenerContainer;
+	}
+	
+	@Override
+	public void publish(String enterpriseId, String teamId) {
+		redisTemplate.convertAndSend(CHANNEL.getTopic(), enterpriseId + ":" + teamId);
+	}
+	
+	@Override
+	public void subscribe(BiConsumer<String, String> listener) {
+		listenerContainer.addMessageListener((message, pattern) -> {
+			String workspace = redisTemplate.getStringSerializer().deserialize(message.getBody());
+			int separator = workspace.indexOf(':');
+			listener.accept(workspace.substring(0, separator), workspace.substring(separator + 1));
+		}, CHANNEL);
+	}
+}
@@ -0,0 +1,57 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.oauth;
+
+import java.util.function.LongSupplier;
+
+import com.slack.api.bolt.service.OAuthStateService;
+
+/**
+ * The `StoreOAuthStateService` class is a Bolt {@code OAuthStateService} that keeps the OAuth states in an {@code InstallationStore},
+ * so that an installation started on one node can be completed on another.
+ * <p>
+ * A state is valid for {@link #getExpirationInSeconds()} after it is issued; the expired states are purged whenever a new one is issued.
+ *
+ * @author chobot
+ * @version 1.0
+ */
+public class StoreOAuthStateService implements OAuthStateService {
+	
+	private final InstallationStore store;
+	private final LongSupplier clock;
+	
+	/**
+	 * Creates the service timed by {@code System.currentTimeMillis}.
+	 *
+	 * @param store where the states are persisted, not null
+	 */
+	public StoreOAuthStateService(InstallationStore store) {
+		this(store, System::currentTimeMillis);
+	}
+	
+	/**
+	 * Creates the service timed by the given clock.
+	 *
+	 * @param store where the states are persisted, not null
+	 * @param clock the source of the current time in milliseconds, not null
+	 */
+	public StoreOAuthStateService(InstallationStore store, LongSupplier clock) {
+		this.store = store;
+		this.clock = clock;
+	}
+	
+	@Override
+	public void addNewStateToDatastore(String state) throws Exception {
+		long now = clock.getAsLong();
+		store.deleteExpiredStates(now);
+		store.saveState(state, now + getExpirationInSeconds() * 1000L);
+	}
+	
+	@Override
+	public boolean isAvailableInDatabase(String state) {
+		return store.isStateAvailable(state, clock.getAsLong());
+	}
+	
+	@Override
+	public void deleteStateFromDatastore(String state) throws Exception {
+		store.deleteState(state);
+	}
+}
@@ -0,0 +1,45 @@
+package com.chobot.timezonecoverter.timezoneconverterapp;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import com.chobot.timezonecoverter.timezoneconverterapp.controllers.SlackEventsController;
+import com.chobot.timezonecoverter.timezoneconverterapp.controllers.SlashCommandController;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.BatchDateTimeProcessor;
+import com.slack.api.app_backend.slash_commands.payload.SlashCommandPayload;
+import com.slack.api.methods.response.oauth.OAuthV2AccessResponse;
+
+public class NativeRuntimeHintsTests {
+
+	private final RuntimeHints hints = new RuntimeHints();
+
+	public NativeRuntimeHintsTests() {
+		new NativeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+	}
+
+	@Test
+	public void testServletsCanBeInstantiated() {
+		assertTrue(RuntimeHintsPredicates.reflection().onType(SlackEventsController.class)
+				.withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+		assertTrue(RuntimeHintsPredicates.reflection().onType(SlashCommandController.class)
+				.withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+	}
+
+	@Test
+	public void testSlackTypesReachableFromTheirFieldsAreRegistered() {
+		assertTrue(RuntimeHintsPredicates.reflection().onType(SlashCommandPayload.class)
+				.withMemberCategory(MemberCategory.DECLARED_FIELDS).test(hints));
+		assertTrue(RuntimeHintsPredicates.reflection().onType(OAuthV2AccessResponse.AuthedUser.class)
+				.withMemberCategory(MemberCategory.DECLARED_FIELDS).test(hints));
+	}
+
+	@Test
+	public void testSerializedDateTimeRecordsAndStaticPagesAreRegistered() {
+		assertTrue(RuntimeHintsPredicates.reflection().onType(BatchDateTimeProcessor.Result.class).test(hints));
+		assertTrue(RuntimeHintsPredicates.resource().forResource("static/completion.html").test(hints));
+	}
+}
@@ -3,7 +3,7 @@ package com.chobot.timezonecoverter.timezoneconverterapp;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "SLACK_INSTALLATION_DB_URL=jdbc:h2:mem:installations")
 class TimezoneConverterAppApplicationTests {
 
 	@Test
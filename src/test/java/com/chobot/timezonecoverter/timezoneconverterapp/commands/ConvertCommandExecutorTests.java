@@ -0,0 +1,51 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.commands;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class ConvertCommandExecutorTests {
+	
+	@Test
+	public void testSubmittedTaskRuns() throws InterruptedException {
+		CountDownLatch done = new CountDownLatch(1);
+		try (ConvertCommandExecutor executor = new ConvertCommandExecutor(1, 1)) {
+			assertTrue(executor.submit(done::countDown));
+			assertTrue(done.await(5, TimeUnit.SECONDS));
+		}
+	}
+	
+	@Test
+	public void testRejectsWhenQueueIsFull() throws InterruptedException {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		try (ConvertCommandExecutor executor = new ConvertCommandExecutor(1, 1)) {
+			executor.submit(() -> {
+				started.countDown();
+				awaitQuietly(release);
+			});
+			started.await(5, TimeUnit.SECONDS);
+			
+			assertTrue(executor.submit(() -> {}));
+			assertEquals(1, executor.getQueueDepth());
+			assertFalse(executor.submit(() -> {}));
+			assertEquals(1, executor.getRejectedTasks());
+			
+			release.countDown();
+		}
+	}
+	
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
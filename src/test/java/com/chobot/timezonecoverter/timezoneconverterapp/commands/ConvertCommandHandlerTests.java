@@ -0,0 +1,59 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.commands;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class ConvertCommandHandlerTests {
+
+	private static final String INPUT = "2010-02-04T14:39:28 PST to EST";
+
+	private final ConvertCommandExecutor executor = new ConvertCommandExecutor(1, 1);
+	private final UserZoneProfiles profiles = new UserZoneProfiles();
+
+	@AfterEach
+	public void tearDown() {
+		executor.close();
+	}
+
+	@Test
+	public void testRepliesWithTheConversion() {
+		String reply = handler(1, false).handle("T1", "U1", INPUT, text -> {});
+
+		assertTrue(reply.contains("Feb 04, 2010 5:39 PM EST"), reply);
+	}
+
+	@Test
+	public void testRepliesWhenOverTheRate() {
+		ConvertCommandHandler handler = handler(1, false);
+		handler.handle("T1", "U1", INPUT, text -> {});
+
+		assertEquals(ConvertCommandHandler.RATE_LIMITED_MESSAGE, handler.handle("T1", "U1", INPUT, text -> {}));
+	}
+
+	@Test
+	public void testHandlesTheSetZoneSubcommand() {
+		String reply = handler(2, false).handle("T1", "U1", "set-zone PST", text -> {});
+
+		assertTrue(reply.startsWith("Your default time-zone is now PST"), reply);
+		assertEquals("America/Los_Angeles", profiles.get("T1", "U1").getId());
+	}
+
+	@Test
+	public void testAsyncConversionIsPostedThroughTheResponder() throws Exception {
+		CompletableFuture<String> posted = new CompletableFuture<>();
+
+		assertNull(handler(1, true).handle("T1", "U1", INPUT, posted::complete));
+		assertTrue(posted.get(10, TimeUnit.SECONDS).contains("Feb 04, 2010 5:39 PM EST"));
+	}
+
+	private ConvertCommandHandler handler(int burst, boolean async) {
+		return new ConvertCommandHandler(executor, new TeamRateLimiter(1, burst), new RequestCoalescer(), profiles, async);
+	}
+}
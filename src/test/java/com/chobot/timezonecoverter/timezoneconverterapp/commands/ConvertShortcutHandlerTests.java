@@ -0,0 +1,126 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.commands;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class ConvertShortcutHandlerTests {
+
+	private static final Clock CLOCK = Clock.fixed(Instant.parse("2023-11-28T12:00:00Z"), ZoneOffset.UTC);
+
+	private final ConvertCommandExecutor executor = new ConvertCommandExecutor(1, 1);
+	private final UserZoneProfiles profiles = new UserZoneProfiles();
+
+	@AfterEach
+	public void tearDown() {
+		executor.close();
+	}
+
+	@Test
+	public void testConvertsEveryDateTimeToTheDefaultTimeZone() {
+		profiles.set("T1", "U1", ZoneId.of("Asia/Tokyo"));
+
+		String reply = handler(2).handle("T1", "U1", "Nov 28, 2023 3:30 PM EST works, or tomorrow 9am CET?");
+
+		assertEquals("In Asia/Tokyo:"
+				+ "\n• Nov 28, 2023 3:30 PM EST is *Nov 29, 2023 5:30 AM Asia/Tokyo*"
+				+ "\n• tomorrow 9am CET is *Nov 29, 2023 5:00 PM Asia/Tokyo*", reply);
+	}
+
+	@Test
+	public void testRepliesWithoutDefaultTimeZone() {
+		assertEquals(ConvertShortcutHandler.NO_DEFAULT_ZONE_MESSAGE, handler(2).handle("T1", "U1", "3pm PST"));
+	}
+
+	@Test
+	public void testRepliesWithoutDateTime() {
+		profiles.set("T1", "U1", ZoneId.of("Asia/Tokyo"));
+
+		assertEquals(ConvertShortcutHandler.NO_DATE_TIME_MESSAGE, handler(2).handle("T1", "U1", "See you at the PST office"));
+		assertEquals(ConvertShortcutHandler.NO_DATE_TIME_MESSAGE, handler(2).handle("T1", "U1", null));
+	}
+
+	@Test
+	public void testRepliesWhenOverTheRate() {
+		profiles.set("T1", "U1", ZoneId.of("Asia/Tokyo"));
+		ConvertShortcutHandler handler = handler(1);
+		handler.handle("T1", "U1", "3pm PST");
+
+		assertEquals(ConvertCommandHandler.RATE_LIMITED_MESSAGE, handler.handle("T1", "U1", "3pm PST"));
+	}
+
+	@Test
+	public void testReplyIsPostedThroughTheResponder() throws Exception {
+		profiles.set("T1", "U1", ZoneId.of("Asia/Tokyo"));
+		CompletableFuture<Thread> postedOn = new CompletableFuture<>();
+		CompletableFuture<String> posted = new CompletableFuture<>();
+
+		handler(2).handle("T1", "U1", "3pm PST", text -> {
+			postedOn.complete(Thread.currentThread());
+			posted.complete(text);
+		});
+
+		assertTrue(posted.get(10, TimeUnit.SECONDS).startsWith("In Asia/Tokyo:"));
+		assertNotSame(Thread.currentThread(), postedOn.get());
+	}
+
+	@Test
+	public void testReplyRunsInlineWhenTheExecutorIsFull() throws Exception {
+		profiles.set("T1", "U1", ZoneId.of("Asia/Tokyo"));
+		CountDownLatch release = new CountDownLatch(1);
+		executor.submit(() -> awaitQuietly(release));
+		executor.submit(() -> {});
+		CompletableFuture<Thread> postedOn = new CompletableFuture<>();
+
+		try {
+			handler(2).handle("T1", "U1", "3pm PST", text -> postedOn.complete(Thread.currentThread()));
+		}
+		finally {
+			release.countDown();
+		}
+
+		assertSame(Thread.currentThread(), postedOn.getNow(null));
+	}
+
+	@Test
+	public void testFailureToPostTheReplyIsNotThrown() {
+		CountDownLatch release = new CountDownLatch(1);
+		executor.submit(() -> awaitQuietly(release));
+		executor.submit(() -> {});
+
+		try {
+			handler(2).handle("T1", "U1", "3pm PST", text -> {
+				throw new IOException("response_url is down");
+			});
+		}
+		finally {
+			release.countDown();
+		}
+	}
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private ConvertShortcutHandler handler(int burst) {
+		return new ConvertShortcutHandler(executor, new TeamRateLimiter(1, burst), profiles, CLOCK);
+	}
+}
@@ -0,0 +1,111 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.commands;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class RequestCoalescerTests {
+	
+	private final RequestCoalescer coalescer = new RequestCoalescer();
+	
+	@Test
+	public void testIdenticalRequestsInFlightShareOneComputation() throws Exception {
+		AtomicInteger computations = new AtomicInteger();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<String> first = executor.submit(() -> coalescer.compute("T1:now to EST", () -> {
+				computations.incrementAndGet();
+				started.countDown();
+				awaitQuietly(release);
+				return "result";
+			}));
+			assertTrue(started.await(5, TimeUnit.SECONDS));
+			
+			Future<String> second = executor.submit(() -> coalescer.compute("T1:now to EST", () -> {
+				computations.incrementAndGet();
+				return "other";
+			}));
+			while (coalescer.getCoalescedRequests() == 0) {
+				Thread.onSpinWait();
+			}
+			release.countDown();
+			
+			assertEquals("result", first.get(5, TimeUnit.SECONDS));
+			assertEquals("result", second.get(5, TimeUnit.SECONDS));
+			assertEquals(1, computations.get());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+	
+	@Test
+	public void testFinishedRequestsAreNotReused() {
+		AtomicInteger computations = new AtomicInteger();
+		
+		assertEquals("1", coalescer.compute("key", () -> String.valueOf(computations.incrementAndGet())));
+		assertEquals("2", coalescer.compute("key", () -> String.valueOf(computations.incrementAndGet())));
+		assertEquals(0, coalescer.getCoalescedRequests());
+	}
+	
+	@Test
+	public void testFailedComputationIsNotKept() {
+		assertThrows(IllegalStateException.class, () -> coalescer.compute("key", () -> {
+			throw new IllegalStateException();
+		}));
+		assertEquals("ok", coalescer.compute("key", () -> "ok"));
+	}
+	
+	@Test
+	public void testWaitingRequestSeesTheFailureOfTheComputation() throws Exception {
+		Error failure = new Error("computation failed");
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<String> first = executor.submit(() -> coalescer.compute("key", () -> {
+				started.countDown();
+				awaitQuietly(release);
+				throw failure;
+			}));
+			assertTrue(started.await(5, TimeUnit.SECONDS));
+			
+			Future<String> second = executor.submit(() -> coalescer.compute("key", () -> "other"));
+			while (coalescer.getCoalescedRequests() == 0) {
+				Thread.onSpinWait();
+			}
+			release.countDown();
+			
+			ExecutionException leader = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+			assertSame(failure, leader.getCause());
+			ExecutionException waiter = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+			assertSame(failure, waiter.getCause().getCause());
+			assertEquals("ok", coalescer.compute("key", () -> "ok"));
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+	
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.commands;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.ZoneId;
+
+import org.junit.jupiter.api.Test;
+
+public class SetZoneCommandTests {
+	
+	private final UserZoneProfiles profiles = new UserZoneProfiles();
+	
+	@Test
+	public void testMatchesOnlyTheSetZoneWord() {
+		assertTrue(SetZoneCommand.matches("set-zone PST"));
+		assertTrue(SetZoneCommand.matches("  SET-ZONE"));
+		assertFalse(SetZoneCommand.matches("set-zones PST"));
+		assertFalse(SetZoneCommand.matches("2010-02-04T14:39:28 PST to EST"));
+		assertFalse(SetZoneCommand.matches(null));
+	}
+	
+	@Test
+	public void testSetsTheDefaultTimeZone() {
+		String reply = SetZoneCommand.handle(profiles, "T1", "U1", "set-zone pst");
+		
+		assertEquals(ZoneId.of("America/Los_Angeles"), profiles.get("T1", "U1"));
+		assertTrue(reply.startsWith("Your default time-zone is now PST (America/Los_Angeles)"));
+	}
+	
+	@Test
+	public void testRegionIdIsDescribedOnce() {
+		String reply = SetZoneCommand.handle(profiles, "T1", "U1", "set-zone Europe/Paris");
+		
+		assertEquals(ZoneId.of("Europe/Paris"), profiles.get("T1", "U1"));
+		assertTrue(reply.startsWith("Your default time-zone is now Europe/Paris,"));
+	}
+	
+	@Test
+	public void testUnknownTimeZoneIsNotSet() {
+		String reply = SetZoneCommand.handle(profiles, "T1", "U1", "set-zone FOO");
+		
+		assertNull(profiles.get("T1", "U1"));
+		assertTrue(reply.startsWith("Time-zone FOO could not be found"));
+	}
+	
+	@Test
+	public void testShowsAndRemovesTheDefaultTimeZone() {
+		assertTrue(SetZoneCommand.handle(profiles, "T1", "U1", "set-zone").startsWith("You have no default time-zone."));
+		
+		SetZoneCommand.handle(profiles, "T1", "U1", "set-zone JST");
+		assertTrue(SetZoneCommand.handle(profiles, "T1", "U1", "set-zone").startsWith("Your default time-zone is Asia/Tokyo."));
+		
+		SetZoneCommand.handle(profiles, "T1", "U1", "set-zone none");
+		assertNull(profiles.get("T1", "U1"));
+	}
+}
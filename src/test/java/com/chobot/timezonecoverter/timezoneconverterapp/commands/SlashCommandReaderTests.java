@@ -0,0 +1,125 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.commands;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+
+import com.chobot.timezonecoverter.timezoneconverterapp.commands.SlashCommandReader.RejectedRequestException;
+import com.chobot.timezonecoverter.timezoneconverterapp.commands.SlashCommandReader.Rejection;
+import com.chobot.timezonecoverter.timezoneconverterapp.commands.SlashCommandReader.SlashCommand;
+import com.slack.api.app_backend.SlackSignature;
+
+public class SlashCommandReaderTests {
+
+	private static final String SECRET = "8f742231b10e8888abcd99yyyzzz85a5";
+
+	private static final String TIMESTAMP = "1700000000";
+
+	private static final String BODY = "token=gIkuvaNzQIHg97ATvDxqgjtO&team_id=T0001&team_domain=example"
+			+ "&enterprise_id=&channel_id=C2147483705&user_id=U2147483697&user_name=Steve&command=%2Fconvert"
+			+ "&text=Nov+28%2C+2023+3%3A30+PM+EST+to+PST%2C+%E6%9D%B1%E4%BA%AC"
+			+ "&response_url=https%3A%2F%2Fhooks.slack.com%2Fcommands%2F1234%2F5678&trigger_id=13345224609.738474920.8088930838d88f008e0";
+
+	private final SlashCommandReader reader = new SlashCommandReader(SECRET, 1024,
+			Clock.fixed(Instant.ofEpochSecond(Long.parseLong(TIMESTAMP) + 60), ZoneOffset.UTC));
+
+	@Test
+	public void testReadsTheFieldsOfASignedCommand() throws IOException {
+		SlashCommand command = read(BODY, TIMESTAMP, sign(TIMESTAMP, BODY));
+
+		assertEquals("/convert", command.command());
+		assertEquals("T0001", command.teamId());
+		assertNull(command.enterpriseId());
+		assertEquals("U2147483697", command.userId());
+		assertEquals("Nov 28, 2023 3:30 PM EST to PST, 東京", command.text());
+		assertEquals("https://hooks.slack.com/commands/1234/5678", command.responseUrl());
+		assertFalse(command.sslCheck());
+	}
+
+	@Test
+	public void testVerifiesTheSignatureOverChunksAsTheyArrive() throws IOException {
+		InputStream trickle = new ByteArrayInputStream(BODY.getBytes(StandardCharsets.UTF_8)) {
+			@Override
+			public synchronized int read(byte[] b, int off, int len) {
+				return super.read(b, off, Math.min(len, 7));
+			}
+		};
+
+		assertEquals("T0001", reader.read(trickle, TIMESTAMP, sign(TIMESTAMP, BODY)).teamId());
+	}
+
+	@Test
+	public void testRejectsATamperedBody() {
+		String signature = sign(TIMESTAMP, BODY);
+
+		assertRejected(Rejection.INVALID_SIGNATURE, BODY.replace("T0001", "T0002"), TIMESTAMP, signature);
+		assertRejected(Rejection.INVALID_SIGNATURE, BODY, TIMESTAMP, null);
+		assertRejected(Rejection.INVALID_SIGNATURE, BODY, TIMESTAMP, "v0=not-a-digest");
+	}
+
+	@Test
+	public void testRejectsAStaleTimestamp() {
+		String stale = String.valueOf(Long.parseLong(TIMESTAMP) - 600);
+
+		assertRejected(Rejection.STALE_TIMESTAMP, BODY, stale, sign(stale, BODY));
+		assertRejected(Rejection.STALE_TIMESTAMP, BODY, null, sign(TIMESTAMP, BODY));
+	}
+
+	@Test
+	public void testRejectsABodyOverTheMaximumLength() {
+		String body = BODY + "&padding=" + "x".repeat(1024);
+
+		assertRejected(Rejection.TOO_LARGE, body, TIMESTAMP, sign(TIMESTAMP, body));
+	}
+
+	@Test
+	public void testReadsAnSslCheck() throws IOException {
+		String body = "ssl_check=1&token=gIkuvaNzQIHg97ATvDxqgjtO";
+
+		assertTrue(read(body, TIMESTAMP, sign(TIMESTAMP, body)).sslCheck());
+	}
+
+	@Test
+	public void testKeepsMalformedEscapesAndEmptyText() {
+		SlashCommand command = parse("command=%2Fhello&text=100%25+%zz&user_id");
+
+		assertEquals("/hello", command.command());
+		assertEquals("100% %zz", command.text());
+		assertEquals("", command.userId());
+		assertEquals("", parse("command=%2Fhello").text());
+	}
+
+	private SlashCommand read(String body, String timestamp, String signature) throws IOException {
+		return reader.read(new ByteArrayInputStream(bytes(body)), timestamp, signature);
+	}
+
+	private static SlashCommand parse(String body) {
+		byte[] bytes = bytes(body);
+		return SlashCommandReader.parse(bytes, bytes.length);
+	}
+
+	private void assertRejected(Rejection rejection, String body, String timestamp, String signature) {
+		RejectedRequestException e = assertThrows(RejectedRequestException.class, () -> read(body, timestamp, signature));
+		assertEquals(rejection, e.getRejection());
+	}
+
+	private static String sign(String timestamp, String body) {
+		return new SlackSignature.Generator(SECRET).generate(timestamp, body);
+	}
+
+	private static byte[] bytes(String s) {
+		return s.getBytes(StandardCharsets.UTF_8);
+	}
+}
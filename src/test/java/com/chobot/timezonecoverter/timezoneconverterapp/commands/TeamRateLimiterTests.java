@@ -0,0 +1,80 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.commands;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+public class TeamRateLimiterTests {
+	
+	private final AtomicLong now = new AtomicLong();
+	private final TeamRateLimiter limiter = new TeamRateLimiter(2, 3, now::get);
+	
+	@Test
+	public void testAllowsBurstThenRejects() {
+		assertTrue(limiter.tryAcquire("T1"));
+		assertTrue(limiter.tryAcquire("T1"));
+		assertTrue(limiter.tryAcquire("T1"));
+		assertFalse(limiter.tryAcquire("T1"));
+		assertEquals(1, limiter.getRejectedRequests());
+	}
+	
+	@Test
+	public void testRefillsAtRate() {
+		for (int i = 0; i < 3; i++) {
+			limiter.tryAcquire("T1");
+		}
+		
+		now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+		assertTrue(limiter.tryAcquire("T1"));
+		assertFalse(limiter.tryAcquire("T1"));
+		
+		now.addAndGet(TimeUnit.SECONDS.toNanos(60));
+		for (int i = 0; i < 3; i++) {
+			assertTrue(limiter.tryAcquire("T1"));
+		}
+		assertFalse(limiter.tryAcquire("T1"));
+	}
+	
+	@Test
+	public void testTeamsHaveSeparateBuckets() {
+		for (int i = 0; i < 3; i++) {
+			limiter.tryAcquire("T1");
+		}
+		
+		assertFalse(limiter.tryAcquire("T1"));
+		assertTrue(limiter.tryAcquire("T2"));
+	}
+	
+	@Test
+	public void testConcurrentAcquiresNeverExceedBurst() throws InterruptedException {
+		AtomicLong granted = new AtomicLong();
+		Thread[] threads = new Thread[8];
+		for (int i = 0; i < threads.length; i++) {
+			threads[i] = new Thread(() -> {
+				for (int j = 0; j < 100; j++) {
+					if (limiter.tryAcquire("T1")) {
+						granted.incrementAndGet();
+					}
+				}
+			});
+			threads[i].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		
+		assertEquals(3, granted.get());
+	}
+	
+	@Test
+	public void testRejectsInvalidSettings() {
+		assertThrows(IllegalArgumentException.class, () -> new TeamRateLimiter(0, 1));
+		assertThrows(IllegalArgumentException.class, () -> new TeamRateLimiter(1, 0));
+	}
+}
@@ -0,0 +1,74 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.commands;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class UserZoneProfilesTests {
+	
+	private static final ZoneId LOS_ANGELES = ZoneId.of("America/Los_Angeles");
+	
+	@TempDir
+	Path directory;
+	
+	@Test
+	public void testProfilesAreKeptPerTeamAndUser() {
+		UserZoneProfiles profiles = new UserZoneProfiles();
+		profiles.set("T1", "U1", LOS_ANGELES);
+		
+		assertEquals(LOS_ANGELES, profiles.get("T1", "U1"));
+		assertNull(profiles.get("T1", "U2"));
+		assertNull(profiles.get("T2", "U1"));
+		
+		assertTrue(profiles.remove("T1", "U1"));
+		assertFalse(profiles.remove("T1", "U1"));
+		assertNull(profiles.get("T1", "U1"));
+	}
+	
+	@Test
+	public void testSnapshotIsLoadedBack() throws Exception {
+		Path snapshotFile = directory.resolve("profiles/zones.tsv");
+		UserZoneProfiles profiles = new UserZoneProfiles(snapshotFile, Duration.ZERO);
+		profiles.set("T1", "U1", LOS_ANGELES);
+		profiles.set("T1", "U2", ZoneId.of("Europe/Paris"));
+		profiles.close();
+		
+		UserZoneProfiles loaded = new UserZoneProfiles(snapshotFile, Duration.ZERO);
+		assertEquals(2, loaded.size());
+		assertEquals(LOS_ANGELES, loaded.get("T1", "U1"));
+		assertEquals(ZoneId.of("Europe/Paris"), loaded.get("T1", "U2"));
+	}
+	
+	@Test
+	public void testSnapshotIsOnlyWrittenWhenChanged() throws Exception {
+		UserZoneProfiles profiles = new UserZoneProfiles(directory.resolve("zones.tsv"), Duration.ZERO);
+		assertFalse(profiles.snapshot());
+		
+		profiles.set("T1", "U1", LOS_ANGELES);
+		assertTrue(profiles.snapshot());
+		assertFalse(profiles.snapshot());
+		
+		assertFalse(profiles.remove("T1", "U2"));
+		assertFalse(profiles.snapshot());
+	}
+	
+	@Test
+	public void testUnknownTimeZonesAreSkippedOnLoad() throws Exception {
+		Path snapshotFile = directory.resolve("zones.tsv");
+		Files.write(snapshotFile, List.of("T1:U1\tAmerica/Los_Angeles", "T1:U2\tMars/Olympus_Mons", "garbage"));
+		
+		UserZoneProfiles profiles = new UserZoneProfiles(snapshotFile, Duration.ZERO);
+		assertEquals(1, profiles.size());
+		assertEquals(LOS_ANGELES, profiles.get("T1", "U1"));
+	}
+}
@@ -0,0 +1,104 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.BatchDateTimeProcessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class BatchConvertControllerTests {
+
+	private static final String TOKEN = "batch-token";
+
+	private final BatchDateTimeProcessor processor = new BatchDateTimeProcessor(2);
+
+	private final BatchConvertController controller = new BatchConvertController(processor, new ObjectMapper(), TOKEN);
+
+	@AfterEach
+	public void tearDown() {
+		processor.close();
+	}
+
+	@Test
+	public void testUnauthorizedRequestIsRejectedWithoutReadingTheBody() throws IOException {
+		assertEquals(HttpStatus.FORBIDDEN, controller.convertJson(null, new UnreadableInputStream()).getStatusCode());
+		assertEquals(HttpStatus.FORBIDDEN, controller.convertJson("Bearer wrong", new UnreadableInputStream()).getStatusCode());
+	}
+
+	@Test
+	public void testRequestIsRejectedWithoutReadingTheBodyWhenNoTokenIsConfigured() throws IOException {
+		BatchConvertController disabled = new BatchConvertController(processor, new ObjectMapper(), "");
+
+		assertEquals(HttpStatus.FORBIDDEN, disabled.convertJson("Bearer ", new UnreadableInputStream()).getStatusCode());
+	}
+
+	@Test
+	public void testJsonArrayIsConverted() throws IOException {
+		ResponseEntity<StreamingResponseBody> response = controller.convertJson("Bearer " + TOKEN,
+				body("[\"2010-02-04T14:39:28 PST to EST\", null]"));
+
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		response.getBody().writeTo(output);
+		String results = output.toString(StandardCharsets.UTF_8);
+		assertEquals(2, results.lines().count());
+		assertTrue(results.contains("Feb 04, 2010 5:39 PM EST"), results);
+	}
+
+	@Test
+	public void testInvalidJsonIsRejected() throws IOException {
+		assertEquals(HttpStatus.BAD_REQUEST, controller.convertJson("Bearer " + TOKEN, body("{\"input\": \"now\"}")).getStatusCode());
+		assertEquals(HttpStatus.BAD_REQUEST, controller.convertJson("Bearer " + TOKEN, body("[1, 2]")).getStatusCode());
+		assertEquals(HttpStatus.BAD_REQUEST, controller.convertJson("Bearer " + TOKEN, body("[\"now to EST\"")).getStatusCode());
+	}
+
+	@Test
+	public void testReadingStopsOverTheMaximumBatchSize() throws IOException {
+		assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, controller.convertJson("Bearer " + TOKEN, new EndlessArray()).getStatusCode());
+	}
+
+	private static InputStream body(String json) {
+		return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static class UnreadableInputStream extends InputStream {
+
+		@Override
+		public int read() {
+			fail("The body was read.");
+			return -1;
+		}
+	}
+
+	/**
+	 * A JSON array of inputs that never ends.
+	 */
+	private static class EndlessArray extends InputStream {
+
+		private static final byte[] ELEMENT = "\"now to EST\",".getBytes(StandardCharsets.UTF_8);
+
+		private long position = -1;
+
+		@Override
+		public int read() {
+			if (position < 0) {
+				position = 0;
+				return '[';
+			}
+			return ELEMENT[(int) (position++ % ELEMENT.length)];
+		}
+	}
+}
@@ -0,0 +1,202 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.load;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * The `SlashCommandLoadGenerator` class sends signed /convert slash commands to a running server at a fixed arrival rate,
+ * as Slack would, and measures their latency.
+ * <p>
+ * Each request is an {@code application/x-www-form-urlencoded} /convert payload, whose text is taken in turn from the
+ * input mix, signed with the signing secret of the server ({@code X-Slack-Signature} over "v0:timestamp:body").
+ * The commands are spread over {@value #TEAMS} workspaces and their users.
+ * <p>
+ * The requests are sent on schedule whether or not the previous ones were answered, so a slow server gets a growing
+ * number of requests in flight rather than fewer requests. The latency of a request is measured from the time it was
+ * scheduled to be sent, so the time a request waited behind a late one is counted, not hidden.
+ *
+ * Usage Example:
+ * {@code
+ * SlashCommandLoadGenerator generator = new SlashCommandLoadGenerator(URI.create("http://localhost:3000"), signingSecret,
+ *         List.of("2010-02-04T14:39:28 PST to EST", "3pm PST to CET"));
+ * SlashCommandLoadGenerator.Report report = generator.run("/slack/commands", 200, Duration.ofSeconds(10));
+ * }
+ *
+ * @author chobot
+ * @version 1.0
+ */
+public class SlashCommandLoadGenerator {
+
+	/**
+	 * The measurement of one run.
+	 *
+	 * @param path the path the commands were sent to
+	 * @param targetRate the commands sent per second
+	 * @param durationSeconds the time the commands were sent for
+	 * @param requests the commands sent
+	 * @param errors the commands not answered with a 200, or not answered within the timeout
+	 * @param errorRate the share of the commands in error
+	 * @param throughput the commands answered per second, from the first sent to the last answered
+	 * @param p50Millis the median latency
+	 * @param p99Millis the 99th percentile latency
+	 * @param p999Millis the 99.9th percentile latency
+	 * @param maxMillis the highest latency
+	 */
+	public record Report(String path, double targetRate, double durationSeconds, int requests, int errors, double errorRate,
+			double throughput, double p50Millis, double p99Millis, double p999Millis, double maxMillis) {}
+
+	/**
+	 * The number of workspaces the commands are spread over.
+	 */
+	public static final int TEAMS = 50;
+
+	/**
+	 * The time a command has to be answered in before it is counted as an error.
+	 */
+	public static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+	private static final String ALGORITHM = "HmacSHA256";
+
+	private final URI baseUri;
+	private final SecretKeySpec key;
+	private final List<String> inputs;
+	private final HttpClient client;
+
+	/**
+	 * Creates a generator.
+	 *
+	 * @param baseUri the URI of the server, i.e. "http://localhost:3000", not null
+	 * @param signingSecret the signing secret the server verifies the commands with, not null
+	 * @param inputs the texts of the /convert commands, sent in turn, not empty
+	 */
+	public SlashCommandLoadGenerator(URI baseUri, String signingSecret, List<String> inputs) {
+		if (inputs.isEmpty()) {
+			throw new IllegalArgumentException("The input mix is empty.");
+		}
+		this.baseUri = baseUri;
+		this.key = new SecretKeySpec(signingSecret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+		this.inputs = List.copyOf(inputs);
+		this.client = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(TIMEOUT)
+				.build();
+	}
+
+	/**
+	 * Sends commands to the path at a fixed rate, then waits for the last of them to be answered.
+	 *
+	 * @param path the path of the slash commands, i.e. "/slack/events" or "/slack/commands"
+	 * @param requestsPerSecond the arrival rate, above 0
+	 * @param duration the time to send commands for
+	 * @return the measurement of the run, not null
+	 * @throws InterruptedException
+	 *         If the thread is interrupted while sending.
+	 */
+	public Report run(String path, double requestsPerSecond, Duration duration) throws InterruptedException {
+		int requests = (int) Math.max(1, Math.round(requestsPerSecond * duration.toNanos() / 1e9));
+		long intervalNanos = (long) (1e9 / requestsPerSecond);
+		long[] latencies = new long[requests];
+		boolean[] failed = new boolean[requests];
+		long[] lastAnswer = new long[1];
+		CompletableFuture<?>[] responses = new CompletableFuture<?>[requests];
+		Mac mac = newMac();
+		URI uri = baseUri.resolve(path);
+
+		long start = System.nanoTime();
+		for (int i = 0; i < requests; i++) {
+			long scheduled = start + i * intervalNanos;
+			for (long wait = scheduled - System.nanoTime(); wait > 0; wait = scheduled - System.nanoTime()) {
+				LockSupport.parkNanos(wait);
+			}
+			if (Thread.interrupted()) {
+				throw new InterruptedException();
+			}
+
+			int request = i;
+			responses[i] = client.sendAsync(signedRequest(mac, uri, body(i)), HttpResponse.BodyHandlers.discarding())
+					.orTimeout(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)
+					.handle((response, failure) -> {
+						long answered = System.nanoTime();
+						latencies[request] = answered - scheduled;
+						failed[request] = failure != null || response.statusCode() != 200;
+						synchronized (lastAnswer) {
+							lastAnswer[0] = Math.max(lastAnswer[0], answered);
+						}
+						return null;
+					});
+		}
+		CompletableFuture.allOf(responses).join();
+
+		int errors = 0;
+		for (boolean requestFailed : failed) {
+			errors += requestFailed ? 1 : 0;
+		}
+		long elapsed;
+		synchronized (lastAnswer) {
+			elapsed = lastAnswer[0] - start;
+		}
+		Arrays.sort(latencies);
+		return new Report(path, requestsPerSecond, duration.toMillis() / 1000.0, requests, errors, (double) errors / requests,
+				requests * 1e9 / elapsed, percentileMillis(latencies, 0.5), percentileMillis(latencies, 0.99),
+				percentileMillis(latencies, 0.999), latencies[requests - 1] / 1e6);
+	}
+
+	/**
+	 * Builds the i-th /convert payload, as Slack sends it.
+	 */
+	private String body(int i) {
+		int team = i % TEAMS;
+		return "token=load&team_id=T" + team + "&team_domain=load" + team
+				+ "&channel_id=C" + team + "&channel_name=load&user_id=U" + team + "x" + (i / TEAMS % 10) + "&user_name=load"
+				+ "&command=%2Fconvert&text=" + URLEncoder.encode(inputs.get(i % inputs.size()), StandardCharsets.UTF_8)
+				+ "&api_app_id=A0LOAD&is_enterprise_install=false"
+				+ "&response_url=" + URLEncoder.encode("https://hooks.slack.com/commands/T" + team + "/" + i + "/load", StandardCharsets.UTF_8)
+				+ "&trigger_id=" + i + ".load";
+	}
+
+	private HttpRequest signedRequest(Mac mac, URI uri, String body) {
+		String timestamp = String.valueOf(System.currentTimeMillis() / 1000);
+		byte[] signature = mac.doFinal(("v0:" + timestamp + ":" + body).getBytes(StandardCharsets.UTF_8));
+		return HttpRequest.newBuilder(uri)
+				.timeout(TIMEOUT)
+				.header("Content-Type", "application/x-www-form-urlencoded")
+				.header("X-Slack-Request-Timestamp", timestamp)
+				.header("X-Slack-Signature", "v0=" + HexFormat.of().formatHex(signature))
+				.POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+				.build();
+	}
+
+	private Mac newMac() {
+		try {
+			Mac mac = Mac.getInstance(ALGORITHM);
+			mac.init(key);
+			return mac;
+		}
+		catch (GeneralSecurityException e) {
+			throw new IllegalStateException(ALGORITHM + " is not available.", e);
+		}
+	}
+
+	/**
+	 * @return the latency at the percentile of the sorted latencies, by the nearest-rank method, in milliseconds
+	 */
+	private static double percentileMillis(long[] sortedLatencies, double percentile) {
+		int rank = (int) Math.ceil(percentile * sortedLatencies.length);
+		return sortedLatencies[Math.max(0, rank - 1)] / 1e6;
+	}
+}
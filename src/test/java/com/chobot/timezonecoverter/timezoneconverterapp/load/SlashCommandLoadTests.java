@@ -0,0 +1,117 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.load;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.chobot.timezonecoverter.timezoneconverterapp.load.SlashCommandLoadGenerator.Report;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Load test of /convert on the embedded server, through Bolt on /slack/events and through the fast path on /slack/commands.
+ * Each path is driven at each rate of {@code load.rates} by the {@code SlashCommandLoadGenerator}, and the reports are written
+ * as a JSON array to {@code load.report}. No Slack workspace is needed: the server verifies the commands with a local secret.
+ * <p>
+ * Excluded from the default build, run with the load profile:
+ * {@code mvn -P load test -Dload.rates=100,400,1600 -Dload.seconds=30 -Dload.mix=src/test/load/mix.txt}
+ * <p>
+ * The properties are:
+ * load.rates - the commands sent per second, comma separated (default: 50,200)
+ * load.seconds - the time each rate is held for (default: 10)
+ * load.warmupSeconds - the time the first rate is held for before measuring, to compile the hot paths (default: 5)
+ * load.paths - the paths to drive (default: /slack/events,/slack/commands)
+ * load.mix - a file of /convert texts, one per line, sent in turn; repeat a line to weight it (default: a built-in mix)
+ * load.maxErrorRate - the share of commands that may fail before the test fails (default: 0)
+ * load.report - the report file (default: target/load-report.json)
+ * <p>
+ * The rate limit of the workspaces is lifted and the Bolt debug logs are turned off, so that the pipeline is measured
+ * rather than the rejections and the logging.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+		"SLACK_SIGNING_SECRET=" + SlashCommandLoadTests.SIGNING_SECRET,
+		"SLACK_INSTALLATION_DB_URL=jdbc:h2:mem:load",
+		"SLACK_CONVERT_RATE_LIMIT=1000000",
+		"SLACK_CONVERT_BURST=1000000",
+		"logging.level.com.slack.api=INFO" })
+public class SlashCommandLoadTests {
+
+	static final String SIGNING_SECRET = "load-test-signing-secret";
+
+	/**
+	 * The default mix: ISO-8601 and custom formats, relative date-times, several targets, and invalid inputs.
+	 */
+	private static final List<String> DEFAULT_MIX = List.of(
+			"2010-02-04T14:39:28 PST to EST",
+			"2011-12-03T10:15:30+01:00[Europe/Paris] to JST",
+			"Nov 28, 2023 3:30 PM EST to PST",
+			"Nov 28, 2023 3:30 PM EST to PST, CET, JST",
+			"Tue, 3 Jun 2008 11:05:30 GMT to IST",
+			"3pm PST to CET",
+			"tomorrow 9am CET in EST",
+			"in 2 hours to JST",
+			"not a date to EST",
+			"2010-02-04T14:39:28 PST to NOWHERE");
+
+	@LocalServerPort
+	private int port;
+
+	@Test
+	public void testSlashCommandLoad() throws InterruptedException, IOException {
+		List<Double> rates = Arrays.stream(System.getProperty("load.rates", "50,200").split(","))
+				.map(String::trim).map(Double::valueOf).toList();
+		Duration duration = Duration.ofSeconds(Long.getLong("load.seconds", 10));
+		Duration warmUp = Duration.ofSeconds(Long.getLong("load.warmupSeconds", 5));
+		List<String> paths = Arrays.stream(System.getProperty("load.paths", "/slack/events,/slack/commands").split(","))
+				.map(String::trim).toList();
+		double maxErrorRate = Double.parseDouble(System.getProperty("load.maxErrorRate", "0"));
+		Path reportFile = Path.of(System.getProperty("load.report", "target/load-report.json"));
+
+		SlashCommandLoadGenerator generator = new SlashCommandLoadGenerator(URI.create("http://localhost:" + port),
+				SIGNING_SECRET, inputMix());
+		List<Report> reports = new ArrayList<>();
+		for (String path : paths) {
+			if (!warmUp.isZero()) {
+				generator.run(path, rates.get(0), warmUp);
+			}
+			for (double rate : rates) {
+				reports.add(generator.run(path, rate, duration));
+			}
+		}
+
+		if (reportFile.getParent() != null) {
+			Files.createDirectories(reportFile.getParent());
+		}
+		new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportFile.toFile(), reports);
+
+		assertEquals(paths.size() * rates.size(), reports.size());
+		for (Report report : reports) {
+			assertTrue(report.errorRate() <= maxErrorRate, "Too many errors: " + report);
+		}
+	}
+
+	private static List<String> inputMix() throws IOException {
+		String mixFile = System.getProperty("load.mix");
+		if (mixFile == null) {
+			return DEFAULT_MIX;
+		}
+		return Files.readAllLines(Path.of(mixFile)).stream()
+				.filter(line -> !line.isBlank() && !line.startsWith("#"))
+				.toList();
+	}
+}
@@ -0,0 +1,174 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.oauth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.slack.api.bolt.model.Bot;
+import com.slack.api.bolt.model.Installer;
+import com.slack.api.bolt.model.builtin.DefaultInstaller;
+
+public class CachingInstallationServiceTests {
+	
+	private JdbcTemplate jdbcTemplate;
+	private CachingInstallationService installationService;
+	
+	@BeforeEach
+	public void setUp() {
+		JdbcDataSource dataSource = new JdbcDataSource();
+		dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		installationService = new CachingInstallationService(new JdbcInstallationStore(jdbcTemplate));
+	}
+	
+	@Test
+	public void testSavedBotIsFound() throws Exception {
+		installationService.saveInstallerAndBot(installer(null, "T1", "U1", "xoxb-1", false));
+		
+		assertEquals("xoxb-1", installationService.findBot(null, "T1").getBotAccessToken());
+		assertNull(installationService.findBot(null, "T2"));
+	}
+	
+	@Test
+	public void testBotIsServedFromMemoryOnceLoaded() throws Exception {
+		installationService.saveInstallerAndBot(installer(null, "T1", "U1", "xoxb-1", false));
+		installationService.findBot(null, "T1");
+		
+		jdbcTemplate.update("DELETE FROM slack_bots");
+		
+		assertEquals("xoxb-1", installationService.findBot(null, "T1").getBotAccessToken());
+	}
+	
+	@Test
+	public void testReinstallReplacesCachedBot() throws Exception {
+		installationService.saveInstallerAndBot(installer(null, "T1", "U1", "xoxb-1", false));
+		installationService.findBot(null, "T1");
+		installationService.saveInstallerAndBot(installer(null, "T1", "U2", "xoxb-2", false));
+		
+		assertEquals("xoxb-2", installationService.findBot(null, "T1").getBotAccessToken());
+	}
+	
+	@Test
+	public void testDeleteAllEvictsCachedBot() throws Exception {
+		installationService.saveInstallerAndBot(installer(null, "T1", "U1", "xoxb-1", false));
+		installationService.findBot(null, "T1");
+		installationService.deleteAll(null, "T1");
+		
+		assertNull(installationService.findBot(null, "T1"));
+		assertNull(installationService.findInstaller(null, "T1", "U1"));
+	}
+	
+	@Test
+	public void testOrgWideInstallationIsFoundForAnyTeam() throws Exception {
+		installationService.saveInstallerAndBot(installer("E1", "T1", "U1", "xoxb-org", true));
+		
+		assertEquals("xoxb-org", installationService.findBot("E1", "T7").getBotAccessToken());
+		assertNotNull(installationService.findInstaller("E1", "T7", "U9"));
+	}
+	
+	@Test
+	public void testInstallerFallsBackToLatestInstallerOfTeam() throws Exception {
+		installationService.saveInstallerAndBot(installer(null, "T1", "U1", "xoxb-1", false));
+		installationService.saveInstallerAndBot(installer(null, "T1", "U2", "xoxb-2", false));
+		
+		assertEquals("U1", installationService.findInstaller(null, "T1", "U1").getInstallerUserId());
+		assertEquals("U2", installationService.findInstaller(null, "T1", "U3").getInstallerUserId());
+	}
+	
+	@Test
+	public void testPeerChangesEvictCachedBot() throws Exception {
+		InstallationStore sharedStore = new JdbcInstallationStore(jdbcTemplate);
+		LocalInvalidationBus bus = new LocalInvalidationBus();
+		CachingInstallationService node1 = new CachingInstallationService(sharedStore, bus);
+		CachingInstallationService node2 = new CachingInstallationService(sharedStore, bus);
+		
+		node1.saveInstallerAndBot(installer(null, "T1", "U1", "xoxb-1", false));
+		assertEquals("xoxb-1", node2.findBot(null, "T1").getBotAccessToken());
+		
+		node1.saveInstallerAndBot(installer(null, "T1", "U1", "xoxb-2", false));
+		assertEquals("xoxb-2", node2.findBot(null, "T1").getBotAccessToken());
+		
+		node1.deleteAll(null, "T1");
+		assertNull(node2.findBot(null, "T1"));
+	}
+	
+	@Test
+	public void testBotReplacedDuringItsLoadIsNotCached() throws Exception {
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch replaced = new CountDownLatch(1);
+		CachingInstallationService service = new CachingInstallationService(new JdbcInstallationStore(jdbcTemplate) {
+			
+			@Override
+			public Bot findBot(String enterpriseId, String teamId) {
+				Bot bot = super.findBot(enterpriseId, teamId);
+				if (bot != null && replaced.getCount() > 0) {
+					loading.countDown();
+					await(replaced);
+				}
+				return bot;
+			}
+		});
+		service.saveInstallerAndBot(installer("E1", "T1", "U1", "xoxb-1", true));
+		
+		CompletableFuture<Bot> stale = CompletableFuture.supplyAsync(() -> service.findBot("E1", "T7"));
+		await(loading);
+		service.saveInstallerAndBot(installer("E1", "T1", "U2", "xoxb-2", true));
+		replaced.countDown();
+		
+		assertEquals("xoxb-1", stale.get(5, TimeUnit.SECONDS).getBotAccessToken());
+		assertEquals("xoxb-2", service.findBot("E1", "T7").getBotAccessToken());
+	}
+	
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	private static Installer installer(String enterpriseId, String teamId, String userId, String botToken, boolean orgWide) {
+		return DefaultInstaller.builder()
+				.enterpriseId(enterpriseId)
+				.teamId(teamId)
+				.isEnterpriseInstall(orgWide)
+				.installerUserId(userId)
+				.botId("B1")
+				.botUserId("UB1")
+				.botAccessToken(botToken)
+				.installedAt(System.currentTimeMillis())
+				.build();
+	}
+	
+	/**
+	 * Stands in for the pub/sub channel shared by the nodes of a cluster.
+	 */
+	private static class LocalInvalidationBus implements InstallationInvalidationBus {
+		
+		private final List<BiConsumer<String, String>> listeners = new CopyOnWriteArrayList<>();
+		
+		@Override
+		public void publish(String enterpriseId, String teamId) {
+			listeners.forEach(listener -> listener.accept(enterpriseId, teamId));
+		}
+		
+		@Override
+		public void subscribe(BiConsumer<String, String> listener) {
+			listeners.add(listener);
+		}
+	}
+}
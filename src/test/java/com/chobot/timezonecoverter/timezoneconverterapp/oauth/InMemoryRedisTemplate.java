@@ -0,0 +1,176 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.oauth;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.Topic;
+
+/**
+ * A {@code StringRedisTemplate} that keeps its keys in memory, for the Redis classes to be tested without a server.
+ * <p>
+ * Only the commands the Redis classes use are implemented: GET, SET with or without an expiry, SADD, SREM, SMEMBERS,
+ * DEL and PUBLISH to the listeners of its {@link #listenerContainer()}. Any other command fails the test.
+ * A key expires once the clock of the template is moved past its expiry.
+ */
+class InMemoryRedisTemplate extends StringRedisTemplate {
+
+	private final Map<String, String> values = new HashMap<>();
+	private final Map<String, Set<String>> sets = new HashMap<>();
+	private final Map<String, Long> expiries = new HashMap<>();
+	private final List<ChannelListener> listeners = new CopyOnWriteArrayList<>();
+	private long nowMillis = System.currentTimeMillis();
+
+	private record ChannelListener(MessageListener listener, String channel) {}
+
+	/**
+	 * @return the keys of the values and sets that have not expired
+	 */
+	Set<String> keys() {
+		expire();
+		Set<String> keys = new TreeSet<>(values.keySet());
+		keys.addAll(sets.keySet());
+		return keys;
+	}
+
+	/**
+	 * @return the time to live of the key in milliseconds, or null if it does not expire
+	 */
+	Long ttlMillis(String key) {
+		Long expiry = expiries.get(key);
+		return expiry == null ? null : expiry - nowMillis;
+	}
+
+	/**
+	 * Moves the clock of the template forward, expiring the keys whose expiry it passes.
+	 */
+	void advance(Duration duration) {
+		nowMillis += duration.toMillis();
+	}
+
+	/**
+	 * @return a listener container that receives the messages published through this template
+	 */
+	RedisMessageListenerContainer listenerContainer() {
+		return new RedisMessageListenerContainer() {
+
+			@Override
+			public void addMessageListener(MessageListener listener, Topic topic) {
+				listeners.add(new ChannelListener(listener, ((ChannelTopic) topic).getTopic()));
+			}
+		};
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public ValueOperations<String, String> opsForValue() {
+		return (ValueOperations<String, String>) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class<?>[] { ValueOperations.class }, (proxy, method, args) -> {
+					expire();
+					switch (method.getName()) {
+						case "get":
+							return values.get((String) args[0]);
+						case "set":
+							values.put((String) args[0], (String) args[1]);
+							expiries.remove((String) args[0]);
+							if (args.length == 3) {
+								expiries.put((String) args[0], nowMillis + ((Duration) args[2]).toMillis());
+							}
+							else if (args.length == 4) {
+								expiries.put((String) args[0], nowMillis + ((TimeUnit) args[3]).toMillis((Long) args[2]));
+							}
+							return null;
+						default:
+							throw new UnsupportedOperationException("ValueOperations." + method.getName());
+					}
+				});
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public SetOperations<String, String> opsForSet() {
+		return (SetOperations<String, String>) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class<?>[] { SetOperations.class }, (proxy, method, args) -> {
+					expire();
+					String key = (String) args[0];
+					Object[] members = method.getName().equals("members") ? null : (Object[]) args[1];
+					switch (method.getName()) {
+						case "add":
+							long added = 0;
+							for (Object member : members) {
+								added += sets.computeIfAbsent(key, k -> new HashSet<>()).add((String) member) ? 1 : 0;
+							}
+							return added;
+						case "remove":
+							long removed = 0;
+							for (Object member : members) {
+								removed += sets.containsKey(key) && sets.get(key).remove(member) ? 1 : 0;
+							}
+							if (sets.containsKey(key) && sets.get(key).isEmpty()) {
+								sets.remove(key);
+							}
+							return removed;
+						case "members":
+							return new HashSet<>(sets.getOrDefault(key, Set.of()));
+						default:
+							throw new UnsupportedOperationException("SetOperations." + method.getName());
+					}
+				});
+	}
+
+	@Override
+	public Boolean delete(String key) {
+		expire();
+		expiries.remove(key);
+		return values.remove(key) != null | sets.remove(key) != null;
+	}
+
+	@Override
+	public Long delete(Collection<String> keys) {
+		long deleted = 0;
+		for (String key : keys) {
+			deleted += delete(key) ? 1 : 0;
+		}
+		return deleted;
+	}
+
+	@Override
+	public Long convertAndSend(String channel, Object message) {
+		long received = 0;
+		for (ChannelListener listener : listeners) {
+			if (listener.channel().equals(channel)) {
+				listener.listener().onMessage(new DefaultMessage(channel.getBytes(StandardCharsets.UTF_8),
+						message.toString().getBytes(StandardCharsets.UTF_8)), null);
+				received++;
+			}
+		}
+		return received;
+	}
+
+	private void expire() {
+		expiries.entrySet().removeIf(expiry -> {
+			if (expiry.getValue() > nowMillis) {
+				return false;
+			}
+			values.remove(expiry.getKey());
+			sets.remove(expiry.getKey());
+			return true;
+		});
+	}
+}
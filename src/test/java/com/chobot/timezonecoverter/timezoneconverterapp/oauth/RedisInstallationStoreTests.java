@@ -0,0 +1,117 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.oauth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.slack.api.bolt.model.builtin.DefaultBot;
+import com.slack.api.bolt.model.builtin.DefaultInstaller;
+
+public class RedisInstallationStoreTests {
+
+	private final InMemoryRedisTemplate redis = new InMemoryRedisTemplate();
+	private final AtomicLong now = new AtomicLong(1_000_000L);
+	private final RedisInstallationStore store = new RedisInstallationStore(redis, now::get);
+
+	@Test
+	public void testKeyLayout() {
+		store.saveBot("E1", "T1", bot("T1", "xoxb-1"));
+		store.saveInstaller("E1", "T1", "U1", installer("T1", "U1"));
+		store.saveInstaller("E1", "T1", "U2", installer("T1", "U2"));
+
+		assertEquals(Set.of("slack:bot:E1:T1", "slack:installer:E1:T1:U1", "slack:installer:E1:T1:U2", "slack:installers:E1:T1"),
+				redis.keys());
+		assertEquals(Set.of("U1", "U2"), redis.opsForSet().members("slack:installers:E1:T1"));
+	}
+
+	@Test
+	public void testSavedBotAndInstallerAreFound() {
+		store.saveBot("", "T1", bot("T1", "xoxb-1"));
+		store.saveInstaller("", "T1", "U1", installer("T1", "U1"));
+
+		assertEquals("xoxb-1", store.findBot("", "T1").getBotAccessToken());
+		assertEquals("U1", store.findInstaller("", "T1", "U1").getInstallerUserId());
+		assertNull(store.findBot("", "T2"));
+		assertNull(store.findInstaller("", "T1", "U2"));
+	}
+
+	@Test
+	public void testDeleteInstallerRemovesItFromTheInstallers() {
+		store.saveInstaller("", "T1", "U1", installer("T1", "U1"));
+		store.saveInstaller("", "T1", "U2", installer("T1", "U2"));
+
+		store.deleteInstaller("", "T1", "U1");
+
+		assertNull(store.findInstaller("", "T1", "U1"));
+		assertEquals(Set.of("U2"), redis.opsForSet().members("slack:installers::T1"));
+	}
+
+	@Test
+	public void testDeleteAllDeletesEveryInstallerOfTheWorkspace() {
+		store.saveBot("", "T1", bot("T1", "xoxb-1"));
+		store.saveInstaller("", "T1", "U1", installer("T1", "U1"));
+		store.saveInstaller("", "T1", "U2", installer("T1", "U2"));
+		store.saveBot("", "T2", bot("T2", "xoxb-2"));
+		store.saveInstaller("", "T2", "U1", installer("T2", "U1"));
+
+		store.deleteAll("", "T1");
+
+		assertEquals(Set.of("slack:bot::T2", "slack:installer::T2:U1", "slack:installers::T2"), redis.keys());
+	}
+
+	@Test
+	public void testStateIsSavedWithItsExpiry() {
+		store.saveState("state-1", now.get() + 600_000);
+
+		assertEquals(600_000L, redis.ttlMillis("slack:state:state-1"));
+		assertTrue(store.isStateAvailable("state-1", now.get()));
+		assertFalse(store.isStateAvailable("state-2", now.get()));
+	}
+
+	@Test
+	public void testStateExpires() {
+		store.saveState("state-1", now.get() + 600_000);
+
+		assertFalse(store.isStateAvailable("state-1", now.get() + 600_000));
+		redis.advance(Duration.ofMinutes(10));
+		assertFalse(redis.keys().contains("slack:state:state-1"));
+	}
+
+	@Test
+	public void testExpiredStateIsNotSaved() {
+		store.saveState("state-1", now.get());
+
+		assertTrue(redis.keys().isEmpty());
+	}
+
+	@Test
+	public void testDeletedStateIsNotAvailable() {
+		store.saveState("state-1", now.get() + 600_000);
+		store.deleteState("state-1");
+
+		assertFalse(store.isStateAvailable("state-1", now.get()));
+	}
+
+	private static DefaultBot bot(String teamId, String botToken) {
+		DefaultBot bot = new DefaultBot();
+		bot.setTeamId(teamId);
+		bot.setBotAccessToken(botToken);
+		return bot;
+	}
+
+	private static DefaultInstaller installer(String teamId, String userId) {
+		return DefaultInstaller.builder()
+				.teamId(teamId)
+				.installerUserId(userId)
+				.botAccessToken("xoxb-" + userId)
+				.installedAt(1_000_000L)
+				.build();
+	}
+}
@@ -0,0 +1,57 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.oauth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import com.slack.api.bolt.model.builtin.DefaultInstaller;
+
+public class RedisInvalidationBusTests {
+
+	private final InMemoryRedisTemplate redis = new InMemoryRedisTemplate();
+
+	@Test
+	public void testPublishedWorkspaceIsReceivedByEveryNode() {
+		RedisInvalidationBus node1 = new RedisInvalidationBus(redis, redis.listenerContainer());
+		RedisInvalidationBus node2 = new RedisInvalidationBus(redis, redis.listenerContainer());
+		List<String> received1 = new CopyOnWriteArrayList<>();
+		List<String> received2 = new CopyOnWriteArrayList<>();
+		node1.subscribe((enterpriseId, teamId) -> received1.add(enterpriseId + "/" + teamId));
+		node2.subscribe((enterpriseId, teamId) -> received2.add(enterpriseId + "/" + teamId));
+
+		node1.publish("E1", "T1");
+
+		assertEquals(List.of("E1/T1"), received1);
+		assertEquals(List.of("E1/T1"), received2);
+	}
+
+	@Test
+	public void testEmptyIdsAreKept() {
+		RedisInvalidationBus bus = new RedisInvalidationBus(redis, redis.listenerContainer());
+		List<String> received = new CopyOnWriteArrayList<>();
+		bus.subscribe((enterpriseId, teamId) -> received.add(enterpriseId + "/" + teamId));
+
+		bus.publish("", "T1");
+		bus.publish("E1", "");
+
+		assertEquals(List.of("/T1", "E1/"), received);
+	}
+
+	@Test
+	public void testInvalidationEvictsTheBotCachedByAnotherNode() throws Exception {
+		RedisInstallationStore store = new RedisInstallationStore(redis);
+		CachingInstallationService node1 = new CachingInstallationService(store, new RedisInvalidationBus(redis, redis.listenerContainer()));
+		CachingInstallationService node2 = new CachingInstallationService(store, new RedisInvalidationBus(redis, redis.listenerContainer()));
+
+		node1.saveInstallerAndBot(DefaultInstaller.builder()
+				.teamId("T1").installerUserId("U1").botAccessToken("xoxb-1").installedAt(1L).build());
+		assertEquals("xoxb-1", node2.findBot(null, "T1").getBotAccessToken());
+
+		node1.saveInstallerAndBot(DefaultInstaller.builder()
+				.teamId("T1").installerUserId("U2").botAccessToken("xoxb-2").installedAt(2L).build());
+		assertEquals("xoxb-2", node2.findBot(null, "T1").getBotAccessToken());
+	}
+}
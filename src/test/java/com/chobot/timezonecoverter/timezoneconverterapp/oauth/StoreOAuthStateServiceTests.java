@@ -0,0 +1,55 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.oauth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class StoreOAuthStateServiceTests {
+	
+	private final AtomicLong now = new AtomicLong(1_000_000L);
+	private JdbcTemplate jdbcTemplate;
+	private StoreOAuthStateService stateService;
+	
+	@BeforeEach
+	public void setUp() {
+		JdbcDataSource dataSource = new JdbcDataSource();
+		dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		stateService = new StoreOAuthStateService(new JdbcInstallationStore(jdbcTemplate), now::get);
+	}
+	
+	@Test
+	public void testIssuedStateIsAvailableUntilDeleted() throws Exception {
+		stateService.addNewStateToDatastore("state-1");
+		assertTrue(stateService.isAvailableInDatabase("state-1"));
+		assertFalse(stateService.isAvailableInDatabase("state-2"));
+		
+		stateService.deleteStateFromDatastore("state-1");
+		assertFalse(stateService.isAvailableInDatabase("state-1"));
+	}
+	
+	@Test
+	public void testStateExpires() throws Exception {
+		stateService.addNewStateToDatastore("state-1");
+		now.addAndGet(stateService.getExpirationInSeconds() * 1000L);
+		
+		assertFalse(stateService.isAvailableInDatabase("state-1"));
+	}
+	
+	@Test
+	public void testExpiredStatesArePurgedWhenIssuing() throws Exception {
+		stateService.addNewStateToDatastore("state-1");
+		now.addAndGet(stateService.getExpirationInSeconds() * 1000L);
+		stateService.addNewStateToDatastore("state-2");
+		
+		assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM slack_oauth_states", Integer.class));
+	}
+}
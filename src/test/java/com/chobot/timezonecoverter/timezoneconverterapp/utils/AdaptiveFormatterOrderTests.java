@@ -0,0 +1,52 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.AdaptiveFormatterOrder;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.DateTimeShape;
+
+public class AdaptiveFormatterOrderTests {
+	
+	private static final DateTimeFormatter FULL_MONTH = DateTimeFormatter.ofPattern("MMMM dd, yyyy h:mm a z");
+	private static final DateTimeFormatter SHORT_MONTH = DateTimeFormatter.ofPattern("MMM dd, yyyy h:mm a z");
+	
+	private final AdaptiveFormatterOrder formatterOrder = new AdaptiveFormatterOrder(
+		Map.of(DateTimeShape.MONTH_NAME_FIRST, List.of(FULL_MONTH, SHORT_MONTH)), 
+		Integer.MAX_VALUE
+	);
+	
+	@Test
+	public void testStartsInRegistrationOrder() {
+		assertEquals(List.of(FULL_MONTH, SHORT_MONTH), formatterOrder.candidates(DateTimeShape.MONTH_NAME_FIRST));
+		assertEquals(List.of(), formatterOrder.candidates(DateTimeShape.NUMERIC_DATE_ERA));
+	}
+	
+	@Test
+	public void testMostMatchedFormatterMovesFirst() {
+		formatterOrder.recordMatch(SHORT_MONTH);
+		formatterOrder.recordMatch(SHORT_MONTH);
+		formatterOrder.recordMatch(FULL_MONTH);
+		formatterOrder.reorder();
+		
+		assertEquals(List.of(SHORT_MONTH, FULL_MONTH), formatterOrder.candidates(DateTimeShape.MONTH_NAME_FIRST));
+		assertEquals(2, formatterOrder.matches(SHORT_MONTH));
+	}
+	
+	@Test
+	public void testPinnedOrderIgnoresMatches() {
+		formatterOrder.setPinned(true);
+		formatterOrder.recordMatch(SHORT_MONTH);
+		formatterOrder.reorder();
+		
+		assertEquals(List.of(FULL_MONTH, SHORT_MONTH), formatterOrder.candidates(DateTimeShape.MONTH_NAME_FIRST));
+		
+		formatterOrder.setPinned(false);
+		assertEquals(List.of(SHORT_MONTH, FULL_MONTH), formatterOrder.candidates(DateTimeShape.MONTH_NAME_FIRST));
+	}
+}
@@ -0,0 +1,88 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.BatchDateTimeProcessor;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.BatchDateTimeProcessor.Result;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.DateTimeProcessor;
+
+public class BatchDateTimeProcessorTests {
+	
+	private final BatchDateTimeProcessor processor = new BatchDateTimeProcessor(4);
+	
+	@AfterEach
+	public void tearDown() {
+		processor.close();
+	}
+	
+	@Test
+	public void testEveryInputIsConvertedOnce() throws InterruptedException {
+		List<String> inputs = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			inputs.add(i % 10 == 0 ? "not a date to EST" : "2010-02-04T14:39:" + String.format("%02d", i % 60) + " PST to EST");
+		}
+		
+		Result[] results = new Result[inputs.size()];
+		processor.process(inputs, result -> {
+			assertNull(results[result.index()]);
+			results[result.index()] = result;
+		});
+		
+		for (int i = 0; i < inputs.size(); i++) {
+			assertEquals(inputs.get(i), results[i].input());
+			assertEquals(DateTimeProcessor.processDateTimeInput(inputs.get(i)), results[i].output());
+		}
+	}
+	
+	@Test
+	public void testEmptyBatch() throws InterruptedException {
+		AtomicInteger results = new AtomicInteger();
+		processor.process(List.of(), result -> results.incrementAndGet());
+		assertEquals(0, results.get());
+	}
+	
+	@Test
+	public void testConsumerFailureStopsTheBatch() {
+		List<String> inputs = new ArrayList<>();
+		for (int i = 0; i < 10_000; i++) {
+			inputs.add("2010-02-04T14:39:28 PST to EST");
+		}
+		
+		AtomicInteger results = new AtomicInteger();
+		assertThrows(IllegalStateException.class, () -> processor.process(inputs, result -> {
+			if (results.incrementAndGet() == 10) {
+				throw new IllegalStateException("client went away");
+			}
+		}));
+		assertTrue(results.get() < inputs.size());
+	}
+	
+	@Test
+	public void testConversionFailureIsThrownToTheCaller() {
+		List<String> inputs = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			inputs.add(i == 500 ? "fail" : "2010-02-04T14:39:28 PST to EST");
+		}
+		
+		try (BatchDateTimeProcessor failing = new BatchDateTimeProcessor(4, input -> {
+			if (input.equals("fail")) {
+				throw new StackOverflowError();
+			}
+			return DateTimeProcessor.processDateTimeInput(input);
+		})) {
+			CompletionException e = assertThrows(CompletionException.class, () -> failing.process(inputs, result -> {}));
+			assertTrue(e.getCause() instanceof StackOverflowError, e.getCause().toString());
+		}
+	}
+}
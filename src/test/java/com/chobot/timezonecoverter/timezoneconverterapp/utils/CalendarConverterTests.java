@@ -0,0 +1,159 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.CalendarConverter;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.CalendarConverter.Result;
+
+public class CalendarConverterTests {
+
+	private static List<Result> convert(String targetTimeZone, ZoneId defaultZone, String... eventLines) throws IOException {
+		String calendar = "BEGIN:VCALENDAR\r\nBEGIN:VEVENT\r\n" + String.join("\r\n", eventLines) + "\r\nEND:VEVENT\r\nEND:VCALENDAR\r\n";
+		List<Result> results = new ArrayList<>();
+		CalendarConverter.convert(new StringReader(calendar), targetTimeZone, defaultZone, results::add);
+		return results;
+	}
+
+	@Test
+	public void testTzidEvent() throws IOException {
+		Result result = convert("JST", null, "SUMMARY:Standup", "DTSTART;TZID=America/New_York:20231128T153000",
+				"DTEND;TZID=America/New_York:20231128T160000").get(0);
+
+		assertEquals("Standup", result.summary());
+		assertEquals("Nov 29, 2023 5:30 AM JST", result.start());
+		assertEquals("Nov 29, 2023 6:00 AM JST", result.end());
+		assertNull(result.error());
+	}
+
+	@Test
+	public void testUtcEventWithDuration() throws IOException {
+		Result result = convert("PST", null, "DTSTART:20231128T203000Z", "DURATION:PT1H30M").get(0);
+
+		assertEquals("Nov 28, 2023 12:30 PM PST", result.start());
+		assertEquals("Nov 28, 2023 2:00 PM PST", result.end());
+	}
+
+	@Test
+	public void testFloatingEvent() throws IOException {
+		Result withoutZone = convert("UTC", null, "DTSTART:20231128T090000").get(0);
+		assertNull(withoutZone.start());
+		assertTrue(withoutZone.error().contains("20231128T090000"));
+
+		Result withZone = convert("UTC", ZoneId.of("Europe/Paris"), "DTSTART:20231128T090000").get(0);
+		assertEquals("Nov 28, 2023 8:00 AM UTC", withZone.start());
+		assertNull(withZone.end());
+	}
+
+	@Test
+	public void testAllDayEventIsNotConverted() throws IOException {
+		Result result = convert("JST", null, "DTSTART;VALUE=DATE:20231128", "DTEND;VALUE=DATE:20231129").get(0);
+
+		assertEquals("Nov 28, 2023", result.start());
+		assertNull(result.end());
+		assertNull(result.error());
+	}
+
+	@Test
+	public void testAllDayEventEndsTheDayBeforeItsDtend() throws IOException {
+		Result result = convert("JST", null, "DTSTART;VALUE=DATE:20231127", "DTEND;VALUE=DATE:20231130").get(0);
+
+		assertEquals("Nov 27, 2023", result.start());
+		assertEquals("Nov 29, 2023", result.end());
+	}
+
+	@Test
+	public void testWindowsTzidEvent() throws IOException {
+		List<Result> results = convert("UTC", null,
+				"DTSTART;TZID=\"Eastern Standard Time\":20231128T153000", "DTEND;TZID=W. Europe Standard Time:20240701T100000");
+
+		assertEquals("Nov 28, 2023 8:30 PM UTC", results.get(0).start());
+		assertEquals("Jul 01, 2024 8:00 AM UTC", results.get(0).end());
+		assertNull(results.get(0).error());
+	}
+
+	@Test
+	public void testRecurringEventIsConvertedOnce() throws IOException {
+		List<Result> results = convert("CET", null, "DTSTART;TZID=America/Los_Angeles:20231127T090000",
+				"RRULE:FREQ=DAILY;COUNT=1000");
+
+		assertEquals(1, results.size());
+		assertEquals("Nov 27, 2023 6:00 PM CET", results.get(0).start());
+		assertEquals("FREQ=DAILY;COUNT=1000", results.get(0).recurrence());
+	}
+
+	@Test
+	public void testInvalidEvents() throws IOException {
+		assertTrue(convert("JST", null, "DTSTART;TZID=Mars/Olympus_Mons:20231128T153000").get(0).error() != null);
+		assertTrue(convert("JST", null, "DTSTART:2023-11-28 15:30").get(0).error().contains("2023-11-28 15:30"));
+		assertTrue(convert("JST", null, "DTSTART:20231128T203000Z", "DURATION:an hour").get(0).error().contains("an hour"));
+		assertEquals("The event has no DTSTART.", convert("JST", null, "SUMMARY:No start").get(0).error());
+	}
+
+	@Test
+	public void testTargetTimeZone() {
+		assertTrue(CalendarConverter.resolveTimeZone("JST").isSuccess());
+		assertFalse(CalendarConverter.resolveTimeZone("NOWHERE").isSuccess());
+	}
+
+	@Test
+	public void testLargeCalendarIsStreamed() throws IOException {
+		int events = 50_000;
+		AtomicInteger converted = new AtomicInteger();
+		int count = CalendarConverter.convert(new GeneratedCalendar(events), "JST", null, result -> {
+			assertEquals(converted.getAndIncrement(), result.index());
+			assertNull(result.error());
+		});
+
+		assertEquals(events, count);
+		assertEquals(events, converted.get());
+	}
+
+	/**
+	 * A calendar of recurring events generated as it is read, so that it is never held in memory as a whole.
+	 */
+	private static class GeneratedCalendar extends Reader {
+
+		private final int events;
+		private int event = -1;
+		private String chunk = "BEGIN:VCALENDAR\r\n";
+		private int position;
+
+		GeneratedCalendar(int events) {
+			this.events = events;
+		}
+
+		@Override
+		public int read(char[] buffer, int offset, int length) {
+			if (position == chunk.length()) {
+				event++;
+				if (event > events) {
+					return -1;
+				}
+				chunk = event == events ? "END:VCALENDAR\r\n"
+						: "BEGIN:VEVENT\r\nSUMMARY:Event " + event + "\r\nDTSTART;TZID=Europe/Berlin:20231128T"
+								+ String.format("%02d", event % 24) + "0000\r\nDURATION:PT45M\r\nRRULE:FREQ=WEEKLY\r\nEND:VEVENT\r\n";
+				position = 0;
+			}
+			int read = Math.min(length, chunk.length() - position);
+			chunk.getChars(position, position + read, buffer, offset);
+			position += read;
+			return read;
+		}
+
+		@Override
+		public void close() {}
+	}
+}
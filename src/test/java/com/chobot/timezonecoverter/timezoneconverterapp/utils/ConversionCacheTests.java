@@ -0,0 +1,50 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ConversionCache;
+
+public class ConversionCacheTests {
+	
+	private final AtomicLong nanoClock = new AtomicLong();
+	
+	@Test
+	public void testHitAndMiss() {
+		ConversionCache cache = new ConversionCache(10, Duration.ofMinutes(1), nanoClock::get);
+		cache.put("2010-02-04T14:39:28 PST to EST", "Feb 04, 2010 5:39 PM EST");
+		
+		assertEquals("Feb 04, 2010 5:39 PM EST", cache.get("2010-02-04T14:39:28 PST to EST"));
+		assertNull(cache.get("2010-02-04T14:39:28 PST to CET"));
+		assertEquals(new ConversionCache.Stats(1, 1, 0, 1), cache.stats());
+	}
+	
+	@Test
+	public void testLeastRecentlyUsedEviction() {
+		ConversionCache cache = new ConversionCache(2, Duration.ofMinutes(1), nanoClock::get);
+		cache.put("a", "1");
+		cache.put("b", "2");
+		cache.get("a");
+		cache.put("c", "3");
+		
+		assertNull(cache.get("b"));
+		assertEquals("1", cache.get("a"));
+		assertEquals("3", cache.get("c"));
+		assertEquals(1, cache.stats().evictions());
+	}
+	
+	@Test
+	public void testExpiry() {
+		ConversionCache cache = new ConversionCache(10, Duration.ofSeconds(30), nanoClock::get);
+		cache.put("a", "1");
+		nanoClock.addAndGet(Duration.ofSeconds(30).toNanos());
+		
+		assertNull(cache.get("a"));
+		assertEquals(new ConversionCache.Stats(0, 1, 1, 0), cache.stats());
+	}
+}
@@ -0,0 +1,83 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.time.ZonedDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ConversionResult;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ConversionResult.Failure;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ConversionResult.Success;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.DateTimeConverter;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.DateTimeProcessor;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.PipelineMetrics.ErrorType;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.UserInputParser;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ZonedDateTimeStringParser;
+
+public class ConversionResultTests {
+
+	@Test
+	public void testMapAndFlatMapSkipFailures() {
+		ConversionResult<Integer> success = ConversionResult.success(2);
+		ConversionResult<Integer> failure = ConversionResult.failure(ErrorType.INVALID_INPUT, "bad input");
+
+		assertEquals(new Success<>(6), success.map(value -> value * 3));
+		assertEquals(new Success<>("2"), success.flatMap(value -> ConversionResult.success(String.valueOf(value))));
+		assertEquals(new Failure<>(ErrorType.INVALID_INPUT, "bad input"), failure.map(value -> value * 3));
+		assertEquals(new Failure<>(ErrorType.INVALID_INPUT, "bad input"), failure.flatMap(value -> ConversionResult.success("never")));
+	}
+
+	@Test
+	public void testOrElseThrow() {
+		assertEquals(2, ConversionResult.success(2).orElseThrow(f -> new IllegalStateException()));
+
+		ConversionResult<Integer> failure = ConversionResult.failure(ErrorType.INVALID_INPUT, "bad input");
+		IllegalArgumentException e = assertThrows(
+				IllegalArgumentException.class,
+				() -> failure.orElseThrow(f -> new IllegalArgumentException(f.message())));
+		assertEquals("bad input", e.getMessage());
+	}
+
+	@Test
+	public void testEachStageReportsItsErrorType() {
+		assertError(ErrorType.INVALID_INPUT, UserInputParser.trySplit("2010-02-04T14:39:28 PST EST"));
+		assertError(ErrorType.TOO_MANY_TARGETS, UserInputParser.trySplitTargetTimeZones("A, B, C, D, E, F, G, H, I, J, K"));
+		assertError(ErrorType.INVALID_DATE_TIME, ZonedDateTimeStringParser.tryParse("02-04-2010 10:30 PST"));
+		assertError(ErrorType.INVALID_DATE_TIME, UserInputParser.tryParseDateTimeString("2010-02-04T25:39:28 PST"));
+
+		ZonedDateTime zonedDateTime = ZonedDateTime.now();
+		assertError(ErrorType.UNKNOWN_ZONE, DateTimeConverter.tryConvert(zonedDateTime, "FAIL"));
+		assertError(ErrorType.INVALID_ZONE, DateTimeConverter.tryConvert(zonedDateTime, "+99:99"));
+		assertTrue(DateTimeConverter.tryConvert(zonedDateTime, "EST").isSuccess());
+	}
+
+	@Test
+	public void testProcessReturnsTheFailureOfTheRejectingStage() {
+		ConversionResult<String> result = DateTimeProcessor.process("2010-02-04T14:39:28 PST to FAIL");
+
+		if (!(result instanceof Failure<String> failure)) {
+			fail("Expected a failure: " + result);
+			return;
+		}
+		assertEquals(ErrorType.UNKNOWN_ZONE, failure.error());
+		assertEquals("Zone ID region ID for: FAIL could not be found.", failure.message());
+		assertEquals(failure.message(), DateTimeProcessor.processDateTimeInput("2010-02-04T14:39:28 PST to FAIL"));
+	}
+
+	@Test
+	public void testProcessReturnsTheConvertedDateTime() {
+		ConversionResult<String> result = DateTimeProcessor.process("2010-02-04T14:39:28 PST to EST");
+
+		assertEquals(new Success<>("2010-02-04T14:39:28 PST to EST is *Feb 04, 2010 5:39 PM EST*."), result);
+	}
+
+	private static void assertError(ErrorType expected, ConversionResult<?> result) {
+		assertFalse(result.isSuccess());
+		assertEquals(expected, ((Failure<?>) result).error());
+	}
+}
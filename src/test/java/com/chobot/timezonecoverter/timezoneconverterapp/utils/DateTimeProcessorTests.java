@@ -1,12 +1,30 @@
 package com.chobot.timezonecoverter.timezoneconverterapp.utils;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ConversionCache;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ConversionResult;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ConversionResult.Failure;
 import com.chobot.timezonecoverter.timezoneconverterapp.datetime.DateTimeProcessor;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.PipelineMetrics.ErrorType;
 
 public class DateTimeProcessorTests {
+	
+	@AfterEach
+	public void tearDown() {
+		DateTimeProcessor.setDstStrict(false);
+	}
+	
 	@Test
 	public void testValidUserInput() {
 		String mockUserInput = createMockUserInput("2010-02-04T14:39:28 PST", "EST");
@@ -23,6 +41,17 @@ public class DateTimeProcessorTests {
 		assertEquals(createExpectedOutput(mockUserInput, "Feb 04, 2010 5:39 PM EST"), formattedDateTime);
 	}
 	
+	@Test
+	public void testAbbreviationKeepsItsOffsetOutOfSeason() {
+		String australianSummer = createMockUserInput("2024-01-15T00:00:00 GMT", "AEST");
+		String europeanWinter = createMockUserInput("2024-01-15T12:00:00 GMT", "CEST");
+		String americanWinter = createMockUserInput("2023-12-15T12:00:00 GMT", "EDT");
+		
+		assertEquals(createExpectedOutput(australianSummer, "Jan 15, 2024 10:00 AM AEST"), DateTimeProcessor.processDateTimeInput(australianSummer));
+		assertEquals(createExpectedOutput(europeanWinter, "Jan 15, 2024 2:00 PM CEST"), DateTimeProcessor.processDateTimeInput(europeanWinter));
+		assertEquals(createExpectedOutput(americanWinter, "Dec 15, 2023 8:00 AM EDT"), DateTimeProcessor.processDateTimeInput(americanWinter));
+	}
+	
 	@Test
 	public void testInvalidTargetZoneId() {
 		String mockUserInput = createMockUserInput("2010-02-04T14:39:28 PST", "fail");
@@ -39,6 +68,176 @@ public class DateTimeProcessorTests {
 		assertEquals("The format of the date time is invalid: 02-04-2010 10:30 PST", formattedDateTime);
 	}
 	
+	@Test
+	public void testRepeatedInputIsCached() {
+		String mockUserInput = createMockUserInput("2012-07-14T09:00:00 PST", "EST");
+		DateTimeProcessor.processDateTimeInput(mockUserInput);
+		ConversionCache.Stats statsBefore = DateTimeProcessor.cacheStats();
+		
+		String formattedDateTime = DateTimeProcessor.processDateTimeInput(mockUserInput);
+		
+		assertEquals(createExpectedOutput(mockUserInput, "Jul 14, 2012 11:00 AM EST"), formattedDateTime);
+		assertTrue(DateTimeProcessor.cacheStats().hits() > statsBefore.hits());
+	}
+	
+	@Test
+	public void testCachedResultEchoesOwnInput() {
+		String mockUserInput = createMockUserInput("2012-07-15T09:00:00 PST", "EST");
+		String otherMockUserInput = createMockUserInput("  2012-07-15T09:00:00 PST", "est ");
+		DateTimeProcessor.processDateTimeInput(mockUserInput);
+		
+		String formattedDateTime = DateTimeProcessor.processDateTimeInput(otherMockUserInput);
+		
+		assertEquals(createExpectedOutput(otherMockUserInput, "Jul 15, 2012 11:00 AM EST"), formattedDateTime);
+	}
+	
+	@Test
+	public void testMultipleTargetTimeZones() {
+		String mockUserInput = createMockUserInput("2010-02-04T14:39:28 PST", "EST, cet, Asia/Tokyo");
+		String formattedDateTime = DateTimeProcessor.processDateTimeInput(mockUserInput);
+		
+		assertEquals(
+			mockUserInput + " is:\n• *Feb 04, 2010 5:39 PM EST*\n• *Feb 04, 2010 11:39 PM CET*\n• *Feb 05, 2010 7:39 AM ASIA/TOKYO*", 
+			formattedDateTime
+		);
+	}
+	
+	@Test
+	public void testMultipleTargetTimeZonesWithInvalidZoneId() {
+		String mockUserInput = createMockUserInput("2010-02-04T14:39:28 PST", "EST, fail");
+		String formattedDateTime = DateTimeProcessor.processDateTimeInput(mockUserInput);
+		
+		assertEquals("Zone ID region ID for: FAIL could not be found.", formattedDateTime);
+	}
+	
+	@Test
+	public void testRelativeDateTimeIsResolvedAtRequestTime() {
+		String mockUserInput = createMockUserInput("friday at 3pm PST", "EST");
+		Clock wednesday = Clock.fixed(Instant.parse("2023-11-29T18:00:00Z"), ZoneOffset.UTC);
+		Clock nextWeek = Clock.fixed(Instant.parse("2023-12-06T18:00:00Z"), ZoneOffset.UTC);
+		
+		assertEquals(createExpectedOutput(mockUserInput, "Dec 01, 2023 6:00 PM EST"), DateTimeProcessor.processDateTimeInput(mockUserInput, wednesday));
+		assertEquals(createExpectedOutput(mockUserInput, "Dec 08, 2023 6:00 PM EST"), DateTimeProcessor.processDateTimeInput(mockUserInput, nextWeek));
+	}
+	
+	@Test
+	public void testTomorrowIsNotSplitOnItsTo() {
+		String mockUserInput = createMockUserInput("tomorrow 9am CET", "JST");
+		
+		String formattedDateTime = DateTimeProcessor.processDateTimeInput(mockUserInput, Clock.fixed(Instant.parse("2023-11-29T18:00:00Z"), ZoneOffset.UTC));
+		
+		assertEquals(createExpectedOutput(mockUserInput, "Nov 30, 2023 5:00 PM JST"), formattedDateTime);
+	}
+	
+	@Test
+	public void testRelativeDateTimeIsNotCached() {
+		String mockUserInput = createMockUserInput("in 90 minutes", "CET");
+		ConversionCache.Stats statsBefore = DateTimeProcessor.cacheStats();
+		
+		String formattedDateTime = DateTimeProcessor.processDateTimeInput(mockUserInput, Clock.fixed(Instant.parse("2023-11-29T18:00:00Z"), ZoneOffset.UTC));
+		
+		assertEquals(createExpectedOutput(mockUserInput, "Nov 29, 2023 8:30 PM CET"), formattedDateTime);
+		assertEquals(statsBefore.misses(), DateTimeProcessor.cacheStats().misses());
+	}
+	
+	@Test
+	public void testDateTimeWithoutTimeZoneIsInDefaultTimeZone() {
+		String mockUserInput = createMockUserInput("Nov 30, 2023 2:45 PM", "EST");
+		Clock clock = Clock.systemUTC();
+		
+		assertEquals(createExpectedOutput(mockUserInput, "Nov 30, 2023 5:45 PM EST"), 
+				DateTimeProcessor.processDateTimeInput(mockUserInput, clock, ZoneId.of("America/Los_Angeles")));
+		assertEquals(createExpectedOutput(mockUserInput, "Nov 30, 2023 8:45 AM EST"), 
+				DateTimeProcessor.processDateTimeInput(mockUserInput, clock, ZoneId.of("Europe/Paris")));
+		assertEquals("The format of the date time is invalid: Nov 30, 2023 2:45 PM", 
+				DateTimeProcessor.processDateTimeInput(mockUserInput, clock));
+	}
+	
+	@Test
+	public void testExplicitTimeZoneOverridesDefaultTimeZone() {
+		String mockUserInput = createMockUserInput("2010-02-04T14:39:28 PST", "EST");
+		
+		assertEquals(createExpectedOutput(mockUserInput, "Feb 04, 2010 5:39 PM EST"), 
+				DateTimeProcessor.processDateTimeInput(mockUserInput, Clock.systemUTC(), ZoneId.of("Asia/Tokyo")));
+	}
+	
+	@Test
+	public void testRelativeDateTimeWithoutTimeZoneIsInDefaultTimeZone() {
+		String mockUserInput = createMockUserInput("tomorrow 9am", "JST");
+		
+		String formattedDateTime = DateTimeProcessor.processDateTimeInput(mockUserInput, 
+				Clock.fixed(Instant.parse("2023-11-29T18:00:00Z"), ZoneOffset.UTC), ZoneId.of("Europe/Paris"));
+		
+		assertEquals(createExpectedOutput(mockUserInput, "Nov 30, 2023 5:00 PM JST"), formattedDateTime);
+	}
+	
+	@Test
+	public void testDateTimeInDstOverlapIsConvertedAtBothOffsets() {
+		String mockUserInput = createMockUserInput("2023-11-05 01:30:00 America/Los_Angeles", "UTC");
+		
+		assertEquals(createExpectedOutput(mockUserInput, "Nov 05, 2023 8:30 AM UTC or Nov 05, 2023 9:30 AM UTC")
+				+ "\n_1:30 AM happens twice on Nov 05, 2023 in America/Los_Angeles, as the clocks go back from 2:00 AM to 1:00 AM."
+				+ " Give the offset to pick one: 2023-11-05T01:30-07:00 or 2023-11-05T01:30-08:00._",
+				DateTimeProcessor.processDateTimeInput(mockUserInput));
+	}
+	
+	@Test
+	public void testDateTimeInDstGapIsConvertedAtBothOffsets() {
+		String mockUserInput = createMockUserInput("Mar 12, 2023 2:30 AM", "UTC, JST");
+		
+		String formattedDateTime = DateTimeProcessor.processDateTimeInput(mockUserInput, Clock.systemUTC(), ZoneId.of("America/New_York"));
+		
+		assertTrue(formattedDateTime.contains("• *Mar 12, 2023 6:30 AM UTC or Mar 12, 2023 7:30 AM UTC*"), formattedDateTime);
+		assertTrue(formattedDateTime.contains("• *Mar 12, 2023 3:30 PM JST or Mar 12, 2023 4:30 PM JST*"), formattedDateTime);
+		assertTrue(formattedDateTime.endsWith("_2:30 AM does not exist on Mar 12, 2023 in America/New_York, as the clocks go forward from 2:00 AM to 3:00 AM."
+				+ " Give the offset to pick one: 2023-03-12T02:30-04:00 or 2023-03-12T02:30-05:00._"), formattedDateTime);
+	}
+	
+	@Test
+	public void testDateTimeInDstOverlapIsRejectedInStrictMode() {
+		DateTimeProcessor.setDstStrict(true);
+		
+		ConversionResult<String> result = DateTimeProcessor.process(createMockUserInput("2023-11-05 01:30:00 America/Los_Angeles", "EST"));
+		
+		assertTrue(result instanceof Failure<String> failure && failure.error() == ErrorType.AMBIGUOUS_DATE_TIME);
+	}
+	
+	@Test
+	public void testDateTimeWithAbbreviationInDstOverlapIsNotAmbiguous() {
+		String daylight = createMockUserInput("Nov 05, 2023 1:30 AM PDT", "UTC");
+		String standard = createMockUserInput("Nov 05, 2023 1:30 AM PST", "UTC");
+		
+		assertEquals(createExpectedOutput(daylight, "Nov 05, 2023 8:30 AM UTC"), DateTimeProcessor.processDateTimeInput(daylight));
+		assertEquals(createExpectedOutput(standard, "Nov 05, 2023 9:30 AM UTC"), DateTimeProcessor.processDateTimeInput(standard));
+	}
+	
+	@Test
+	public void testDateTimeWithAbbreviationInDstGapIsNotAmbiguous() {
+		String mockUserInput = createMockUserInput("Mar 12, 2023 2:30 AM PST", "UTC");
+		
+		assertEquals(createExpectedOutput(mockUserInput, "Mar 12, 2023 10:30 AM UTC"), DateTimeProcessor.processDateTimeInput(mockUserInput));
+	}
+	
+	@Test
+	public void testDateTimeWithAbbreviationInDstTransitionIsAcceptedInStrictMode() {
+		DateTimeProcessor.setDstStrict(true);
+		
+		assertTrue(DateTimeProcessor.process(createMockUserInput("Nov 05, 2023 1:30 AM PDT", "UTC")).isSuccess());
+		assertTrue(DateTimeProcessor.process(createMockUserInput("Nov 05, 2023 1:30 AM PST", "UTC")).isSuccess());
+		assertTrue(DateTimeProcessor.process(createMockUserInput("Mar 12, 2023 2:30 AM PST", "UTC")).isSuccess());
+	}
+	
+	@Test
+	public void testDateTimeWithOffsetInDstOverlapIsNotAmbiguous() {
+		DateTimeProcessor.setDstStrict(true);
+		String mockUserInput = createMockUserInput("2023-11-05T01:30-08:00[America/Los_Angeles]", "UTC");
+		
+		String formattedDateTime = DateTimeProcessor.processDateTimeInput(mockUserInput);
+		
+		assertEquals(createExpectedOutput(mockUserInput, "Nov 05, 2023 9:30 AM UTC"), formattedDateTime);
+		assertFalse(formattedDateTime.contains("twice"));
+	}
+	
 	private String createMockUserInput(String dateTimeToConvert, String targetTimeZone) {
 		return String.format("%s to %s", dateTimeToConvert, targetTimeZone);
 	}
@@ -0,0 +1,73 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.DateTimeScanner;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.DateTimeScanner.Match;
+
+public class DateTimeScannerTests {
+
+	private static final Clock CLOCK = Clock.fixed(Instant.parse("2023-11-28T12:00:00Z"), ZoneOffset.UTC);
+
+	@Test
+	public void testFindsAbsoluteAndRelativeDateTimes() {
+		String message = "Let's meet Nov 28, 2023 3:30 PM EST, or tomorrow at 9am CET if that's too late.";
+
+		List<Match> matches = DateTimeScanner.scan(message, CLOCK);
+
+		assertEquals(List.of("Nov 28, 2023 3:30 PM EST", "tomorrow at 9am CET"), texts(matches));
+		assertEquals(Instant.parse("2023-11-28T20:30:00Z"), matches.get(0).zonedDateTime().toInstant());
+		assertEquals(Instant.parse("2023-11-29T08:00:00Z"), matches.get(1).zonedDateTime().toInstant());
+		assertEquals("Nov 28, 2023 3:30 PM EST", message.substring(matches.get(0).start(), matches.get(0).end()));
+	}
+
+	@Test
+	public void testMatchesTheLongestAbbreviationAsAWholeWord() {
+		List<Match> matches = DateTimeScanner.scan("(2023-11-28T15:30:00 AEST) and 3pm XEST and 3pm ESTX", CLOCK);
+
+		assertEquals(List.of("2023-11-28T15:30:00 AEST"), texts(matches));
+	}
+
+	@Test
+	public void testIsoDateTimeAndTargetOfAConvertCommand() {
+		assertEquals(List.of("2010-02-04T14:39:28 PST"), texts(DateTimeScanner.scan("/convert 2010-02-04T14:39:28 PST to EST", CLOCK)));
+	}
+
+	@Test
+	public void testIgnoresZonesWithoutATime() {
+		assertTrue(DateTimeScanner.scan("The PST office and the EST office, all times in UTC.", CLOCK).isEmpty());
+		assertTrue(DateTimeScanner.scan("est 3pm pst, lower case is not a time-zone", CLOCK).isEmpty());
+		assertTrue(DateTimeScanner.scan("", CLOCK).isEmpty());
+	}
+
+	@Test
+	public void testDateTimeDoesNotSpanLines() {
+		assertEquals(List.of("3pm PST"), texts(DateTimeScanner.scan("Nov 28, 2023\n3pm PST", CLOCK)));
+	}
+
+	@Test
+	public void testFindsAtMostTheMaximumNumberOfMatches() {
+		String message = "3pm PST, ".repeat(DateTimeScanner.MAX_MATCHES + 5);
+
+		assertEquals(DateTimeScanner.MAX_MATCHES, DateTimeScanner.scan(message, CLOCK).size());
+	}
+
+	@Test
+	public void testLongMessage() {
+		String message = "lorem ipsum PST dolor, sit EST amet 12 ".repeat(20_000) + "at noon UTC";
+
+		assertEquals(List.of("noon UTC"), texts(DateTimeScanner.scan(message, CLOCK)));
+	}
+
+	private static List<String> texts(List<Match> matches) {
+		return matches.stream().map(Match::text).toList();
+	}
+}
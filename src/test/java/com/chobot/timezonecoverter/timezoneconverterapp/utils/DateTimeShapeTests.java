@@ -0,0 +1,47 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.DateTimeShape;
+
+public class DateTimeShapeTests {
+	
+	@Test
+	public void testNumericDateWithT() {
+		assertEquals(DateTimeShape.NUMERIC_DATE_T_TIME, DateTimeShape.classify("2011-12-03T10:15:30+01:00"));
+		assertEquals(DateTimeShape.NUMERIC_DATE_T_TIME, DateTimeShape.classify("2010-02-04T14:39:28 PST"));
+	}
+	
+	@Test
+	public void testNumericDateWithSpace() {
+		assertEquals(DateTimeShape.NUMERIC_DATE_SPACE_TIME, DateTimeShape.classify("2023-11-28 15:30:00 +03:00"));
+	}
+	
+	@Test
+	public void testNumericDateWithEra() {
+		assertEquals(DateTimeShape.NUMERIC_DATE_ERA, DateTimeShape.classify("2023.11.28 AD at 15:30:00 UTC"));
+	}
+	
+	@Test
+	public void testRfc1123() {
+		assertEquals(DateTimeShape.DAY_NAME_DAY_OF_MONTH, DateTimeShape.classify("Tue, 3 Jun 2008 11:05:30 GMT"));
+		assertEquals(DateTimeShape.DAY_OF_MONTH_FIRST, DateTimeShape.classify("3 Jun 2008 11:05:30 GMT"));
+	}
+	
+	@Test
+	public void testMonthNames() {
+		assertEquals(DateTimeShape.DAY_NAME_MONTH_NAME, DateTimeShape.classify("Tue, Nov 28, 2023 3:30 PM UTC"));
+		assertEquals(DateTimeShape.MONTH_NAME_FIRST, DateTimeShape.classify("November 28, 2023 3:30 PM UTC"));
+		assertEquals(DateTimeShape.MONTH_NAME_FIRST, DateTimeShape.classify("Nov 28, 2023 3:30 PM EST"));
+	}
+	
+	@Test
+	public void testUnknown() {
+		assertEquals(DateTimeShape.UNKNOWN, DateTimeShape.classify(""));
+		assertEquals(DateTimeShape.UNKNOWN, DateTimeShape.classify("02/04/2010 10:30 PST"));
+		assertEquals(DateTimeShape.UNKNOWN, DateTimeShape.classify("adadadsaddsa"));
+		assertEquals(DateTimeShape.UNKNOWN, DateTimeShape.classify("2010-02-04"));
+	}
+}
@@ -0,0 +1,158 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ConversionResult;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ConversionResult.Success;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.DstAmbiguity;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ZonedDateTimeStringParser;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ZonedDateTimeStringParser.ParsedDateTime;
+
+public class DstAmbiguityTests {
+
+	private static final ZoneId LOS_ANGELES = ZoneId.of("America/Los_Angeles");
+
+	@Test
+	public void testOverlap() {
+		DstAmbiguity ambiguity = DstAmbiguity.find(LocalDateTime.of(2023, 11, 5, 1, 30), LOS_ANGELES);
+
+		assertFalse(ambiguity.isGap());
+		assertEquals(List.of(Instant.parse("2023-11-05T08:30:00Z"), Instant.parse("2023-11-05T09:30:00Z")), instants(ambiguity.candidates()));
+		assertEquals(List.of("2023-11-05T01:30-07:00", "2023-11-05T01:30-08:00"), ambiguity.unambiguousSpellings());
+		assertEquals("1:30 AM happens twice on Nov 05, 2023 in America/Los_Angeles, as the clocks go back from 2:00 AM to 1:00 AM.",
+				ambiguity.describe());
+	}
+
+	@Test
+	public void testGap() {
+		DstAmbiguity ambiguity = DstAmbiguity.find(LocalDateTime.of(2023, 3, 12, 2, 30), LOS_ANGELES);
+
+		assertTrue(ambiguity.isGap());
+		assertEquals(List.of(Instant.parse("2023-03-12T09:30:00Z"), Instant.parse("2023-03-12T10:30:00Z")), instants(ambiguity.candidates()));
+		assertEquals(List.of("2023-03-12T02:30-07:00", "2023-03-12T02:30-08:00"), ambiguity.unambiguousSpellings());
+		assertEquals("2:30 AM does not exist on Mar 12, 2023 in America/Los_Angeles, as the clocks go forward from 2:00 AM to 3:00 AM.",
+				ambiguity.describe());
+	}
+
+	@Test
+	public void testUnambiguousLocalDateTime() {
+		assertNull(DstAmbiguity.find(LocalDateTime.of(2023, 11, 5, 2, 30), LOS_ANGELES));
+		assertNull(DstAmbiguity.find(LocalDateTime.of(2023, 11, 5, 1, 30), ZoneOffset.ofHours(-8)));
+		assertNull(DstAmbiguity.find(LocalDateTime.of(2023, 11, 5, 1, 30), ZoneId.of("UTC")));
+	}
+
+	/**
+	 * Every candidate is the local date-time read at one of the offsets of the transition,
+	 * around every transition of every zone from 2000 to 2030.
+	 */
+	@Test
+	public void testCandidatesAreTheLocalDateTimeAtTheOffsetsOfTheTransitionForEveryZone() {
+		Instant from = Instant.parse("2000-01-01T00:00:00Z");
+		Instant to = Instant.parse("2030-01-01T00:00:00Z");
+
+		for (String zoneId : ZoneId.getAvailableZoneIds()) {
+			ZoneId zone = ZoneId.of(zoneId);
+			ZoneOffsetTransition transition = zone.getRules().nextTransition(from);
+			while (transition != null && transition.getInstant().isBefore(to)) {
+				LocalDateTime within = transition.isGap() ? transition.getDateTimeBefore() : transition.getDateTimeAfter();
+				DstAmbiguity ambiguity = DstAmbiguity.find(within, zone);
+
+				List<ZonedDateTime> candidates = ambiguity.candidates();
+				assertTrue(candidates.get(0).toInstant().isBefore(candidates.get(1).toInstant()), zoneId + " at " + within);
+				assertEquals(within.toInstant(transition.getOffsetBefore()), earlierOrLater(candidates, transition.isGap(), false), zoneId);
+				assertEquals(within.toInstant(transition.getOffsetAfter()), earlierOrLater(candidates, transition.isGap(), true), zoneId);
+				transition = zone.getRules().nextTransition(transition.getInstant());
+			}
+		}
+	}
+
+	@Test
+	public void testResolveNamed() {
+		DstAmbiguity overlap = DstAmbiguity.find(LocalDateTime.of(2023, 11, 5, 1, 30), LOS_ANGELES);
+		assertEquals(Instant.parse("2023-11-05T08:30:00Z"), overlap.resolveNamed("PDT").toInstant());
+		assertEquals(Instant.parse("2023-11-05T09:30:00Z"), overlap.resolveNamed("PST").toInstant());
+		assertNull(overlap.resolveNamed("America/Los_Angeles"));
+		assertNull(overlap.resolveNamed("PT"));
+
+		DstAmbiguity gap = DstAmbiguity.find(LocalDateTime.of(2023, 3, 12, 2, 30), LOS_ANGELES);
+		assertEquals(Instant.parse("2023-03-12T10:30:00Z"), gap.resolveNamed("PST").toInstant());
+		assertEquals(Instant.parse("2023-03-12T09:30:00Z"), gap.resolveNamed("PDT").toInstant());
+	}
+
+	@Test
+	public void testParsedDateTimeWithDaylightAbbreviationInOverlapIsNotAmbiguous() {
+		ParsedDateTime parsed = value(ZonedDateTimeStringParser.tryParseWithAmbiguity("Nov 05, 2023 1:30 AM PDT", null));
+
+		assertNull(parsed.ambiguity());
+		assertEquals(Instant.parse("2023-11-05T08:30:00Z"), parsed.zonedDateTime().toInstant());
+	}
+
+	@Test
+	public void testParsedDateTimeWithStandardAbbreviationInOverlapIsNotAmbiguous() {
+		ParsedDateTime parsed = value(ZonedDateTimeStringParser.tryParseWithAmbiguity("Nov 05, 2023 1:30 AM PST", null));
+
+		assertNull(parsed.ambiguity());
+		assertEquals(Instant.parse("2023-11-05T09:30:00Z"), parsed.zonedDateTime().toInstant());
+	}
+
+	@Test
+	public void testParsedDateTimeWithStandardAbbreviationInGapIsNotAmbiguous() {
+		ParsedDateTime parsed = value(ZonedDateTimeStringParser.tryParseWithAmbiguity("Mar 12, 2023 2:30 AM PST", null));
+
+		assertNull(parsed.ambiguity());
+		assertEquals(Instant.parse("2023-03-12T10:30:00Z"), parsed.zonedDateTime().toInstant());
+	}
+
+	@Test
+	public void testParsedDateTimeWithRegionIsAmbiguous() {
+		ParsedDateTime parsed = value(ZonedDateTimeStringParser.tryParseWithAmbiguity("2023-11-05 01:30:00 America/Los_Angeles", null));
+
+		assertEquals(LOS_ANGELES, parsed.ambiguity().zone());
+		assertEquals(LocalDateTime.of(2023, 11, 5, 1, 30), parsed.ambiguity().localDateTime());
+	}
+
+	@Test
+	public void testParsedDateTimeInGapKeepsTheGivenLocalDateTime() {
+		ParsedDateTime parsed = value(ZonedDateTimeStringParser.tryParseWithAmbiguity("Mar 12, 2023 2:30 AM", LOS_ANGELES));
+
+		assertEquals(LocalDateTime.of(2023, 3, 12, 3, 30), parsed.zonedDateTime().toLocalDateTime());
+		assertEquals(LocalDateTime.of(2023, 3, 12, 2, 30), parsed.ambiguity().localDateTime());
+	}
+
+	@Test
+	public void testParsedDateTimeWithOffsetIsNotAmbiguous() {
+		ParsedDateTime parsed = value(ZonedDateTimeStringParser.tryParseWithAmbiguity("2023-11-05T01:30-08:00[America/Los_Angeles]", null));
+
+		assertNull(parsed.ambiguity());
+		assertEquals(Instant.parse("2023-11-05T09:30:00Z"), parsed.zonedDateTime().toInstant());
+	}
+
+	private static List<Instant> instants(List<ZonedDateTime> zonedDateTimes) {
+		return zonedDateTimes.stream().map(ZonedDateTime::toInstant).toList();
+	}
+
+	/**
+	 * Returns the candidate read at the offset after the transition or before it: the earlier one in a gap, the later one in an overlap.
+	 */
+	private static Instant earlierOrLater(List<ZonedDateTime> candidates, boolean gap, boolean offsetAfter) {
+		return candidates.get(gap == offsetAfter ? 0 : 1).toInstant();
+	}
+
+	private static <T> T value(ConversionResult<T> result) {
+		assertTrue(result instanceof Success<T>, result::toString);
+		return ((Success<T>) result).value();
+	}
+}
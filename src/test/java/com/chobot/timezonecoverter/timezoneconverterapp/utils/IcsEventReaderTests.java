@@ -0,0 +1,95 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.IcsEventReader;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.IcsEventReader.Event;
+
+public class IcsEventReaderTests {
+
+	private static IcsEventReader reader(String... lines) {
+		return new IcsEventReader(new StringReader(String.join("\r\n", lines) + "\r\n"));
+	}
+
+	@Test
+	public void testEvent() throws IOException {
+		IcsEventReader reader = reader("BEGIN:VCALENDAR", "VERSION:2.0",
+				"BEGIN:VEVENT", "SUMMARY:Standup", "DTSTART;TZID=America/New_York:20231128T153000",
+				"DTEND;TZID=America/New_York:20231128T160000", "RRULE:FREQ=WEEKLY;BYDAY=TU", "END:VEVENT",
+				"END:VCALENDAR");
+
+		Event event = reader.next();
+		assertEquals(0, event.index());
+		assertEquals("Standup", event.summary());
+		assertEquals("20231128T153000", event.start().value());
+		assertEquals("America/New_York", event.start().tzid());
+		assertFalse(event.start().date());
+		assertEquals("20231128T160000", event.end().value());
+		assertEquals("FREQ=WEEKLY;BYDAY=TU", event.recurrence());
+		assertNull(event.duration());
+		assertNull(reader.next());
+	}
+
+	@Test
+	public void testFoldedLinesAndEscapes() throws IOException {
+		Event event = reader("BEGIN:VEVENT", "SUMMARY:Planning\\, review", " \\; retro", "DTSTART:2023112",
+				"\t8T203000Z", "END:VEVENT").next();
+
+		assertEquals("Planning, review; retro", event.summary());
+		assertEquals("20231128T203000Z", event.start().value());
+	}
+
+	@Test
+	public void testNestedComponentsAndOtherComponentsAreSkipped() throws IOException {
+		IcsEventReader reader = reader("BEGIN:VCALENDAR",
+				"BEGIN:VTIMEZONE", "TZID:Custom", "BEGIN:STANDARD", "DTSTART:19701101T020000", "END:STANDARD", "END:VTIMEZONE",
+				"BEGIN:VEVENT", "DTSTART:20231128T203000Z", "BEGIN:VALARM", "DURATION:PT15M", "END:VALARM",
+				"SUMMARY:After the alarm", "END:VEVENT",
+				"BEGIN:VTODO", "SUMMARY:Not an event", "END:VTODO",
+				"BEGIN:VEVENT", "DTSTART:20231129T203000Z", "END:VEVENT",
+				"END:VCALENDAR");
+
+		Event first = reader.next();
+		assertEquals("20231128T203000Z", first.start().value());
+		assertEquals("After the alarm", first.summary());
+		assertNull(first.duration());
+
+		Event second = reader.next();
+		assertEquals(1, second.index());
+		assertEquals("20231129T203000Z", second.start().value());
+		assertNull(reader.next());
+	}
+
+	@Test
+	public void testDateAndParameters() throws IOException {
+		Event event = reader("BEGIN:VEVENT", "DTSTART;VALUE=DATE:20231128",
+				"DTEND;X-NOTE=\"a;b:c\";TZID=\"/Europe/Paris\":20231129T090000", "END:VEVENT").next();
+
+		assertTrue(event.start().date());
+		assertEquals("20231128", event.start().value());
+		assertEquals("Europe/Paris", event.end().tzid());
+		assertEquals("20231129T090000", event.end().value());
+	}
+
+	@Test
+	public void testLongLineIsCut() throws IOException {
+		Event event = reader("BEGIN:VEVENT", "DESCRIPTION:" + "x".repeat(IcsEventReader.MAX_LINE_LENGTH * 2),
+				"DTSTART:20231128T203000Z", "END:VEVENT").next();
+
+		assertEquals("20231128T203000Z", event.start().value());
+	}
+
+	@Test
+	public void testUnendedEvent() throws IOException {
+		assertNull(reader("BEGIN:VEVENT", "DTSTART:20231128T203000Z").next());
+		assertNull(reader("").next());
+	}
+}
@@ -2,7 +2,12 @@ package com.chobot.timezonecoverter.timezoneconverterapp.utils;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.time.Instant;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Random;
 
 import org.junit.jupiter.api.Test;
 
@@ -10,6 +15,10 @@ import com.chobot.timezonecoverter.timezoneconverterapp.datetime.OutputDateTimeF
 
 public class OutputDateTimeFormatterTests {
 	
+	private static final DateTimeFormatter DATETIME_FORMAT = DateTimeFormatter.ofPattern("MMM dd, yyyy h:mm a");
+	
+	private static final List<ZoneId> ZONES = List.of(ZoneId.of("UTC"), ZoneId.of("America/Los_Angeles"), ZoneId.of("Asia/Kolkata"), ZoneId.of("Pacific/Kiritimati"));
+	
 	@Test
 	public void testOutFormat() {
         ZonedDateTime validZonedDateTime = ZonedDateTime.parse("2023-06-15T10:30:00+02:00");
@@ -19,4 +28,41 @@ public class OutputDateTimeFormatterTests {
 		String formattedOutput = OutputDateTimeFormatter.formatZonedDateTimeToOutputString(validZonedDateTime, validInput, validTargetTimeZone);
 		assertEquals("2011-12-03T10:15:30Z to PST is *Jun 15, 2023 10:30 AM PST*.", formattedOutput);
 	}
+	
+	@Test
+	public void testMultipleTargetsOutFormat() {
+		String validInput = "2011-12-03T10:15:30Z to PST, CET";
+		List<String> convertedDateTimes = List.of("Dec 03, 2011 2:15 AM PST", "Dec 03, 2011 11:15 AM CET");
+		
+		String formattedOutput = OutputDateTimeFormatter.formatOutputString(validInput, convertedDateTimes);
+		assertEquals("2011-12-03T10:15:30Z to PST, CET is:\n• *Dec 03, 2011 2:15 AM PST*\n• *Dec 03, 2011 11:15 AM CET*", formattedOutput);
+	}
+	
+	@Test
+	public void testOutFormatMatchesPatternAcrossInstants() {
+		Random random = new Random(20231130L);
+		long minEpochSecond = Instant.parse("-0100-01-01T00:00:00Z").getEpochSecond();
+		long maxEpochSecond = Instant.parse("+10100-01-01T00:00:00Z").getEpochSecond();
+		
+		for (int i = 0; i < 100_000; i++) {
+			Instant instant = Instant.ofEpochSecond(minEpochSecond + (long) (random.nextDouble() * (maxEpochSecond - minEpochSecond)));
+			ZonedDateTime zonedDateTime = instant.atZone(ZONES.get(i % ZONES.size()));
+			String input = "input " + i;
+			
+			assertEquals(
+				String.format("%s is *%s %s*.", input, zonedDateTime.format(DATETIME_FORMAT), "EST"),
+				OutputDateTimeFormatter.formatZonedDateTimeToOutputString(zonedDateTime, input, "EST")
+			);
+		}
+	}
+	
+	@Test
+	public void testOutFormatMatchesPatternAcrossHoursOfDay() {
+		ZonedDateTime zonedDateTime = ZonedDateTime.parse("2023-01-09T00:00:00Z");
+		for (int minutes = 0; minutes < 24 * 60; minutes += 7) {
+			ZonedDateTime dateTime = zonedDateTime.plusMinutes(minutes);
+			
+			assertEquals(dateTime.format(DATETIME_FORMAT) + " UTC", OutputDateTimeFormatter.formatConvertedDateTime(dateTime, "UTC"));
+		}
+	}
 }
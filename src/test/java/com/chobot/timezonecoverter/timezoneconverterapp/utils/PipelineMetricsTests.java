@@ -0,0 +1,47 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.DateTimeProcessor;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class PipelineMetricsTests {
+	
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	
+	@BeforeEach
+	public void addRegistry() {
+		Metrics.addRegistry(registry);
+	}
+	
+	@AfterEach
+	public void removeRegistry() {
+		Metrics.removeRegistry(registry);
+	}
+	
+	@Test
+	public void testStagesAndFormatterAreRecorded() {
+		DateTimeProcessor.processDateTimeInput("Mar 13, 2019 8:15 AM UTC to EST");
+		
+		assertEquals(1, registry.get("timezone.convert.stage").tag("stage", "parse").timer().count());
+		assertEquals(1, registry.get("timezone.convert.stage").tag("stage", "zone_resolve").timer().count());
+		assertEquals(1, registry.get("timezone.convert.formatter.matches").tag("formatter", "MMM dd, yyyy h:mm a z").counter().count());
+	}
+	
+	@Test
+	public void testErrorsAreRecordedByType() {
+		DateTimeProcessor.processDateTimeInput("Mar 13, 2019 8:15 AM UTC to MARS");
+		DateTimeProcessor.processDateTimeInput("13/03/2019 8:15 UTC to EST");
+		
+		assertEquals(1, registry.get("timezone.convert.errors").tag("type", "unknown_zone").counter().count());
+		assertEquals(1, registry.get("timezone.convert.errors").tag("type", "invalid_date_time").counter().count());
+		assertTrue(registry.get("timezone.convert.cache.misses").functionCounter().count() > 0);
+	}
+}
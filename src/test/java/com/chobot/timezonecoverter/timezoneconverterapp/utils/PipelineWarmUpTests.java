@@ -0,0 +1,40 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.DateTimeShape;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.PipelineWarmUp;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ZonedDateTimeStringParser;
+
+public class PipelineWarmUpTests {
+
+	@Test
+	public void testWarmUpExercisesEveryStage() {
+		PipelineWarmUp.Report report = PipelineWarmUp.warmUp();
+
+		int formatters = ZonedDateTimeStringParser.getFormatterOrder().values().stream()
+				.flatMap(names -> names.keySet().stream())
+				.distinct()
+				.toList()
+				.size();
+		// the formatters without a time-zone are exercised along with the registered ones
+		assertEquals(formatters + ZonedDateTimeStringParser.getLocalFormatterNames().size(), report.formatters());
+		assertEquals(2, report.conversions());
+		assertTrue(report.zones() >= ZoneId.getAvailableZoneIds().size());
+	}
+
+	@Test
+	public void testFormatterWarmUpDoesNotCountMatches() {
+		Map<DateTimeShape, Map<String, Long>> before = ZonedDateTimeStringParser.getFormatterOrder();
+		ZonedDateTimeStringParser.warmUp(ZonedDateTime.of(2010, 2, 4, 14, 39, 28, 0, ZoneId.of("America/Los_Angeles")));
+
+		assertEquals(before, ZonedDateTimeStringParser.getFormatterOrder());
+	}
+}
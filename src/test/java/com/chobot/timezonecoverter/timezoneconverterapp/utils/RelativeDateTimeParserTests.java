@@ -0,0 +1,78 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.RelativeDateTimeParser;
+
+public class RelativeDateTimeParserTests {
+	
+	/**
+	 * Wednesday, Nov 29, 2023 18:00 UTC, i.e. 10:00 AM in Los Angeles.
+	 */
+	private static final Clock CLOCK = Clock.fixed(Instant.parse("2023-11-29T18:00:00Z"), ZoneOffset.UTC);
+	
+	private static final ZoneId LOS_ANGELES = ZoneId.of("America/Los_Angeles");
+	
+	@Test
+	public void testTimeWithoutDateIsToday() {
+		assertEquals(ZonedDateTime.of(2023, 11, 29, 15, 0, 0, 0, LOS_ANGELES), parse("3pm America/Los_Angeles"));
+		assertEquals(ZonedDateTime.of(2023, 11, 29, 15, 30, 0, 0, LOS_ANGELES), parse("3:30 PM America/Los_Angeles"));
+		assertEquals(ZonedDateTime.of(2023, 11, 29, 15, 30, 0, 0, LOS_ANGELES), parse("15:30 America/Los_Angeles"));
+		assertEquals(ZonedDateTime.of(2023, 11, 29, 0, 5, 0, 0, LOS_ANGELES), parse("12:05am America/Los_Angeles"));
+		assertEquals(ZonedDateTime.of(2023, 11, 29, 12, 0, 0, 0, LOS_ANGELES), parse("noon America/Los_Angeles"));
+	}
+	
+	@Test
+	public void testTodayIsInTheGivenTimeZone() {
+		assertEquals(ZonedDateTime.of(2023, 11, 30, 9, 0, 0, 0, ZoneId.of("Asia/Tokyo")), parse("today 9am Asia/Tokyo"));
+	}
+	
+	@Test
+	public void testDayNames() {
+		assertEquals(ZonedDateTime.of(2023, 11, 30, 9, 0, 0, 0, LOS_ANGELES), parse("Tomorrow 9am America/Los_Angeles"));
+		assertEquals(ZonedDateTime.of(2023, 11, 28, 9, 0, 0, 0, LOS_ANGELES), parse("yesterday at 9am America/Los_Angeles"));
+		assertEquals(ZonedDateTime.of(2023, 12, 1, 12, 0, 0, 0, LOS_ANGELES), parse("friday at noon America/Los_Angeles"));
+		assertEquals(ZonedDateTime.of(2023, 11, 29, 17, 0, 0, 0, LOS_ANGELES), parse("Wed 5pm America/Los_Angeles"));
+		assertEquals(ZonedDateTime.of(2023, 12, 6, 17, 0, 0, 0, LOS_ANGELES), parse("next wednesday 5pm America/Los_Angeles"));
+	}
+	
+	@Test
+	public void testDurations() {
+		assertEquals(Instant.parse("2023-11-29T20:00:00Z"), parse("in 2 hours").toInstant());
+		assertEquals(Instant.parse("2023-11-29T18:45:00Z"), parse("in 45 mins PST").toInstant());
+		assertEquals(Instant.parse("2023-12-06T18:00:00Z"), parse("in 1 week").toInstant());
+		assertEquals(Instant.parse("2023-11-29T18:00:00Z"), parse("now").toInstant());
+	}
+	
+	@Test
+	public void testTextOutsideTheGrammarIsRejected() {
+		assertNull(parse("2010-02-04T14:39:28 PST"));
+		assertNull(parse("Nov 28, 2023 3:30 PM EST"));
+		assertNull(parse("Tue, 3 Jun 2008 11:05:30 GMT"));
+		assertNull(parse("3 Jun 2008 11:05:30 GMT"));
+		assertNull(parse("3pm"));
+		assertNull(parse("13pm PST"));
+		assertNull(parse("24:00 PST"));
+		assertNull(parse("3:5 PST"));
+		assertNull(parse("tomorrow PST"));
+		assertNull(parse("at 3pm PST"));
+		assertNull(parse("next 3pm PST"));
+		assertNull(parse("in two hours"));
+		assertNull(parse("in 2 fortnights"));
+		assertNull(parse("3pm NOT_A_ZONE"));
+		assertNull(parse(""));
+	}
+	
+	private static ZonedDateTime parse(String text) {
+		return RelativeDateTimeParser.parse(text, CLOCK);
+	}
+}
@@ -2,9 +2,13 @@ package com.chobot.timezonecoverter.timezoneconverterapp.utils;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.List;
+
+import org.apache.commons.lang3.tuple.Pair;
 import org.junit.jupiter.api.Test;
 
 import com.chobot.timezonecoverter.timezoneconverterapp.datetime.UserInputParser;
@@ -55,4 +59,59 @@ public class UserInputParserTests {
 			() -> UserInputParser.parse(inValidUserInput)
 		);
 	}
+	
+	@Test
+	public void testSeparatorInsideWordsIsIgnored() {
+		assertEquals(Pair.of("Oct 28, 2023 3:30 PM America/Toronto", "ASIA/TOKYO"), UserInputParser.split("Oct 28, 2023 3:30 PM America/Toronto to Asia/Tokyo"));
+		assertEquals(Pair.of("tomorrow 3pm PST", "EST"), UserInputParser.split("tomorrow 3pm PST to EST"));
+	}
+	
+	@Test
+	public void testLastSeparatorIsUsed() {
+		assertEquals(Pair.of("in 2 hours", "EST"), UserInputParser.split("in 2 hours to EST"));
+		assertEquals(Pair.of("in 2 hours", "CET"), UserInputParser.split("in 2 hours in CET"));
+	}
+	
+	@Test
+	public void testAlternativeSeparators() {
+		assertEquals(Pair.of("2010-02-04T14:39:28 PST", "EST"), UserInputParser.split("2010-02-04T14:39:28 PST TO EST"));
+		assertEquals(Pair.of("2010-02-04T14:39:28 PST", "EST"), UserInputParser.split("2010-02-04T14:39:28 PST in est"));
+		assertEquals(Pair.of("2010-02-04T14:39:28 PST", "EST"), UserInputParser.split("2010-02-04T14:39:28 PST -> EST"));
+		assertEquals(Pair.of("2010-02-04T14:39:28 PST", "EST"), UserInputParser.split("2010-02-04T14:39:28 PST=>EST"));
+	}
+	
+	@Test
+	public void testErrorTellsWhereTheInputIsIncomplete() {
+		IllegalArgumentException missingTarget = assertThrows(
+			IllegalArgumentException.class,
+			() -> UserInputParser.split("2010-02-04T14:39:28 PST to ")
+		);
+		assertEquals(
+			"Input must follow the format: [date-time w/ time-zone] to [target time-zone], but the target time-zone after \"to\" at character 25 is missing.", 
+			missingTarget.getMessage()
+		);
+		
+		IllegalArgumentException missingSeparator = assertThrows(
+			IllegalArgumentException.class,
+			() -> UserInputParser.split("2010-02-04T14:39:28 PST into EST")
+		);
+		assertEquals(
+			"Input must follow the format: [date-time w/ time-zone] to [target time-zone], but no \"to\" separator was found.", 
+			missingSeparator.getMessage()
+		);
+	}
+	
+	@Test
+	public void testSplitTargetTimeZones() {
+		assertEquals(List.of("EST", "CET", "IST"), UserInputParser.splitTargetTimeZones("EST, CET,,IST, EST"));
+	}
+	
+	@Test
+	public void testTooManyTargetTimeZones() {
+		String targetTimeZones = "EST, CET, IST, JST, PST, MST, CST, AEST, NZST, HKT, SGT";
+		assertThrows(
+			IllegalArgumentException.class,
+			() -> UserInputParser.splitTargetTimeZones(targetTimeZones)
+		);
+	}
 }
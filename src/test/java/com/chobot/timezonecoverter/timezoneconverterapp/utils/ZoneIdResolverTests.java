@@ -0,0 +1,80 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneRulesException;
+
+import org.junit.jupiter.api.Test;
+
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ZoneIdResolver;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ZoneIdResolver.ResolvedZone;
+
+public class ZoneIdResolverTests {
+	
+	@Test
+	public void testShortId() {
+		assertEquals(ZoneId.of("America/Los_Angeles"), ZoneIdResolver.resolve("PST").zoneId());
+		assertEquals(ZoneId.of("-05:00"), ZoneIdResolver.resolve("EST").zoneId());
+	}
+	
+	@Test
+	public void testRegionIdIsCaseInsensitive() {
+		ResolvedZone resolvedZone = ZoneIdResolver.resolve("AMERICA/NEW_YORK");
+		
+		assertEquals(ZoneId.of("America/New_York"), resolvedZone.zoneId());
+		assertEquals(ZoneId.of("America/New_York").getRules(), resolvedZone.rules());
+		assertSame(ZoneIdResolver.resolve("America/New_York"), resolvedZone);
+	}
+	
+	@Test
+	public void testAbbreviation() {
+		assertEquals(ZoneId.of("Australia/Brisbane"), ZoneIdResolver.resolve("AEST").zoneId());
+		assertEquals(ZoneId.of("CET"), ZoneIdResolver.resolve("CET").zoneId());
+	}
+	
+	@Test
+	public void testDaylightAbbreviationIsItsOffset() {
+		assertEquals(ZoneOffset.ofHours(-4), ZoneIdResolver.resolve("EDT").zoneId());
+		assertEquals(ZoneOffset.ofHours(2), ZoneIdResolver.resolve("CEST").zoneId());
+		assertEquals(ZoneOffset.ofHours(11), ZoneIdResolver.resolve("AEDT").zoneId());
+		assertEquals(ZoneOffset.ofHoursMinutes(10, 30), ZoneIdResolver.resolve("ACDT").zoneId());
+	}
+	
+	@Test
+	public void testShortIdSharesTheZoneOfItsRegion() {
+		assertSame(ZoneIdResolver.resolve("America/Los_Angeles"), ZoneIdResolver.resolve("PST"));
+		assertSame(ZoneIdResolver.resolve("Australia/Brisbane"), ZoneIdResolver.resolve("AEST"));
+	}
+	
+	@Test
+	public void testOffset() {
+		assertEquals(ZoneOffset.ofHours(5), ZoneIdResolver.resolve("+05:00").zoneId());
+		assertEquals(ZoneId.of("UTC+3"), ZoneIdResolver.resolve("UTC+3").zoneId());
+	}
+	
+	@Test
+	public void testUnknownRegionId() {
+		ZoneRulesException first = assertThrows(ZoneRulesException.class, () -> ZoneIdResolver.resolve("POO"));
+		ZoneRulesException second = assertThrows(ZoneRulesException.class, () -> ZoneIdResolver.resolve("POO"));
+		
+		assertNotSame(first, second);
+		assertEquals(first.getMessage(), second.getMessage());
+	}
+	
+	@Test
+	public void testInvalidFormat() {
+		DateTimeException first = assertThrows(DateTimeException.class, () -> ZoneIdResolver.resolve("+99:99"));
+		DateTimeException second = assertThrows(DateTimeException.class, () -> ZoneIdResolver.resolve("+99:99"));
+		
+		assertNotSame(first, second);
+		assertFalse(second instanceof ZoneRulesException);
+		assertEquals(first.getMessage(), second.getMessage());
+	}
+}
@@ -0,0 +1,97 @@
+package com.chobot.timezonecoverter.timezoneconverterapp.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ConversionResult;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ConversionResult.Success;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.DateTimeConverter;
+import com.chobot.timezonecoverter.timezoneconverterapp.datetime.ZoneTransitionIndex;
+
+public class ZoneTransitionIndexTests {
+
+	private static final long FROM = LocalDateTime.of(1900, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+	private static final long TO = LocalDateTime.of(2100, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+
+	private static final int RANDOM_INSTANTS_PER_ZONE = 500;
+
+	/**
+	 * For every zone, the offset at every transition from 1900 to 2100, around it and at random instants
+	 * is the offset of the {@code ZoneRules}.
+	 */
+	@Test
+	public void testOffsetsAreTheOffsetsOfTheRulesForEveryZone() {
+		Random random = new Random(20231128);
+
+		for (String zoneId : ZoneId.getAvailableZoneIds()) {
+			ZoneRules rules = ZoneId.of(zoneId).getRules();
+			ZoneTransitionIndex index = new ZoneTransitionIndex(rules);
+
+			// random instants first, so the index grows in both directions from wherever it starts
+			for (int i = 0; i < RANDOM_INSTANTS_PER_ZONE; i++) {
+				assertOffset(zoneId, rules, index, FROM + (long) (random.nextDouble() * (TO - FROM)));
+			}
+
+			ZoneOffsetTransition transition = rules.nextTransition(Instant.ofEpochSecond(FROM));
+			while (transition != null && transition.toEpochSecond() < TO) {
+				long epochSecond = transition.toEpochSecond();
+				assertOffset(zoneId, rules, index, epochSecond - 1);
+				assertOffset(zoneId, rules, index, epochSecond);
+				assertOffset(zoneId, rules, index, epochSecond + 1);
+				transition = rules.nextTransition(transition.getInstant());
+			}
+		}
+	}
+
+	@Test
+	public void testInstantsOutsideOfTheIndexedYearsFallBackToTheRules() {
+		ZoneRules rules = ZoneId.of("America/New_York").getRules();
+		ZoneTransitionIndex index = new ZoneTransitionIndex(rules);
+
+		long beforeIndex = LocalDateTime.of(ZoneTransitionIndex.MIN_INDEXED_YEAR - 1, 7, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+		long afterIndex = LocalDateTime.of(ZoneTransitionIndex.MAX_INDEXED_YEAR + 1, 7, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+
+		assertOffset("America/New_York", rules, index, beforeIndex);
+		assertOffset("America/New_York", rules, index, afterIndex);
+	}
+
+	@Test
+	public void testFixedOffsetZone() {
+		ZoneTransitionIndex index = new ZoneTransitionIndex(ZoneOffset.ofHoursMinutes(5, 30).getRules());
+
+		assertEquals(19800, index.offsetSecondsAt(0));
+		assertEquals(19800, index.offsetSecondsAt(TO));
+	}
+
+	@Test
+	public void testLocalDateTimeIsTheLocalDateTimeOfTheZonedConversion() {
+		ZonedDateTime springForward = ZonedDateTime.of(2023, 3, 12, 6, 59, 59, 500, ZoneId.of("UTC"));
+
+		for (String targetTimeZone : new String[] { "EST", "PST", "America/New_York", "Europe/Paris", "+05:30", "AEST" }) {
+			for (int minutes = 0; minutes < 24 * 60; minutes += 7) {
+				ZonedDateTime zonedDateTime = springForward.plusMinutes(minutes);
+				ConversionResult<LocalDateTime> converted = DateTimeConverter.tryConvertToLocalDateTime(zonedDateTime, targetTimeZone);
+
+				assertTrue(converted instanceof Success<LocalDateTime>);
+				assertEquals(DateTimeConverter.convert(zonedDateTime, targetTimeZone).toLocalDateTime(),
+						((Success<LocalDateTime>) converted).value(), targetTimeZone + " at " + zonedDateTime);
+			}
+		}
+	}
+
+	private static void assertOffset(String zoneId, ZoneRules rules, ZoneTransitionIndex index, long epochSecond) {
+		assertEquals(rules.getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds(), index.offsetSecondsAt(epochSecond),
+				() -> zoneId + " at " + Instant.ofEpochSecond(epochSecond));
+	}
+}
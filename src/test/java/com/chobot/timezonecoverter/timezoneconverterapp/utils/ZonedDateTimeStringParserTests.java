@@ -1,9 +1,11 @@
 package com.chobot.timezonecoverter.timezoneconverterapp.utils;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 
 import org.junit.jupiter.api.Test;
 
@@ -90,4 +92,22 @@ public class ZonedDateTimeStringParserTests {
 		
 	    assertEquals(parsedZonedDateTime, ZonedDateTime.parse(validDateTime, DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss z")));
 	}
+	
+	@Test
+	public void testParsingWithShapeButInvalidFormat() {
+		String invalidDateTime = "2023-11-28 15:30 PST";
+		assertThrows(
+			DateTimeParseException.class,
+			() -> ZonedDateTimeStringParser.parse(invalidDateTime)
+		);
+	}
+	
+	@Test
+	public void testParsingWithUnknownShape() {
+		String invalidDateTime = "02-04-2010 10:30 PST";
+		assertThrows(
+			DateTimeParseException.class,
+			() -> ZonedDateTimeStringParser.parse(invalidDateTime)
+		);
+	}
 }
@@ -0,0 +1,96 @@
+#!/usr/bin/env bash
+#
+# Starts the server, sends locally signed requests to /slack/events and /slack/commands and reports the startup time and memory.
+# Run it against the native binary and the JVM jar to compare them:
+#
+#   src/test/smoke/slack-events-smoke-test.sh target/timezone-converter-app
+#   src/test/smoke/slack-events-smoke-test.sh java -jar target/timezone-converter-app-0.0.1-SNAPSHOT.jar
+#
+set -euo pipefail
+
+if [ $# -eq 0 ]; then
+	set -- target/timezone-converter-app
+fi
+
+PORT=${PORT:-3000}
+BASE_URL="http://localhost:${PORT}"
+SIGNING_SECRET="smoke-test-signing-secret"
+LOG=$(mktemp)
+
+now_millis() {
+	date +%s%3N
+}
+
+# sign <body>: prints the X-Slack-Request-Timestamp and X-Slack-Signature header values
+sign() {
+	local timestamp signature
+	timestamp=$(date +%s)
+	signature=$(printf 'v0:%s:%s' "$timestamp" "$1" | openssl dgst -sha256 -hmac "$SIGNING_SECRET" | sed 's/^.* //')
+	echo "$timestamp v0=$signature"
+}
+
+# post_signed <path> <content type> <body>: posts a signed request and prints the response body
+post_signed() {
+	local headers
+	read -r -a headers <<< "$(sign "$3")"
+	curl -sf -X POST "${BASE_URL}$1" \
+		-H "Content-Type: $2" \
+		-H "X-Slack-Request-Timestamp: ${headers[0]}" \
+		-H "X-Slack-Signature: ${headers[1]}" \
+		--data-raw "$3"
+}
+
+fail() {
+	echo "FAILED: $1" >&2
+	echo "--- server log ---" >&2
+	cat "$LOG" >&2
+	exit 1
+}
+
+START=$(now_millis)
+SLACK_SIGNING_SECRET="$SIGNING_SECRET" \
+SLACK_INSTALLATION_DB_URL="jdbc:h2:mem:smoke" \
+	"$@" --server.port="$PORT" > "$LOG" 2>&1 &
+PID=$!
+trap 'kill "$PID" 2>/dev/null || true; rm -f "$LOG"' EXIT
+
+until curl -sf "${BASE_URL}/actuator/health" > /dev/null; do
+	kill -0 "$PID" 2>/dev/null || fail "the server exited before it was ready"
+	[ $(( $(now_millis) - START )) -lt 60000 ] || fail "the server was not ready within 60 s"
+	sleep 0.01
+done
+READY=$(now_millis)
+
+CHALLENGE=$(post_signed /slack/events "application/json" '{"token":"smoke","challenge":"smoke-challenge","type":"url_verification"}') \
+	|| fail "url_verification was rejected"
+[[ "$CHALLENGE" == *smoke-challenge* ]] || fail "url_verification did not echo the challenge: $CHALLENGE"
+
+CONVERT_BODY="token=smoke&team_id=T0SMOKE&team_domain=smoke&channel_id=C0SMOKE&channel_name=smoke&user_id=U0SMOKE&user_name=smoke&command=%2Fconvert&text=2010-02-04T14%3A39%3A28%20PST%20to%20EST%2C%20Asia%2FTokyo&response_url=https%3A%2F%2Fhooks.slack.com%2Fcommands%2FT0SMOKE%2F1%2Fsmoke&trigger_id=1.1.smoke"
+CONVERT=$(post_signed /slack/events "application/x-www-form-urlencoded" "$CONVERT_BODY") \
+	|| fail "/convert was rejected"
+FIRST_CONVERT=$(now_millis)
+[[ "$CONVERT" == *"Feb 04, 2010 5:39 PM EST"* && "$CONVERT" == *"Feb 05, 2010 7:39 AM"* ]] \
+	|| fail "/convert returned an unexpected conversion: $CONVERT"
+
+STATUS=$(curl -s -o /dev/null -w '%{http_code}' -X POST "${BASE_URL}/slack/events" \
+	-H "Content-Type: application/x-www-form-urlencoded" --data-raw "command=%2Fconvert&text=unsigned")
+[ "$STATUS" = "401" ] || fail "an unsigned request was answered with $STATUS instead of 401"
+
+FAST_CONVERT=$(post_signed /slack/commands "application/x-www-form-urlencoded" "$CONVERT_BODY") \
+	|| fail "/convert was rejected by the fast path"
+[[ "$FAST_CONVERT" == *"Feb 04, 2010 5:39 PM EST"* && "$FAST_CONVERT" == *"Feb 05, 2010 7:39 AM"* ]] \
+	|| fail "the fast path returned an unexpected conversion: $FAST_CONVERT"
+
+STATUS=$(curl -s -o /dev/null -w '%{http_code}' -X POST "${BASE_URL}/slack/commands" \
+	-H "Content-Type: application/x-www-form-urlencoded" --data-raw "command=%2Fconvert&text=unsigned")
+[ "$STATUS" = "401" ] || fail "an unsigned request to the fast path was answered with $STATUS instead of 401"
+
+RSS_KB=$(ps -o rss= -p "$PID" | tr -d ' ')
+STARTED=$(grep -o 'Started TimezoneConverterAppApplication in [0-9.]* seconds' "$LOG" | grep -o '[0-9.]*' | head -1 || true)
+
+echo "command:                     $*"
+echo "reported startup:            ${STARTED:-?} s"
+echo "time to ready:               $(( READY - START )) ms"
+echo "time to first /convert:      $(( FIRST_CONVERT - START )) ms"
+echo "resident set size:           $(( RSS_KB / 1024 )) MB"
+echo "OK"